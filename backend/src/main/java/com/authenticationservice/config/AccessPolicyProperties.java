@@ -0,0 +1,25 @@
+package com.authenticationservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import com.authenticationservice.constants.SecurityConstants;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "security.access-policy")
+public class AccessPolicyProperties {
+    private Map<String, List<String>> resources = new LinkedHashMap<>(Map.of(
+            SecurityConstants.ADMIN_PANEL_RESOURCE, List.of(SecurityConstants.ROLE_ADMIN),
+            SecurityConstants.USER_MANAGEMENT_RESOURCE, List.of(SecurityConstants.ROLE_ADMIN)));
+    private String file;
+    private Duration reloadInterval = Duration.ofSeconds(30);
+}
@@ -0,0 +1,25 @@
+package com.authenticationservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "security.concurrency-limit")
+public class ConcurrencyLimitProperties {
+    private boolean enabled = true;
+    private int initialLimit = 0;
+    private int minLimit = 2;
+    private int maxLimit = 200;
+    private int maxQueue = 50;
+    private Duration maxWait = Duration.ofMillis(250);
+    private Duration sampleWindow = Duration.ofSeconds(1);
+    private double rttTolerance = 1.5;
+    private Duration retryAfter = Duration.ofSeconds(1);
+    private Duration statsLogInterval = Duration.ofMinutes(5);
+}
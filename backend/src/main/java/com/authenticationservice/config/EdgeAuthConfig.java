@@ -0,0 +1,35 @@
+package com.authenticationservice.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.authenticationservice.constants.ApiConstants;
+import com.authenticationservice.security.EdgeAuthorizationFilter;
+import com.authenticationservice.security.JwtTokenProvider;
+import com.authenticationservice.security.ResourceAccessPolicy;
+import com.authenticationservice.security.UserAuthSnapshotCache;
+
+/**
+ * Registers {@link EdgeAuthorizationFilter} on the edge-auth path only, ahead of Spring Security
+ * and the request logging filters, so nginx {@code auth_request} subrequests never reach them.
+ */
+@Configuration
+public class EdgeAuthConfig {
+
+    @Bean
+    public FilterRegistrationBean<EdgeAuthorizationFilter> edgeAuthorizationFilter(
+            JwtTokenProvider jwtTokenProvider,
+            UserAuthSnapshotCache userAuthSnapshotCache,
+            ResourceAccessPolicy resourceAccessPolicy,
+            EdgeAuthProperties edgeAuthProperties) {
+        FilterRegistrationBean<EdgeAuthorizationFilter> registration = new FilterRegistrationBean<>(
+                new EdgeAuthorizationFilter(jwtTokenProvider, userAuthSnapshotCache, resourceAccessPolicy,
+                        edgeAuthProperties));
+        registration.addUrlPatterns(ApiConstants.AUTH_BASE_URL + ApiConstants.EDGE_AUTH_URL);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registration.setEnabled(edgeAuthProperties.isEnabled());
+        return registration;
+    }
+}
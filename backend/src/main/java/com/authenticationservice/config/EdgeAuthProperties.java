@@ -0,0 +1,17 @@
+package com.authenticationservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "security.edge-auth")
+public class EdgeAuthProperties {
+    private boolean enabled = true;
+    private Duration cacheMaxAge = Duration.ofSeconds(30);
+}
@@ -1,5 +1,9 @@
 package com.authenticationservice.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
@@ -15,4 +19,15 @@ public class JwtProperties {
     private String refreshSecret;
     private long accessExpiration;
     private long refreshExpiration;
-}
\ No newline at end of file
+    private String accessAlgorithm = "HS256";
+    private String accessPrivateKey;
+    private String accessPublicKey;
+    private boolean allowEphemeralKey = false;
+    private Duration jwksCacheMaxAge = Duration.ofMinutes(15);
+    private List<String> accessPreviousSecrets = new ArrayList<>();
+    private List<String> accessPreviousPublicKeys = new ArrayList<>();
+    private List<String> refreshPreviousSecrets = new ArrayList<>();
+    private String keyRingFile;
+    private Duration keyRingReloadInterval = Duration.ofSeconds(30);
+    private boolean fastCodecEnabled = false;
+}
@@ -0,0 +1,21 @@
+package com.authenticationservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "security.login-throttle")
+public class LoginThrottleProperties {
+    private boolean enabled = true;
+    private Duration window = Duration.ofMinutes(15);
+    private int maxFailuresPerAccount = 8;
+    private int maxFailuresPerAccountAndIp = 3;
+    private Duration knownAddressTtl = Duration.ofDays(30);
+    private long maxKeys = 100_000;
+}
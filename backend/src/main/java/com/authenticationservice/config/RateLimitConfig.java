@@ -5,6 +5,8 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Getter
 @Setter
 @Configuration
@@ -13,5 +15,22 @@ public class RateLimitConfig {
     private int adminPerMinute;
     private int authPerMinute;
     private int resendPerMinute;
+    private long maxBuckets = 200_000;
+    private Duration statsLogInterval = Duration.ofMinutes(5);
+    private Store store = Store.LOCAL;
+    private long maxUnsynchronizedTokens = 10;
+    private Duration maxUnsynchronizedTime = Duration.ofSeconds(1);
+    private Duration bucketCleanupInterval = Duration.ofMinutes(10);
+
+    public enum Store {
+        /**
+         * Buckets in this node's memory; every node enforces the limits on its own.
+         */
+        LOCAL,
+        /**
+         * Buckets shared by all nodes in the {@code rate_limit_buckets} table.
+         */
+        POSTGRES
+    }
 }
 
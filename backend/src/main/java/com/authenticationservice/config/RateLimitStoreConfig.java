@@ -0,0 +1,34 @@
+package com.authenticationservice.config;
+
+import com.authenticationservice.service.RateLimitBucketTableService;
+import io.github.bucket4j.distributed.jdbc.BucketTableSettings;
+import io.github.bucket4j.distributed.jdbc.PrimaryKeyMapper;
+import io.github.bucket4j.distributed.jdbc.SQLProxyConfiguration;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.postgresql.PostgreSQLSelectForUpdateBasedProxyManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Shared Postgres bucket storage for {@code rate-limit.store=postgres}; without it every node rate limits on its own.
+ */
+@Configuration
+@ConditionalOnProperty(name = "rate-limit.store", havingValue = "postgres")
+public class RateLimitStoreConfig {
+
+    @Bean
+    public ProxyManager<String> rateLimitProxyManager(DataSource dataSource, RateLimitBucketTableService bucketTable)
+            throws SQLException {
+        bucketTable.initialize();
+        SQLProxyConfiguration<String> configuration = SQLProxyConfiguration.builder()
+                .withTableSettings(BucketTableSettings.customSettings(RateLimitBucketTableService.TABLE,
+                        RateLimitBucketTableService.ID_COLUMN, RateLimitBucketTableService.STATE_COLUMN))
+                .withPrimaryKeyMapper(PrimaryKeyMapper.STRING)
+                .build(dataSource);
+        return new PostgreSQLSelectForUpdateBasedProxyManager<>(configuration);
+    }
+}
@@ -5,6 +5,8 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Getter
 @Setter
 @Configuration
@@ -12,7 +14,22 @@ import org.springframework.context.annotation.Configuration;
 public class RefreshTokenRotationProperties {
     private boolean enabled = true;
     private boolean revokeOnReuse = true;
+    private Duration reuseGracePeriod = Duration.ofSeconds(10);
+    private boolean compactStorage = true;
+    private int compactHistorySampleEvery = 0;
     private int maxFamiliesPerUser = 5;
     private boolean cleanupEnabled = true;
     private int cleanupExpiredAfterDays = 30;
+    private Duration cleanupInterval = Duration.ofHours(1);
+    private Duration cleanupInitialDelay = Duration.ofMinutes(5);
+    private int cleanupBatchSize = 5000;
+    private Duration cleanupBatchPause = Duration.ofMillis(200);
+    private int cleanupMaxBatchesPerRun = 1000;
+    private boolean partitioningEnabled = true;
+    private int partitionPremakeMonths = 4;
+    private Duration partitionMaintenanceInterval = Duration.ofHours(6);
+    private boolean revokedCacheEnabled = true;
+    private long revokedCacheMaxSize = 100_000;
+    private Duration revokedCacheTtl = Duration.ofDays(7);
+    private Duration revokedCachePollInterval = Duration.ofSeconds(2);
 }
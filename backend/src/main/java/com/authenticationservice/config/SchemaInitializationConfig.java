@@ -0,0 +1,23 @@
+package com.authenticationservice.config;
+
+import org.springframework.boot.jpa.autoconfigure.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.authenticationservice.service.IdSequenceInitializer;
+import com.authenticationservice.service.RefreshTokenPartitionService;
+
+/**
+ * Makes the {@code EntityManagerFactory} wait for the schema steps Hibernate's {@code ddl-auto=update}
+ * cannot do itself: the partitioned {@code refresh_tokens} table must exist before Hibernate would create
+ * a plain one, and id sequences must be ahead of existing identity-generated ids.
+ */
+@Configuration
+public class SchemaInitializationConfig {
+
+    @Bean
+    static EntityManagerFactoryDependsOnPostProcessor schemaInitializationDependsOnPostProcessor() {
+        return new EntityManagerFactoryDependsOnPostProcessor(RefreshTokenPartitionService.class,
+                IdSequenceInitializer.class);
+    }
+}
@@ -24,11 +24,14 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import com.authenticationservice.constants.CorsConstants;
 import com.authenticationservice.constants.SecurityConstants;
 import com.authenticationservice.security.JwtAuthenticationFilter;
+import com.authenticationservice.security.ConcurrencyLimitFilter;
+import com.authenticationservice.security.IntrospectionClientAuthorizationManager;
 import com.authenticationservice.security.RateLimitingFilter;
 import com.authenticationservice.security.RefreshTokenCookieService;
 import com.authenticationservice.logging.RequestCorrelationFilter;
 import com.authenticationservice.logging.HttpRequestLoggingFilter;
 import com.authenticationservice.service.AuthService;
+import com.authenticationservice.util.ClientIpResolver;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import lombok.extern.slf4j.Slf4j;
 
@@ -45,6 +48,8 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final RateLimitingFilter rateLimitingFilter;
+    private final ConcurrencyLimitFilter concurrencyLimitFilter;
+    private final IntrospectionClientAuthorizationManager introspectionClientAuthorizationManager;
     private final RequestCorrelationFilter requestCorrelationFilter;
     private final HttpRequestLoggingFilter httpRequestLoggingFilter;
     private final AuthService authService;
@@ -98,10 +103,13 @@ public class SecurityConfig {
                 )
                 .authorizeHttpRequests(auth -> {
                     // API endpoints
+                    // Introspection callers must authenticate themselves (RFC 7662 section 2.1)
+                    auth.requestMatchers(SecurityConstants.INTROSPECT_PATH).access(introspectionClientAuthorizationManager);
                     auth.requestMatchers(SecurityConstants.API_AUTH_PREFIX).permitAll();
                     auth.requestMatchers(SecurityConstants.API_PUBLIC_PREFIX).permitAll();
                     auth.requestMatchers(SecurityConstants.API_ADMIN_PREFIX).hasRole("ADMIN");
                     auth.requestMatchers(SecurityConstants.API_PROTECTED_PREFIX).authenticated();
+                    auth.requestMatchers(SecurityConstants.WELL_KNOWN_PREFIX).permitAll();
 
                     // Web/OAuth2 endpoints
                     auth.requestMatchers(SecurityConstants.ROOT_PATH).permitAll();
@@ -123,7 +131,8 @@ public class SecurityConfig {
                                 String email = oauth2User.getAttribute("email");
                                 String name = oauth2User.getAttribute("name");
 
-                                Map<String, String> tokens = authService.handleOAuth2Login(email, name);
+                                Map<String, String> tokens = authService.handleOAuth2Login(email, name,
+                                        ClientIpResolver.resolve(request), ClientIpResolver.userAgent(request));
 
                                 String accessToken = tokens.get(SecurityConstants.ACCESS_TOKEN_KEY);
                                 String refreshToken = tokens.get(SecurityConstants.REFRESH_TOKEN_KEY);
@@ -131,7 +140,7 @@ public class SecurityConfig {
                                     throw new IllegalStateException("OAuth2 token generation failed");
                                 }
 
-                                String refreshCookie = refreshTokenCookieService.createRefreshTokenCookie(refreshToken).toString();
+                                String refreshCookie = refreshTokenCookieService.createRefreshTokenCookie(tokens).toString();
                                 response.addHeader(HttpHeaders.SET_COOKIE, refreshCookie);
 
                                 String encodedAccessToken = URLEncoder.encode(accessToken, StandardCharsets.UTF_8);
@@ -154,6 +163,7 @@ public class SecurityConfig {
         http.addFilterAfter(httpRequestLoggingFilter, RequestCorrelationFilter.class);
         http.addFilterBefore(rateLimitingFilter,
                 org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter.class);
+        http.addFilterAfter(concurrencyLimitFilter, RateLimitingFilter.class);
         http.addFilterBefore(jwtAuthenticationFilter,
                 org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter.class);
 
@@ -0,0 +1,19 @@
+package com.authenticationservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "security.session-write-behind")
+public class SessionWriteBehindProperties {
+    private boolean enabled = true;
+    private Duration flushInterval = Duration.ofSeconds(5);
+    private int batchSize = 500;
+    private int maxPending = 50_000;
+}
@@ -0,0 +1,17 @@
+package com.authenticationservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "security.introspection")
+public class TokenIntrospectionProperties {
+    private int maxTokens = 100;
+    private int maxResources = 20;
+    private long cacheMaxSize = 100_000;
+    private String clientSecret;
+}
@@ -6,6 +6,7 @@ public final class ApiConstants {
     public static final String AUTH_BASE_URL = "/api/auth";
     public static final String ADMIN_BASE_URL = "/api/admin";
     public static final String PROTECTED_BASE_URL = "/api/protected";
+    public static final String JWKS_URL = "/.well-known/jwks.json";
     
     // URLs for authentication endpoints
     public static final String REGISTER_URL = "/register";
@@ -20,7 +21,11 @@ public final class ApiConstants {
     public static final String RESET_PASSWORD_URL = "/reset-password";
     public static final String CHECK_URL = "/check";
     public static final String CHECK_ACCESS_URL = "/check-access/{resource}";
+    public static final String INTROSPECT_URL = "/introspect";
+    public static final String EDGE_AUTH_URL = "/edge-auth";
     public static final String OAUTH2_SUCCESS_URL = "/oauth2/success";
+    public static final String SESSIONS_URL = "/sessions";
+    public static final String SESSION_ID_URL = "/sessions/{familyId}";
 
     // URLs for admin endpoints
     public static final String WHITELIST_ADD_URL = "/whitelist/add";
@@ -32,4 +37,5 @@ public final class ApiConstants {
     public static final String ROLES_URL = "/roles";
     public static final String VERIFY_ADMIN_URL = "/verify-admin";
     public static final String MASKED_LOGIN_SETTINGS_URL = "/masked-login/settings";
+    public static final String CONCURRENCY_LIMIT_URL = "/concurrency-limit";
 } 
@@ -23,6 +23,7 @@ public class MessageConstants {
     public static final String PASSWORD_RESET_SUCCESS = "Password has been reset successfully.";
     public static final String VERIFICATION_CODE_INVALID_OR_EXPIRED = "verification.code.invalidOrExpired";
     public static final String RESEND_RATE_LIMIT_EXCEEDED = "Too many resend attempts. Please wait before trying again.";
+    public static final String LOGIN_RATE_LIMIT_EXCEEDED = "Too many failed login attempts. Please wait before trying again.";
 
     // ProfileController specific messages
     public static final String PROFILE_UPDATED_SUCCESS = "Profile updated successfully";
@@ -36,6 +37,7 @@ public class MessageConstants {
     public static final String ACCESS_MODE_CHANGED = "Access mode changed successfully";
     public static final String EMAIL_REMOVED_FROM_BLACKLIST = "Email removed from blacklist";
     public static final String TOO_MANY_REQUESTS = "Too many requests";
+    public static final String SERVICE_OVERLOADED = "Service is busy, please retry shortly";
 
     // Authentication
     public static final String ACCOUNT_DISABLED = "Account is disabled";
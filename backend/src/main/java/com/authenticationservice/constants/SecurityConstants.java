@@ -12,6 +12,8 @@ public final class SecurityConstants {
     public static final String API_ADMIN_PREFIX = "/api/admin/**";
     public static final String API_PROTECTED_PREFIX = "/api/protected/**";
     public static final String API_PUBLIC_PREFIX = "/api/public/**";
+    public static final String WELL_KNOWN_PREFIX = "/.well-known/**";
+    public static final String INTROSPECT_PATH = "/api/auth/introspect";
 
     public static final String USER_NOT_FOUND_ERROR = "User not found";
     public static final String INVALID_CREDENTIALS_ERROR = "Invalid email or password";
@@ -27,6 +29,10 @@ public final class SecurityConstants {
     public static final String CONTENT_TYPE_HEADER = "Content-Type";
     public static final String BEARER_PREFIX = "Bearer ";
     public static final int BEARER_PREFIX_LENGTH = BEARER_PREFIX.length();
+    public static final String AUTH_RESOURCE_HEADER = "X-Auth-Resource";
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String USER_ROLES_HEADER = "X-User-Roles";
+    public static final String INTROSPECTION_CLIENT_SECRET_HEADER = "X-Introspection-Client-Secret";
 
     // AuthController specific constants
     public static final String REFRESH_TOKEN_KEY = "refreshToken";
@@ -35,5 +41,6 @@ public final class SecurityConstants {
     public static final String OAUTH2_EMAIL_ATTRIBUTE = "email";
     public static final String OAUTH2_NAME_ATTRIBUTE = "name";
     public static final String ACCESS_TOKEN_KEY = "accessToken";
+    public static final String REFRESH_TOKEN_EXPIRES_AT_KEY = "refreshTokenExpiresAt";
     public static final String REFRESH_TOKEN_COOKIE_NAME = "refreshToken";
 }
@@ -22,6 +22,7 @@ import com.authenticationservice.model.AccessMode;
 import com.authenticationservice.model.AccessModeSettings;
 import com.authenticationservice.model.MaskedLoginSettings;
 import com.authenticationservice.model.Role;
+import com.authenticationservice.service.AdaptiveConcurrencyLimiter;
 import com.authenticationservice.service.AdminService;
 import com.authenticationservice.repository.RoleRepository;
 import com.authenticationservice.util.LoggingSanitizer;
@@ -41,6 +42,7 @@ public class AdminController {
 
     private final AdminService adminService;
     private final RoleRepository roleRepository;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
 
     private String maskEmail(String email) {
         return LoggingSanitizer.maskEmail(email);
@@ -163,6 +165,11 @@ public class AdminController {
         return ResponseEntity.ok(MessageConstants.EMAIL_REMOVED_FROM_BLACKLIST);
     }
 
+    @GetMapping(ApiConstants.CONCURRENCY_LIMIT_URL)
+    public ResponseEntity<AdaptiveConcurrencyLimiter.Stats> getConcurrencyLimit() {
+        return ResponseEntity.ok(concurrencyLimiter.stats());
+    }
+
     @GetMapping("/access-mode")
     public ResponseEntity<AccessModeSettings> getAccessMode() {
         return ResponseEntity.ok(adminService.getAccessModeSettings());
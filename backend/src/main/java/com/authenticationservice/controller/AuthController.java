@@ -25,15 +25,21 @@ import com.authenticationservice.dto.EmailRequest;
 import com.authenticationservice.dto.LoginRequest;
 import com.authenticationservice.dto.RegistrationRequest;
 import com.authenticationservice.dto.ResetPasswordRequest;
+import com.authenticationservice.dto.TokenIntrospectionRequest;
+import com.authenticationservice.dto.TokenIntrospectionResponse;
 import com.authenticationservice.dto.VerificationRequest;
 import com.authenticationservice.service.AuthService;
+import com.authenticationservice.service.TokenIntrospectionService;
+import com.authenticationservice.security.AccessTokenClaims;
 import com.authenticationservice.security.JwtTokenProvider;
 import com.authenticationservice.security.RefreshTokenCookieService;
+import com.authenticationservice.security.ResourceAccessPolicy;
+import com.authenticationservice.security.UserAuthSnapshotCache;
+import com.authenticationservice.util.ClientIpResolver;
 import com.authenticationservice.util.LoggingSanitizer;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Map;
-import java.util.List;
 
 @Slf4j
 @RestController
@@ -44,6 +50,9 @@ public class AuthController {
     private final AuthService authService;
     private final JwtTokenProvider jwtTokenProvider;
     private final RefreshTokenCookieService refreshTokenCookieService;
+    private final ResourceAccessPolicy resourceAccessPolicy;
+    private final UserAuthSnapshotCache userAuthSnapshotCache;
+    private final TokenIntrospectionService tokenIntrospectionService;
 
     private String maskEmail(String email) {
         return LoggingSanitizer.maskEmail(email);
@@ -58,15 +67,16 @@ public class AuthController {
     }
 
     @PostMapping(ApiConstants.LOGIN_URL)
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest req) {
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest req, HttpServletRequest request) {
         log.debug("Login request received for email: {}", maskEmail(req.getEmail()));
-        Map<String, String> tokens = authService.login(req);
+        Map<String, String> tokens = authService.login(req, ClientIpResolver.resolve(request),
+                ClientIpResolver.userAgent(request));
         String refreshToken = tokens.get(SecurityConstants.REFRESH_TOKEN_KEY);
         String accessToken = tokens.get(SecurityConstants.ACCESS_TOKEN_KEY);
         if (refreshToken == null || accessToken == null) {
             throw new RuntimeException("Token generation failed");
         }
-        String refreshCookie = refreshTokenCookieService.createRefreshTokenCookie(refreshToken).toString();
+        String refreshCookie = refreshTokenCookieService.createRefreshTokenCookie(tokens).toString();
         log.info("Login successful for email: {}", maskEmail(req.getEmail()));
         return ResponseEntity.ok()
                 .header(HttpHeaders.SET_COOKIE, refreshCookie)
@@ -83,13 +93,14 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
         try {
-            Map<String, String> tokens = authService.refresh(refreshToken);
+            Map<String, String> tokens = authService.refresh(refreshToken, ClientIpResolver.resolve(request),
+                    ClientIpResolver.userAgent(request));
             String newRefreshToken = tokens.get(SecurityConstants.REFRESH_TOKEN_KEY);
             String accessToken = tokens.get(SecurityConstants.ACCESS_TOKEN_KEY);
             if (newRefreshToken == null || accessToken == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
             }
-            String refreshCookie = refreshTokenCookieService.createRefreshTokenCookie(newRefreshToken).toString();
+            String refreshCookie = refreshTokenCookieService.createRefreshTokenCookie(tokens).toString();
             log.info("Token refresh successful");
             return ResponseEntity.ok()
                     .header(HttpHeaders.SET_COOKIE, refreshCookie)
@@ -154,46 +165,49 @@ public class AuthController {
 
     @GetMapping(ApiConstants.CHECK_ACCESS_URL)
     public ResponseEntity<?> checkAccess(@PathVariable String resource,
-            @RequestHeader(SecurityConstants.AUTHORIZATION_HEADER) String authHeader) {
+            @RequestHeader(SecurityConstants.AUTHORIZATION_HEADER) String authHeader,
+            HttpServletRequest request) {
         if (authHeader == null || !authHeader.startsWith(SecurityConstants.BEARER_PREFIX)) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
         String token = authHeader.substring(SecurityConstants.BEARER_PREFIX_LENGTH);
         
-        // Security: Validate token before extracting claims
-        if (!jwtTokenProvider.validateAccessToken(token)) {
+        // Security: Claims are only available for a verified token (reused if already parsed by the filter)
+        AccessTokenClaims claims = jwtTokenProvider.resolveAccessToken(request, token);
+        if (claims == null || !userAuthSnapshotCache.isCurrent(claims)) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
-        
-        List<String> roles = jwtTokenProvider.getRolesFromAccess(token);
-
-        boolean hasAccess = switch (resource) {
-            case SecurityConstants.ADMIN_PANEL_RESOURCE -> roles.contains(SecurityConstants.ROLE_ADMIN);
-            case SecurityConstants.USER_MANAGEMENT_RESOURCE -> roles.contains(SecurityConstants.ROLE_ADMIN);
-            default -> false;
-        };
 
-        if (!hasAccess) {
+        if (!resourceAccessPolicy.isAllowed(claims, resource)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping(ApiConstants.INTROSPECT_URL)
+    public ResponseEntity<TokenIntrospectionResponse> introspect(@Valid @RequestBody TokenIntrospectionRequest request) {
+        log.debug("Introspection request received for {} token(s)", request.getTokens().size());
+        return ResponseEntity.ok(new TokenIntrospectionResponse(
+                tokenIntrospectionService.introspect(request.getTokens(), request.getResources())));
+    }
+
     @GetMapping(ApiConstants.OAUTH2_SUCCESS_URL)
-    public ResponseEntity<Map<String, String>> oauth2Success(@AuthenticationPrincipal OAuth2User oauth2User) {
+    public ResponseEntity<Map<String, String>> oauth2Success(@AuthenticationPrincipal OAuth2User oauth2User,
+                                                             HttpServletRequest request) {
         String email = oauth2User.getAttribute(SecurityConstants.OAUTH2_EMAIL_ATTRIBUTE);
         String name = oauth2User.getAttribute(SecurityConstants.OAUTH2_NAME_ATTRIBUTE);
 
         log.debug("OAuth2 login request received for email: {}", maskEmail(email));
-        Map<String, String> tokens = authService.handleOAuth2Login(email, name);
+        Map<String, String> tokens = authService.handleOAuth2Login(email, name, ClientIpResolver.resolve(request),
+                ClientIpResolver.userAgent(request));
         String refreshToken = tokens.get(SecurityConstants.REFRESH_TOKEN_KEY);
         String accessToken = tokens.get(SecurityConstants.ACCESS_TOKEN_KEY);
         if (refreshToken == null || accessToken == null) {
             throw new RuntimeException("Token generation failed");
         }
-        String refreshCookie = refreshTokenCookieService.createRefreshTokenCookie(refreshToken).toString();
+        String refreshCookie = refreshTokenCookieService.createRefreshTokenCookie(tokens).toString();
         log.info("OAuth2 login successful for email: {}", maskEmail(email));
         return ResponseEntity.ok()
                 .header(HttpHeaders.SET_COOKIE, refreshCookie)
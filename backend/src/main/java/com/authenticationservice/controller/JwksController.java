@@ -0,0 +1,33 @@
+package com.authenticationservice.controller;
+
+import java.util.Map;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.authenticationservice.config.JwtProperties;
+import com.authenticationservice.constants.ApiConstants;
+import com.authenticationservice.security.JwtTokenProvider;
+
+/**
+ * Publishes access token verification keys so other services can validate tokens locally.
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private static final String JWK_SET_MEDIA_TYPE = "application/jwk-set+json";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final JwtProperties jwtProperties;
+
+    @GetMapping(value = ApiConstants.JWKS_URL, produces = {JWK_SET_MEDIA_TYPE, "application/json"})
+    public ResponseEntity<Map<String, Object>> getJwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(jwtProperties.getJwksCacheMaxAge()).cachePublic())
+                .body(jwtTokenProvider.getPublicJwkSet());
+    }
+}
@@ -0,0 +1,56 @@
+package com.authenticationservice.controller;
+
+import com.authenticationservice.constants.ApiConstants;
+import com.authenticationservice.dto.SessionDTO;
+import com.authenticationservice.security.AccessTokenClaims;
+import com.authenticationservice.service.SessionService;
+import com.authenticationservice.util.LoggingSanitizer;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.Principal;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(ApiConstants.PROTECTED_BASE_URL)
+public class SessionController {
+
+    private final SessionService sessionService;
+
+    @GetMapping(ApiConstants.SESSIONS_URL)
+    public ResponseEntity<List<SessionDTO>> listSessions(Principal principal, HttpServletRequest request) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(sessionService.listSessions(principal.getName(), userId(request)));
+    }
+
+    @DeleteMapping(ApiConstants.SESSION_ID_URL)
+    public ResponseEntity<Void> revokeSession(@PathVariable String familyId, Principal principal,
+                                              HttpServletRequest request) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!sessionService.revokeSession(principal.getName(), userId(request), familyId)) {
+            return ResponseEntity.notFound().build();
+        }
+        log.info("Session revoked by user: {}", LoggingSanitizer.maskEmail(principal.getName()));
+        return ResponseEntity.noContent().build();
+    }
+
+    private static Long userId(HttpServletRequest request) {
+        return request.getAttribute(AccessTokenClaims.REQUEST_ATTRIBUTE) instanceof AccessTokenClaims claims
+                ? claims.userId()
+                : null;
+    }
+}
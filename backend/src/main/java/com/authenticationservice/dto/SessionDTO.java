@@ -0,0 +1,18 @@
+package com.authenticationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionDTO {
+    private String id;
+    private LocalDateTime createdAt;
+    private LocalDateTime lastUsedAt;
+    private String ipAddress;
+    private String userAgent;
+}
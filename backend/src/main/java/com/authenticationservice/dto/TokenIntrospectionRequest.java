@@ -0,0 +1,17 @@
+package com.authenticationservice.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class TokenIntrospectionRequest {
+    @NotEmpty(message = "At least one token is required")
+    private List<@NotBlank String> tokens;
+
+    private List<@NotBlank String> resources;
+}
@@ -0,0 +1,14 @@
+package com.authenticationservice.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class TokenIntrospectionResponse {
+    private List<TokenIntrospectionResult> results;
+}
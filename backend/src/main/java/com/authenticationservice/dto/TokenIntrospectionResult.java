@@ -0,0 +1,24 @@
+package com.authenticationservice.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Introspection result for one token, following RFC 7662: inactive tokens carry only {@code active=false}.
+ */
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TokenIntrospectionResult {
+    private boolean active;
+    private String sub;
+    private Long exp;
+    private Long userId;
+    private List<String> roles;
+    private Map<String, Boolean> resources;
+}
@@ -0,0 +1,9 @@
+package com.authenticationservice.exception;
+
+import com.authenticationservice.constants.MessageConstants;
+
+public class InvalidRefreshTokenException extends RuntimeException {
+    public InvalidRefreshTokenException() {
+        super(MessageConstants.INVALID_REFRESH_TOKEN);
+    }
+}
@@ -1,6 +1,7 @@
 package com.authenticationservice.logging;
 
 import com.authenticationservice.constants.LoggingConstants;
+import com.authenticationservice.util.ClientIpResolver;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -34,7 +35,7 @@ public class RequestCorrelationFilter extends OncePerRequestFilter {
         String traceId = resolveTraceId(headerTraceId, correlationId);
         MDC.put(LoggingConstants.TRACE_ID_MDC_KEY, traceId);
 
-        MDC.put(LoggingConstants.CLIENT_IP_MDC_KEY, getClientIpAddress(request));
+        MDC.put(LoggingConstants.CLIENT_IP_MDC_KEY, ClientIpResolver.resolve(request));
         MDC.put(LoggingConstants.HTTP_METHOD_MDC_KEY, request.getMethod());
         MDC.put(LoggingConstants.REQUEST_PATH_MDC_KEY, request.getRequestURI());
         
@@ -84,25 +85,5 @@ public class RequestCorrelationFilter extends OncePerRequestFilter {
         String name = authentication.getName();
         return (name != null && !name.equalsIgnoreCase("anonymousUser")) ? name : null;
     }
-
-    /**
-     * Extract client IP address from request, considering X-Forwarded-For header
-     * for requests behind proxies/load balancers.
-     */
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty() && !"unknown".equalsIgnoreCase(xForwardedFor)) {
-            // X-Forwarded-For can contain multiple IPs, take the first one
-            String[] ips = xForwardedFor.split(",");
-            return ips[0].trim();
-        }
-        
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty() && !"unknown".equalsIgnoreCase(xRealIp)) {
-            return xRealIp.trim();
-        }
-        
-        return request.getRemoteAddr();
-    }
 }
 
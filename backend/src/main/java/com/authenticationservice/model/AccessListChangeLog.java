@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 public class AccessListChangeLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "access_list_change_log_seq")
+    @SequenceGenerator(name = "access_list_change_log_seq", sequenceName = "access_list_change_log_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
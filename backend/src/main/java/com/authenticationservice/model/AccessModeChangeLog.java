@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 public class AccessModeChangeLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "access_mode_change_log_seq")
+    @SequenceGenerator(name = "access_mode_change_log_seq", sequenceName = "access_mode_change_log_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -11,6 +11,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import lombok.Getter;
@@ -18,13 +19,17 @@ import lombok.Setter;
 
 import java.time.LocalDateTime;
 
+/**
+ * Range-partitioned by {@code expires_at} month on Postgres; the table itself is created by
+ * {@code RefreshTokenPartitionService}, so unique keys must include the partition key.
+ */
 @Entity
 @Getter
 @Setter
 @Table(
         name = "refresh_tokens",
         uniqueConstraints = {
-                @UniqueConstraint(name = "uk_refresh_tokens_jti_hash", columnNames = "jti_hash")
+                @UniqueConstraint(name = "uk_refresh_tokens_jti_hash", columnNames = {"jti_hash", "expires_at"})
         },
         indexes = {
                 @Index(name = "idx_refresh_tokens_family", columnList = "family_id"),
@@ -36,7 +41,8 @@ import java.time.LocalDateTime;
 public class RefreshToken {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "refresh_tokens_seq")
+    @SequenceGenerator(name = "refresh_tokens_seq", sequenceName = "refresh_tokens_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -20,7 +20,7 @@ import java.time.LocalDateTime;
 @Table(
         name = "refresh_token_families",
         indexes = {
-                @Index(name = "idx_refresh_token_families_user", columnList = "user_id"),
+                @Index(name = "idx_refresh_token_families_user_active", columnList = "user_id, revoked_at, created_at"),
                 @Index(name = "idx_refresh_token_families_revoked", columnList = "revoked_at")
         }
 )
@@ -46,6 +46,25 @@ public class RefreshTokenFamily {
     @Column(name = "revoked_reason", length = 200)
     private String revokedReason;
 
+    @Column(name = "ip_address", length = 64)
+    private String ipAddress;
+
+    @Column(name = "user_agent", length = 512)
+    private String userAgent;
+
+    // Compact storage: the family row tracks the live token instead of one refresh_tokens row per rotation
+    @Column(name = "current_jti_hash", length = 64)
+    private String currentJtiHash;
+
+    @Column(name = "previous_jti_hash", length = 64)
+    private String previousJtiHash;
+
+    @Column(name = "current_expires_at")
+    private LocalDateTime currentExpiresAt;
+
+    @Column(name = "rotation_count", nullable = false, columnDefinition = "bigint default 0")
+    private long rotationCount = 0;
+
     @PrePersist
     void onCreate() {
         if (createdAt == null) {
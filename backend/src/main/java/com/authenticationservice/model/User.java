@@ -15,7 +15,8 @@ import java.util.Set;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -73,6 +74,9 @@ public class User {
     @Column(name = "unblocked_at")
     private LocalDateTime unblockedAt;
 
+    @Column(name = "token_epoch", nullable = false, columnDefinition = "bigint default 0")
+    private long tokenEpoch = 0;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "auth_provider")
     private AuthProvider authProvider = AuthProvider.LOCAL;
@@ -84,6 +88,9 @@ public class User {
         this.failedLoginAttempts++;
         this.lastLoginAttempt = LocalDateTime.now();
         if (this.failedLoginAttempts >= 10) {
+            if (!this.blocked) {
+                bumpTokenEpoch();
+            }
             this.blocked = true;
             this.blockReason = "Maximum login attempts exceeded";
         }
@@ -94,6 +101,14 @@ public class User {
         this.lastLoginAt = LocalDateTime.now();
     }
 
+    /**
+     * Revokes every access token issued so far: tokens carry the epoch they were issued under and
+     * are rejected once it falls behind the user's current epoch.
+     */
+    public void bumpTokenEpoch() {
+        this.tokenEpoch++;
+    }
+
     public boolean isAccountNonLocked() {
         return !blocked;
     }
@@ -1,19 +1,32 @@
 package com.authenticationservice.repository;
 
 import com.authenticationservice.model.RefreshTokenFamily;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface RefreshTokenFamilyRepository extends JpaRepository<RefreshTokenFamily, String> {
 
-    List<RefreshTokenFamily> findByUserIdAndRevokedAtIsNullOrderByCreatedAtAsc(Long userId);
+    interface SessionView {
+        String getId();
+
+        LocalDateTime getCreatedAt();
+
+        LocalDateTime getLastUsedAt();
+
+        String getIpAddress();
+
+        String getUserAgent();
+    }
 
     @Modifying
     @Query("""
@@ -28,10 +41,130 @@ public interface RefreshTokenFamilyRepository extends JpaRepository<RefreshToken
     @Modifying
     @Query("""
             UPDATE RefreshTokenFamily f
-            SET f.revokedAt = :revokedAt, f.revokedReason = :reason
-            WHERE f.user.id = :userId AND f.revokedAt IS NULL
+            SET f.lastUsedAt = :usedAt
+            WHERE f.id = :familyId AND (f.lastUsedAt IS NULL OR f.lastUsedAt < :usedAt)
+            """)
+    int advanceLastUsedAt(@Param("familyId") String familyId, @Param("usedAt") LocalDateTime usedAt);
+
+    /**
+     * @return ids of the families revoked by this call
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE refresh_token_families
+            SET revoked_at = :revokedAt, revoked_reason = :reason
+            WHERE user_id = :userId AND revoked_at IS NULL
+            RETURNING id
+            """, nativeQuery = true)
+    List<String> revokeAllForUser(@Param("userId") Long userId,
+                                  @Param("revokedAt") LocalDateTime revokedAt,
+                                  @Param("reason") String reason);
+
+    /**
+     * Revokes every active family of the user except the {@code keep} newest, together with their tokens,
+     * in one statement. Served by the {@code (user_id, revoked_at, created_at)} index, so the cost does not
+     * grow with the user's session history.
+     *
+     * @return ids of the families revoked by this call
+     */
+    @Transactional
+    @Query(value = """
+            WITH overflow AS (
+                UPDATE refresh_token_families
+                SET revoked_at = :revokedAt, revoked_reason = :reason
+                WHERE id IN (
+                    SELECT id FROM refresh_token_families
+                    WHERE user_id = :userId AND revoked_at IS NULL
+                    ORDER BY created_at DESC, id DESC
+                    OFFSET :keep)
+                RETURNING id
+            ), tokens AS (
+                UPDATE refresh_tokens
+                SET status = 'REVOKED'
+                WHERE family_id IN (SELECT id FROM overflow) AND status <> 'REVOKED' AND expires_at > :now
+            )
+            SELECT id FROM overflow
+            """, nativeQuery = true)
+    List<String> revokeAllButNewest(@Param("userId") Long userId,
+                           @Param("keep") int keep,
+                           @Param("revokedAt") LocalDateTime revokedAt,
+                           @Param("reason") String reason,
+                           @Param("now") LocalDateTime now);
+
+    /**
+     * Compact-storage rotation: swaps the family's current token hash for the successor's in place.
+     * A family still on per-row storage (no current hash yet) is adopted when the presented token is its
+     * ACTIVE row, which is marked ROTATED in the same statement. Concurrent refreshes serialize on the
+     * family row lock; only the first still sees the presented hash as current.
+     *
+     * @return the family's new rotation count, or empty if the presented token is not the current one
+     */
+    @Transactional
+    @Query(value = """
+            WITH legacy AS (
+                UPDATE refresh_tokens
+                SET status = 'ROTATED', replaced_by_jti_hash = :newJtiHash
+                WHERE jti_hash = :jtiHash AND expires_at = :expiresAt AND status = 'ACTIVE'
+                  AND family_id = :familyId AND user_id = :userId
+                RETURNING family_id
+            )
+            UPDATE refresh_token_families f
+            SET previous_jti_hash = :jtiHash, current_jti_hash = :newJtiHash,
+                current_expires_at = :newExpiresAt, rotation_count = f.rotation_count + 1, last_used_at = :usedAt
+            WHERE f.id = :familyId AND f.user_id = :userId AND f.revoked_at IS NULL
+              AND (f.current_jti_hash = :jtiHash OR (f.current_jti_hash IS NULL AND EXISTS (SELECT 1 FROM legacy)))
+            RETURNING f.rotation_count
+            """, nativeQuery = true)
+    Optional<Long> rotateCurrent(@Param("familyId") String familyId,
+                                 @Param("userId") Long userId,
+                                 @Param("jtiHash") String jtiHash,
+                                 @Param("expiresAt") LocalDateTime expiresAt,
+                                 @Param("newJtiHash") String newJtiHash,
+                                 @Param("newExpiresAt") LocalDateTime newExpiresAt,
+                                 @Param("usedAt") LocalDateTime usedAt);
+
+    /**
+     * Compact-storage counterpart of {@code RefreshTokenRepository.isRotatedSince}: the presented token is the
+     * one the family rotated away from last, at or after {@code since}.
+     */
+    @Query(value = """
+            SELECT EXISTS (
+                SELECT 1 FROM refresh_token_families
+                WHERE id = :familyId AND previous_jti_hash = :jtiHash
+                  AND revoked_at IS NULL AND last_used_at >= :since)
+            """, nativeQuery = true)
+    boolean isPreviousTokenRotatedSince(@Param("familyId") String familyId,
+                                        @Param("jtiHash") String jtiHash,
+                                        @Param("since") LocalDateTime since);
+
+    /**
+     * Most recent revocations first, served by the {@code revoked_at} index.
+     */
+    @Query("""
+            SELECT f.id FROM RefreshTokenFamily f
+            WHERE f.revokedAt >= :since
+            ORDER BY f.revokedAt DESC
             """)
-    int revokeAllForUser(@Param("userId") Long userId,
-                         @Param("revokedAt") LocalDateTime revokedAt,
-                         @Param("reason") String reason);
+    List<String> findIdsRevokedSince(@Param("since") LocalDateTime since, Limit limit);
+
+    /**
+     * Active sessions of a user, newest first. The user's active families are found through
+     * {@code idx_refresh_token_families_user_active} and sorted in memory; {@code max-families-per-user} keeps
+     * that set small, and {@code refresh_tokens} is never read. Families on per-row storage have no
+     * {@code current_expires_at} and are listed until revoked or purged.
+     */
+    @Query(value = """
+            SELECT id AS "id", created_at AS "createdAt", last_used_at AS "lastUsedAt",
+                   ip_address AS "ipAddress", user_agent AS "userAgent"
+            FROM refresh_token_families
+            WHERE user_id = :userId AND revoked_at IS NULL
+              AND (current_expires_at IS NULL OR current_expires_at > :now)
+            ORDER BY created_at DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<SessionView> findActiveSessions(@Param("userId") Long userId,
+                                         @Param("now") LocalDateTime now,
+                                         @Param("limit") int limit);
+
+    boolean existsByIdAndUserIdAndRevokedAtIsNull(String id, Long userId);
 }
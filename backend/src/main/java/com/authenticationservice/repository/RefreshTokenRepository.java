@@ -7,34 +7,80 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
 
+/**
+ * {@code refresh_tokens} is range-partitioned by {@code expires_at} month (see {@code RefreshTokenPartitionService}).
+ * Every query here bounds {@code expires_at} - the token's exact expiry for single-token lookups, or "not yet
+ * expired" for bulk revocation - so Postgres prunes to one partition or to the live ones.
+ */
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
 
-    Optional<RefreshToken> findByJtiHash(String jtiHash);
+    interface RotatedToken {
+        String getFamilyId();
+
+        Long getUserId();
+    }
+
+    /**
+     * Moves an ACTIVE token to ROTATED in one round trip. The family's {@code last_used_at} is left to
+     * {@code SessionTimestampWriteBehind}. The row lock taken by the UPDATE serializes concurrent refreshes
+     * of the same token: only one of them sees ACTIVE, every other one gets an empty result.
+     *
+     * @return the rotated token's family and user, or empty if no ACTIVE token matched
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE refresh_tokens
+            SET status = 'ROTATED', replaced_by_jti_hash = :replacedByJtiHash
+            WHERE jti_hash = :jtiHash AND expires_at = :expiresAt AND status = 'ACTIVE'
+              AND family_id = :familyId AND user_id = :userId
+            RETURNING family_id AS "familyId", user_id AS "userId"
+            """, nativeQuery = true)
+    Optional<RotatedToken> rotateActive(@Param("jtiHash") String jtiHash,
+                                        @Param("expiresAt") LocalDateTime expiresAt,
+                                        @Param("familyId") String familyId,
+                                        @Param("userId") Long userId,
+                                        @Param("replacedByJtiHash") String replacedByJtiHash);
+
+    /**
+     * Whether the token's successor was issued at or after {@code since} and is still the family's active
+     * token, i.e. a concurrent refresh that lost the race on another node rather than a replay.
+     */
+    @Query(value = """
+            SELECT EXISTS (
+                SELECT 1 FROM refresh_tokens t
+                JOIN refresh_tokens n ON n.jti_hash = t.replaced_by_jti_hash
+                JOIN refresh_token_families f ON f.id = t.family_id
+                WHERE t.jti_hash = :jtiHash AND t.expires_at = :expiresAt
+                  AND t.status = 'ROTATED' AND n.status = 'ACTIVE' AND n.issued_at >= :since
+                  AND f.revoked_at IS NULL)
+            """, nativeQuery = true)
+    boolean isRotatedSince(@Param("jtiHash") String jtiHash,
+                           @Param("expiresAt") LocalDateTime expiresAt,
+                           @Param("since") LocalDateTime since);
 
     @Modifying
     @Query("""
             UPDATE RefreshToken t
             SET t.status = :status
-            WHERE t.family.id = :familyId AND t.status <> :status
+            WHERE t.family.id = :familyId AND t.status <> :status AND t.expiresAt > :now
             """)
     int updateStatusByFamily(@Param("familyId") String familyId,
-                             @Param("status") RefreshTokenStatus status);
+                             @Param("status") RefreshTokenStatus status,
+                             @Param("now") LocalDateTime now);
 
     @Modifying
     @Query("""
             UPDATE RefreshToken t
             SET t.status = :status
-            WHERE t.user.id = :userId AND t.status <> :status
+            WHERE t.user.id = :userId AND t.status <> :status AND t.expiresAt > :now
             """)
     int updateStatusByUser(@Param("userId") Long userId,
-                           @Param("status") RefreshTokenStatus status);
-
-    @Modifying
-    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :cutoff")
-    int deleteExpiredBefore(@Param("cutoff") LocalDateTime cutoff);
+                           @Param("status") RefreshTokenStatus status,
+                           @Param("now") LocalDateTime now);
 }
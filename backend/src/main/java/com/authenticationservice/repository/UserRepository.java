@@ -3,12 +3,14 @@ package com.authenticationservice.repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.authenticationservice.model.User;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -34,4 +36,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Page<User> searchByEmailOrName(@Param("currentEmail") String currentUserEmail,
                                    @Param("search") String search,
                                    Pageable pageable);
+
+    @Modifying
+    @Query("""
+            UPDATE User u
+            SET u.lastLoginAt = :loggedInAt
+            WHERE u.id = :userId AND (u.lastLoginAt IS NULL OR u.lastLoginAt < :loggedInAt)
+            """)
+    int advanceLastLoginAt(@Param("userId") Long userId, @Param("loggedInAt") LocalDateTime loggedInAt);
 }
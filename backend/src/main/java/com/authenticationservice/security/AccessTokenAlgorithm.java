@@ -0,0 +1,34 @@
+package com.authenticationservice.security;
+
+import java.util.Locale;
+
+/**
+ * Signature algorithms supported for access tokens.
+ * HS256 keeps the shared-secret behaviour; ES256 and EdDSA allow other services to verify
+ * tokens locally with the public keys published at the JWKS endpoint.
+ */
+public enum AccessTokenAlgorithm {
+    HS256,
+    ES256,
+    EdDSA;
+
+    public boolean isAsymmetric() {
+        return this != HS256;
+    }
+
+    public static AccessTokenAlgorithm fromName(String name) {
+        if (name == null || name.isBlank()) {
+            return HS256;
+        }
+        String normalized = name.trim().toUpperCase(Locale.ROOT);
+        for (AccessTokenAlgorithm algorithm : values()) {
+            if (algorithm.name().toUpperCase(Locale.ROOT).equals(normalized)) {
+                return algorithm;
+            }
+        }
+        if ("ED25519".equals(normalized)) {
+            return EdDSA;
+        }
+        throw new IllegalStateException("Unsupported JWT access algorithm: " + name);
+    }
+}
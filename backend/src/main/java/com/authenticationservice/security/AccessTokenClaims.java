@@ -0,0 +1,27 @@
+package com.authenticationservice.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Verified claims of an access token.
+ * Produced once per request by {@link JwtTokenProvider#parseAccessToken(String)} and shared
+ * with later consumers through the {@link #REQUEST_ATTRIBUTE} request attribute.
+ * {@code tokenEpoch} is the user's token epoch at issue time; tokens issued before the claim existed read as 0.
+ */
+public record AccessTokenClaims(String subject, Long userId, List<String> roles, Instant expiresAt, long tokenEpoch) {
+
+    public static final String REQUEST_ATTRIBUTE = AccessTokenClaims.class.getName();
+
+    public AccessTokenClaims {
+        roles = roles != null ? List.copyOf(roles) : List.of();
+    }
+
+    public AccessTokenClaims(String subject, Long userId, List<String> roles, Instant expiresAt) {
+        this(subject, userId, roles, expiresAt, 0L);
+    }
+
+    public boolean hasRole(String role) {
+        return roles.contains(role);
+    }
+}
@@ -0,0 +1,79 @@
+package com.authenticationservice.security;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable resource-to-role policy compiled into bitmasks.
+ * Every role named by the policy gets a bit; each resource maps to the mask of roles that grant it,
+ * so a decision is one AND between that mask and the token's role mask. Lookups reuse the boxed
+ * values stored in the maps, so the decision path does not allocate.
+ */
+public final class CompiledAccessPolicy {
+
+    static final int MAX_ROLES = Long.SIZE;
+
+    private final Map<String, Integer> roleBits;
+    private final Map<String, Long> resourceMasks;
+
+    private CompiledAccessPolicy(Map<String, Integer> roleBits, Map<String, Long> resourceMasks) {
+        this.roleBits = roleBits;
+        this.resourceMasks = resourceMasks;
+    }
+
+    /**
+     * Compiles a resource table where each resource is granted to any of the listed roles.
+     * Resources with no roles are never granted.
+     */
+    public static CompiledAccessPolicy compile(Map<String, List<String>> resources) {
+        Map<String, Integer> roleBits = new HashMap<>();
+        Map<String, Long> resourceMasks = new HashMap<>();
+        resources.forEach((resource, roles) -> {
+            if (resource == null || resource.isBlank()) {
+                throw new IllegalArgumentException("Access policy resource name must not be blank");
+            }
+            long mask = 0L;
+            for (String role : roles != null ? roles : List.<String>of()) {
+                if (role == null || role.isBlank()) {
+                    throw new IllegalArgumentException("Access policy role for resource " + resource + " must not be blank");
+                }
+                Integer bit = roleBits.get(role);
+                if (bit == null) {
+                    if (roleBits.size() == MAX_ROLES) {
+                        throw new IllegalArgumentException("Access policy supports at most " + MAX_ROLES + " distinct roles");
+                    }
+                    bit = roleBits.size();
+                    roleBits.put(role, bit);
+                }
+                mask |= 1L << bit;
+            }
+            resourceMasks.put(resource, mask);
+        });
+        return new CompiledAccessPolicy(Map.copyOf(roleBits), Map.copyOf(resourceMasks));
+    }
+
+    public long roleMask(List<String> roles) {
+        long mask = 0L;
+        for (int i = 0; i < roles.size(); i++) {
+            Integer bit = roleBits.get(roles.get(i));
+            if (bit != null) {
+                mask |= 1L << bit;
+            }
+        }
+        return mask;
+    }
+
+    public boolean isAllowed(long roleMask, String resource) {
+        Long required = resourceMasks.get(resource);
+        return required != null && (roleMask & required) != 0L;
+    }
+
+    public int resourceCount() {
+        return resourceMasks.size();
+    }
+
+    public int roleCount() {
+        return roleBits.size();
+    }
+}
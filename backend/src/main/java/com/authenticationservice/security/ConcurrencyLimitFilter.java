@@ -0,0 +1,99 @@
+package com.authenticationservice.security;
+
+import com.authenticationservice.constants.ApiConstants;
+import com.authenticationservice.constants.MessageConstants;
+import com.authenticationservice.service.AdaptiveConcurrencyLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.jspecify.annotations.NonNull;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admits password-hashing requests through {@link AdaptiveConcurrencyLimiter} and sheds the excess with 503.
+ * Runs after {@link RateLimitingFilter}, so per-IP limits apply before a request competes for a permit.
+ * <p>
+ * Only successful responses feed the latency sample: errors are mostly answered before BCrypt (unknown email,
+ * locked, blocked or disabled account, existing email on registration, throttled login) and would drag the
+ * baseline down. Sheds are counted by the limiter; at most one warning per {@link #SHED_WARN_INTERVAL} is logged.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> LIMITED_PATHS = Set.of(
+            ApiConstants.AUTH_BASE_URL + ApiConstants.LOGIN_URL,
+            ApiConstants.AUTH_BASE_URL + ApiConstants.REGISTER_URL,
+            ApiConstants.AUTH_BASE_URL + ApiConstants.RESET_PASSWORD_URL
+    );
+
+    static final Duration SHED_WARN_INTERVAL = Duration.ofSeconds(10);
+
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final AtomicLong lastShedWarnNanos = new AtomicLong(System.nanoTime() - SHED_WARN_INTERVAL.toNanos());
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !concurrencyLimiter.isEnabled()
+                || !"POST".equals(request.getMethod())
+                || !LIMITED_PATHS.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        AdaptiveConcurrencyLimiter.Permit permit = concurrencyLimiter.tryAcquire();
+        if (permit == null) {
+            long retryAfter = concurrencyLimiter.retryAfterSeconds();
+            logShed(request.getRequestURI());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setContentType("application/json");
+            response.addHeader("Retry-After", String.valueOf(retryAfter));
+            response.getWriter().write(String.format(
+                    "{\"error\":\"%s\",\"retryAfter\":%d}",
+                    MessageConstants.SERVICE_OVERLOADED,
+                    retryAfter));
+            response.getWriter().flush();
+            return;
+        }
+
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+        } finally {
+            int status = response.getStatus();
+            if (completed && status >= 200 && status < 300) {
+                permit.release();
+            } else {
+                permit.releaseWithoutSample();
+            }
+        }
+    }
+
+    private void logShed(String path) {
+        long now = System.nanoTime();
+        long last = lastShedWarnNanos.get();
+        if (now - last >= SHED_WARN_INTERVAL.toNanos() && lastShedWarnNanos.compareAndSet(last, now)) {
+            log.warn("Concurrency limit exceeded - Path: {} (further rejections are counted in the limiter stats)",
+                    path);
+        } else {
+            log.debug("Concurrency limit exceeded - Path: {}", path);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.authenticationservice.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.NonNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.authenticationservice.config.EdgeAuthProperties;
+import com.authenticationservice.constants.SecurityConstants;
+
+/**
+ * Answers nginx {@code auth_request} subrequests without entering Spring Security or MVC.
+ * <p>
+ * Responds {@code 204} with {@value SecurityConstants#USER_ID_HEADER} and {@value SecurityConstants#USER_ROLES_HEADER}
+ * for a current access token, {@code 401} for a missing, invalid or revoked token, and {@code 403} when the
+ * resource named in {@value SecurityConstants#AUTH_RESOURCE_HEADER} is not granted. Decisions for valid tokens
+ * carry {@code Cache-Control: max-age} bounded by both the token's remaining lifetime and
+ * {@code security.edge-auth.cache-max-age}, which is how long nginx may keep serving a revoked token.
+ * The request is never passed down the filter chain.
+ */
+public class EdgeAuthorizationFilter extends OncePerRequestFilter {
+
+    private static final String NO_STORE = "no-store";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final UserAuthSnapshotCache userAuthSnapshotCache;
+    private final ResourceAccessPolicy resourceAccessPolicy;
+    private final long cacheMaxAgeSeconds;
+
+    public EdgeAuthorizationFilter(JwtTokenProvider jwtTokenProvider,
+                                   UserAuthSnapshotCache userAuthSnapshotCache,
+                                   ResourceAccessPolicy resourceAccessPolicy,
+                                   EdgeAuthProperties properties) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.userAuthSnapshotCache = userAuthSnapshotCache;
+        this.resourceAccessPolicy = resourceAccessPolicy;
+        this.cacheMaxAgeSeconds = Math.max(0, properties.getCacheMaxAge().toSeconds());
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) {
+        String authHeader = request.getHeader(SecurityConstants.AUTHORIZATION_HEADER);
+        if (authHeader == null || !authHeader.startsWith(SecurityConstants.BEARER_PREFIX)) {
+            reject(response);
+            return;
+        }
+        AccessTokenClaims claims = jwtTokenProvider.parseAccessToken(
+                authHeader.substring(SecurityConstants.BEARER_PREFIX_LENGTH));
+        if (claims == null || claims.expiresAt() == null || !userAuthSnapshotCache.isCurrent(claims)) {
+            reject(response);
+            return;
+        }
+
+        long remainingSeconds = claims.expiresAt().getEpochSecond() - System.currentTimeMillis() / 1000;
+        long maxAge = Math.min(cacheMaxAgeSeconds, Math.max(0, remainingSeconds));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, maxAge > 0 ? "max-age=" + maxAge : NO_STORE);
+
+        String resource = request.getHeader(SecurityConstants.AUTH_RESOURCE_HEADER);
+        if (resource != null && !resourceAccessPolicy.isAllowed(claims, resource)) {
+            response.setStatus(HttpStatus.FORBIDDEN.value());
+            return;
+        }
+        if (claims.userId() != null) {
+            response.setHeader(SecurityConstants.USER_ID_HEADER, claims.userId().toString());
+        }
+        response.setHeader(SecurityConstants.USER_ROLES_HEADER, String.join(",", claims.roles()));
+        response.setStatus(HttpStatus.NO_CONTENT.value());
+    }
+
+    private void reject(HttpServletResponse response) {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, NO_STORE);
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+    }
+}
@@ -0,0 +1,301 @@
+package com.authenticationservice.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+
+/**
+ * Allocation-light encoder/decoder for HMAC-signed access tokens with the fixed claim set written by
+ * {@link JwtTokenProvider}. Output is byte-identical to JJWT: the header is pre-encoded per key,
+ * initialized {@link Mac} instances are cloned from a per-key prototype and pooled, and claims are written
+ * and read without a JSON library. Request threads are virtual and short-lived, so a thread-local
+ * {@code Mac} would be created and keyed again for every request.
+ * <p>
+ * The codec only handles the exact shape it produces. Whenever an input falls outside that shape
+ * (non-HMAC key, characters needing JSON escaping, unknown header, bad signature, expired token, ...)
+ * it returns {@code null} and the caller falls back to JJWT, which stays the source of truth.
+ */
+final class HmacAccessTokenCodec {
+
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64URL_DECODER = Base64.getUrlDecoder();
+
+    private static final int MAC_POOL_SIZE = 4 * Runtime.getRuntime().availableProcessors();
+
+    private static final class HmacKey {
+        private final String encodedHeader;
+        private final SecretKey secretKey;
+        private final Mac prototype;
+        private final ArrayBlockingQueue<Mac> pool = new ArrayBlockingQueue<>(MAC_POOL_SIZE);
+
+        private HmacKey(String encodedHeader, SecretKey secretKey, Mac prototype) {
+            this.encodedHeader = encodedHeader;
+            this.secretKey = secretKey;
+            this.prototype = prototype;
+        }
+
+        private byte[] sign(byte[] input) {
+            Mac mac = pool.poll();
+            if (mac == null) {
+                mac = newMac();
+            }
+            byte[] signature = mac.doFinal(input);
+            // doFinal leaves the Mac reset for the next borrower; beyond the cap it is simply dropped
+            pool.offer(mac);
+            return signature;
+        }
+
+        private Mac newMac() {
+            try {
+                return (Mac) prototype.clone();
+            } catch (CloneNotSupportedException e) {
+                return initMac(secretKey);
+            }
+        }
+    }
+
+    private final JwtKeyRing ring;
+    private final HmacKey signingKey;
+    private final Map<String, HmacKey> keysByHeader = new HashMap<>();
+
+    HmacAccessTokenCodec(JwtKeyRing ring) {
+        this.ring = ring;
+        HmacKey active = null;
+        for (JwtKeyRing.Entry entry : ring.entries()) {
+            HmacKey hmacKey = toHmacKey(entry.keyId(), entry.verificationKey());
+            if (hmacKey == null) {
+                continue;
+            }
+            keysByHeader.put(hmacKey.encodedHeader, hmacKey);
+            if (entry == ring.activeEntry()) {
+                active = hmacKey;
+            }
+        }
+        this.signingKey = active;
+    }
+
+    JwtKeyRing ring() {
+        return ring;
+    }
+
+    /**
+     * @return the signed token, or {@code null} if JWT serialization must go through JJWT
+     */
+    String encode(String subject, long issuedAtMillis, long expiresAtMillis, List<String> roles, Long userId,
+                  long tokenEpoch) {
+        if (signingKey == null || userId == null || !isPlain(subject)) {
+            return null;
+        }
+        StringBuilder json = new StringBuilder(96 + subject.length() + roles.size() * 16);
+        json.append("{\"sub\":\"").append(subject)
+                .append("\",\"iat\":").append(TimeUnit.MILLISECONDS.toSeconds(issuedAtMillis))
+                .append(",\"exp\":").append(TimeUnit.MILLISECONDS.toSeconds(expiresAtMillis))
+                .append(",\"roles\":[");
+        for (int i = 0; i < roles.size(); i++) {
+            String role = roles.get(i);
+            if (!isPlain(role)) {
+                return null;
+            }
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append('"').append(role).append('"');
+        }
+        json.append("],\"userId\":").append(userId.longValue())
+                .append(",\"tokenEpoch\":").append(tokenEpoch).append('}');
+
+        String signingInput = signingKey.encodedHeader + '.'
+                + BASE64URL.encodeToString(json.toString().getBytes(StandardCharsets.US_ASCII));
+        byte[] signature = signingKey.sign(signingInput.getBytes(StandardCharsets.US_ASCII));
+        return signingInput + '.' + BASE64URL.encodeToString(signature);
+    }
+
+    /**
+     * @return verified claims, or {@code null} if the token must be handled by JJWT
+     */
+    AccessTokenClaims decode(String token, long nowMillis) {
+        int headerEnd = token.indexOf('.');
+        int payloadEnd = headerEnd < 0 ? -1 : token.indexOf('.', headerEnd + 1);
+        if (payloadEnd < 0 || token.indexOf('.', payloadEnd + 1) >= 0) {
+            return null;
+        }
+        HmacKey key = keysByHeader.get(token.substring(0, headerEnd));
+        if (key == null) {
+            return null;
+        }
+        try {
+            byte[] expected = key.sign(token.substring(0, payloadEnd).getBytes(StandardCharsets.US_ASCII));
+            byte[] actual = BASE64URL_DECODER.decode(token.substring(payloadEnd + 1));
+            if (!MessageDigest.isEqual(expected, actual)) {
+                return null;
+            }
+            byte[] payload = BASE64URL_DECODER.decode(token.substring(headerEnd + 1, payloadEnd));
+            AccessTokenClaims claims = new PayloadReader(new String(payload, StandardCharsets.US_ASCII)).read();
+            if (claims == null || claims.expiresAt() == null || nowMillis > claims.expiresAt().toEpochMilli()) {
+                return null;
+            }
+            return claims;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static HmacKey toHmacKey(String keyId, Key key) {
+        if (!(key instanceof SecretKey secretKey) || !isPlain(keyId)) {
+            return null;
+        }
+        String algorithm = switch (secretKey.getAlgorithm()) {
+            case "HmacSHA256" -> "HS256";
+            case "HmacSHA384" -> "HS384";
+            case "HmacSHA512" -> "HS512";
+            default -> null;
+        };
+        if (algorithm == null) {
+            return null;
+        }
+        String header = "{\"kid\":\"" + keyId + "\",\"alg\":\"" + algorithm + "\"}";
+        String encodedHeader = BASE64URL.encodeToString(header.getBytes(StandardCharsets.US_ASCII));
+        return new HmacKey(encodedHeader, secretKey, initMac(secretKey));
+    }
+
+    private static Mac initMac(SecretKey secretKey) {
+        try {
+            Mac instance = Mac.getInstance(secretKey.getAlgorithm());
+            instance.init(secretKey);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialize " + secretKey.getAlgorithm(), e);
+        }
+    }
+
+    /**
+     * Printable ASCII that JSON serializers emit verbatim.
+     */
+    private static boolean isPlain(String value) {
+        if (value == null) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x20 || c > 0x7E || c == '"' || c == '\\') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads exactly {@code {"sub":"..","iat":n,"exp":n,"roles":[".."],"userId":n,"tokenEpoch":n}}, with
+     * {@code tokenEpoch} optional for tokens issued before it existed; anything else yields {@code null}.
+     */
+    private static final class PayloadReader {
+        private final String json;
+        private int pos;
+
+        private PayloadReader(String json) {
+            this.json = json;
+        }
+
+        private AccessTokenClaims read() {
+            if (!expect("{\"sub\":")) {
+                return null;
+            }
+            String subject = readString();
+            if (subject == null || !expect(",\"iat\":") || readLong() == null || !expect(",\"exp\":")) {
+                return null;
+            }
+            Long exp = readLong();
+            if (exp == null || !expect(",\"roles\":[")) {
+                return null;
+            }
+            List<String> roles = new ArrayList<>(2);
+            if (!expect("]")) {
+                do {
+                    String role = readString();
+                    if (role == null) {
+                        return null;
+                    }
+                    roles.add(role);
+                } while (expect(","));
+                if (!expect("]")) {
+                    return null;
+                }
+            }
+            if (!expect(",\"userId\":")) {
+                return null;
+            }
+            Long userId = readLong();
+            if (userId == null) {
+                return null;
+            }
+            long tokenEpoch = 0L;
+            if (expect(",\"tokenEpoch\":")) {
+                Long epoch = readLong();
+                if (epoch == null) {
+                    return null;
+                }
+                tokenEpoch = epoch;
+            }
+            if (!expect("}") || pos != json.length()) {
+                return null;
+            }
+            return new AccessTokenClaims(subject, userId, roles, Instant.ofEpochSecond(exp), tokenEpoch);
+        }
+
+        private boolean expect(String token) {
+            if (json.startsWith(token, pos)) {
+                pos += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        private String readString() {
+            if (!expect("\"")) {
+                return null;
+            }
+            int start = pos;
+            while (pos < json.length()) {
+                char c = json.charAt(pos);
+                if (c == '"') {
+                    return json.substring(start, pos++);
+                }
+                if (c == '\\' || c < 0x20 || c > 0x7E) {
+                    return null;
+                }
+                pos++;
+            }
+            return null;
+        }
+
+        private Long readLong() {
+            int start = pos;
+            if (pos < json.length() && json.charAt(pos) == '-') {
+                pos++;
+            }
+            while (pos < json.length() && json.charAt(pos) >= '0' && json.charAt(pos) <= '9') {
+                pos++;
+            }
+            if (pos == start || pos - start > 18) {
+                return null;
+            }
+            try {
+                return Long.parseLong(json, start, pos, 10);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
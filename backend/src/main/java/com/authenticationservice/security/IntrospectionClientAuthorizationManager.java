@@ -0,0 +1,55 @@
+package com.authenticationservice.security;
+
+import com.authenticationservice.config.TokenIntrospectionProperties;
+import com.authenticationservice.constants.SecurityConstants;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.function.Supplier;
+
+/**
+ * Decides who may call the introspection endpoint. As RFC 7662 section 2.1 requires, the caller must
+ * authenticate: either with the shared client secret in {@value SecurityConstants#INTROSPECTION_CLIENT_SECRET_HEADER}
+ * or with an access token carrying the admin role. Anonymous callers get 401, other users 403.
+ */
+@Component
+@RequiredArgsConstructor
+public class IntrospectionClientAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private final TokenIntrospectionProperties properties;
+
+    @Override
+    public AuthorizationResult authorize(Supplier<? extends Authentication> authentication,
+                                         RequestAuthorizationContext context) {
+        return new AuthorizationDecision(hasClientSecret(context.getRequest()) || isAdmin(authentication.get()));
+    }
+
+    private boolean hasClientSecret(HttpServletRequest request) {
+        String expected = properties.getClientSecret();
+        String provided = request.getHeader(SecurityConstants.INTROSPECTION_CLIENT_SECRET_HEADER);
+        if (expected == null || expected.isBlank() || provided == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), provided.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private boolean isAdmin(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return false;
+        }
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(SecurityConstants.ROLE_ADMIN::equals);
+    }
+}
@@ -0,0 +1,10 @@
+package com.authenticationservice.security;
+
+import java.time.Instant;
+
+/**
+ * A freshly signed refresh token together with its expiry, which equals the {@code exp} claim
+ * so callers never need to parse the token they just created.
+ */
+public record IssuedRefreshToken(String token, Instant expiresAt) {
+}
@@ -6,25 +6,20 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.jspecify.annotations.NonNull;
 
-import com.authenticationservice.model.User;
-import com.authenticationservice.repository.UserRepository;
-
 import java.io.IOException;
-import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final UserRepository userRepository;
+    private final UserAuthSnapshotCache userAuthSnapshotCache;
 
     @Override
     protected void doFilterInternal(
@@ -35,17 +30,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             String jwt = getJwtFromRequest(request);
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateAccessToken(jwt)) {
-                String email = jwtTokenProvider.getEmailFromAccess(jwt);
-                User user = userRepository.findByEmail(email).orElse(null);
-
-                if (user != null && user.isEnabled() && !user.isBlocked()) {
-                    var authorities = user.getRoles().stream()
-                            .map(role -> new SimpleGrantedAuthority(role.getName()))
-                            .collect(Collectors.toList());
+            AccessTokenClaims claims = StringUtils.hasText(jwt) ? jwtTokenProvider.parseAccessToken(jwt) : null;
+            if (claims != null) {
+                // Share the verified claims with later consumers so the token is parsed once per request
+                request.setAttribute(AccessTokenClaims.REQUEST_ATTRIBUTE, claims);
+                UserAuthSnapshot user = userAuthSnapshotCache.resolve(claims);
 
+                if (user != null && user.isActive()) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            email, null, authorities);
+                            claims.subject(), null, user.authorities());
 
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                 } else if (user != null) {
@@ -0,0 +1,116 @@
+package com.authenticationservice.security;
+
+import java.security.Key;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.InvalidKeyException;
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
+
+/**
+ * Immutable set of keys for one token type: a single active signing key plus any number of
+ * verification-only keys, indexed by {@code kid}.
+ * Tokens issued before key ids were introduced carry no {@code kid} and are verified with the legacy key.
+ */
+public final class JwtKeyRing {
+
+    /**
+     * A key ring member. {@code signingKey} is {@code null} for verification-only keys;
+     * {@code algorithm} is {@code null} for HMAC keys, whose algorithm follows from the key length.
+     */
+    public record Entry(String keyId, Key verificationKey, Key signingKey,
+                        SecureDigestAlgorithm<?, ?> algorithm, JWK publicJwk) {
+    }
+
+    private final Entry active;
+    private final List<Entry> entries;
+    private final Map<String, Key> verificationKeys;
+    private final Key legacyKey;
+    private final Map<String, Object> publicJwkSet;
+
+    public JwtKeyRing(List<Entry> entries, String activeKeyId, Key legacyKey) {
+        Map<String, Key> keys = new HashMap<>();
+        List<JWK> publicJwks = new ArrayList<>();
+        Entry activeEntry = null;
+        for (Entry entry : entries) {
+            if (keys.putIfAbsent(entry.keyId(), entry.verificationKey()) != null) {
+                throw new IllegalStateException("Duplicate JWT key id: " + entry.keyId());
+            }
+            if (entry.publicJwk() != null) {
+                publicJwks.add(entry.publicJwk());
+            }
+            if (entry.keyId().equals(activeKeyId)) {
+                activeEntry = entry;
+            }
+        }
+        if (activeEntry == null || activeEntry.signingKey() == null) {
+            throw new IllegalStateException("Active JWT key '" + activeKeyId + "' is missing or has no signing material");
+        }
+        this.active = activeEntry;
+        this.entries = List.copyOf(entries);
+        this.verificationKeys = Map.copyOf(keys);
+        this.legacyKey = legacyKey != null ? legacyKey : activeEntry.verificationKey();
+        this.publicJwkSet = Map.copyOf(new JWKSet(publicJwks).toJSONObject(true));
+    }
+
+    public String activeKeyId() {
+        return active.keyId();
+    }
+
+    public Entry activeEntry() {
+        return active;
+    }
+
+    public List<Entry> entries() {
+        return entries;
+    }
+
+    public Key legacyKey() {
+        return legacyKey;
+    }
+
+    public Set<String> keyIds() {
+        return verificationKeys.keySet();
+    }
+
+    /**
+     * Public keys of this ring in JWK Set form; HMAC keys are never published.
+     */
+    public Map<String, Object> publicJwkSet() {
+        return publicJwkSet;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void sign(JwtBuilder builder) {
+        builder.header().keyId(active.keyId());
+        if (active.algorithm() != null) {
+            builder.signWith(active.signingKey(), (SecureDigestAlgorithm) active.algorithm());
+        } else {
+            builder.signWith(active.signingKey());
+        }
+    }
+
+    /**
+     * Resolves the verification key for a token header in a single map lookup.
+     */
+    public Key locate(Header header) {
+        String keyId = header instanceof ProtectedHeader protectedHeader ? protectedHeader.getKeyId() : null;
+        if (keyId == null) {
+            return legacyKey;
+        }
+        Key key = verificationKeys.get(keyId);
+        if (key == null) {
+            throw new InvalidKeyException("Unknown JWT key id: " + keyId);
+        }
+        return key;
+    }
+}
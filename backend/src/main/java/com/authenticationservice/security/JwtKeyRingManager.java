@@ -0,0 +1,230 @@
+package com.authenticationservice.security;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.crypto.SecretKey;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.authenticationservice.config.JwtProperties;
+import com.nimbusds.jose.jwk.JWK;
+
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Owns the access and refresh {@link JwtKeyRing}s.
+ * Rings are built from {@link JwtProperties} and, when {@code jwt.key-ring-file} is set, from a JSON
+ * key ring file that is polled for changes and swapped in atomically, so signing keys can be rotated
+ * without a restart and without invalidating tokens signed with the previous key.
+ */
+@Slf4j
+@Component
+public class JwtKeyRingManager {
+
+    record KeyRingFile(List<KeyEntry> access, List<KeyEntry> refresh) {
+    }
+
+    record KeyEntry(String kid, String algorithm, String secret, String privateKey, String publicKey, Boolean active) {
+    }
+
+    private record Rings(JwtKeyRing access, JwtKeyRing refresh) {
+    }
+
+    private final JwtProperties jwtProperties;
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final List<JwtKeyRing.Entry> propertiesAccessEntries = new ArrayList<>();
+    private final List<JwtKeyRing.Entry> propertiesRefreshEntries = new ArrayList<>();
+    private final JwtKeyRing propertiesAccessRing;
+    private final JwtKeyRing propertiesRefreshRing;
+    private volatile Rings rings;
+    private volatile FileTime keyRingFileModified;
+
+    public JwtKeyRingManager(JwtProperties jwtProperties) {
+        this.jwtProperties = jwtProperties;
+        this.propertiesAccessRing = buildAccessRingFromProperties();
+        this.propertiesRefreshRing = buildRefreshRingFromProperties();
+        this.rings = new Rings(propertiesAccessRing, propertiesRefreshRing);
+        if (hasKeyRingFile() && !reload()) {
+            throw new IllegalStateException("Unable to load JWT key ring file: " + jwtProperties.getKeyRingFile());
+        }
+    }
+
+    public JwtKeyRing accessRing() {
+        return rings.access();
+    }
+
+    public JwtKeyRing refreshRing() {
+        return rings.refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.key-ring-reload-interval:30s}",
+            initialDelayString = "${jwt.key-ring-reload-interval:30s}")
+    public void reloadIfChanged() {
+        if (!hasKeyRingFile()) {
+            return;
+        }
+        try {
+            FileTime modified = Files.getLastModifiedTime(Path.of(jwtProperties.getKeyRingFile()));
+            if (!modified.equals(keyRingFileModified)) {
+                reload();
+            }
+        } catch (IOException e) {
+            log.error("Unable to check JWT key ring file {}: {}", jwtProperties.getKeyRingFile(), e.getMessage());
+        }
+    }
+
+    /**
+     * Loads the key ring file and swaps it in. On any error the current rings stay in place.
+     *
+     * @return {@code true} if the file was loaded
+     */
+    public boolean reload() {
+        Path path = Path.of(jwtProperties.getKeyRingFile());
+        try {
+            FileTime modified = Files.getLastModifiedTime(path);
+            KeyRingFile file = jsonMapper.readValue(Files.readString(path), KeyRingFile.class);
+            JwtKeyRing access = file.access() != null && !file.access().isEmpty()
+                    ? buildRingFromFile(file.access(), propertiesAccessEntries, propertiesAccessRing)
+                    : propertiesAccessRing;
+            JwtKeyRing refresh = file.refresh() != null && !file.refresh().isEmpty()
+                    ? buildRingFromFile(file.refresh(), propertiesRefreshEntries, propertiesRefreshRing)
+                    : propertiesRefreshRing;
+            rings = new Rings(access, refresh);
+            keyRingFileModified = modified;
+            log.info("JWT key ring loaded: access active={} keys={}, refresh active={} keys={}",
+                    access.activeKeyId(), access.keyIds().size(), refresh.activeKeyId(), refresh.keyIds().size());
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to load JWT key ring file {}; keeping current keys: {}", path, e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean hasKeyRingFile() {
+        return jwtProperties.getKeyRingFile() != null && !jwtProperties.getKeyRingFile().isBlank();
+    }
+
+    private JwtKeyRing buildAccessRingFromProperties() {
+        AccessTokenAlgorithm algorithm = AccessTokenAlgorithm.fromName(jwtProperties.getAccessAlgorithm());
+        if (!algorithm.isAsymmetric()) {
+            return buildHmacRingFromProperties(jwtProperties.getAccessSecret(),
+                    jwtProperties.getAccessPreviousSecrets(), propertiesAccessEntries);
+        }
+        KeyPair keyPair = loadAccessKeyPair(algorithm);
+        SignatureAlgorithm signatureAlgorithm = JwtKeySupport.signatureAlgorithm(algorithm);
+        JWK activeJwk = JwtKeySupport.toPublicJwk(algorithm, keyPair.getPublic());
+        propertiesAccessEntries.add(new JwtKeyRing.Entry(activeJwk.getKeyID(), keyPair.getPublic(),
+                keyPair.getPrivate(), signatureAlgorithm, activeJwk));
+        for (String previous : nonBlank(jwtProperties.getAccessPreviousPublicKeys())) {
+            PublicKey publicKey = JwtKeySupport.loadPublicKey(algorithm, previous);
+            JWK jwk = JwtKeySupport.toPublicJwk(algorithm, publicKey);
+            propertiesAccessEntries.add(new JwtKeyRing.Entry(jwk.getKeyID(), publicKey, null, signatureAlgorithm, jwk));
+        }
+        return new JwtKeyRing(propertiesAccessEntries, activeJwk.getKeyID(), keyPair.getPublic());
+    }
+
+    private JwtKeyRing buildRefreshRingFromProperties() {
+        return buildHmacRingFromProperties(jwtProperties.getRefreshSecret(),
+                jwtProperties.getRefreshPreviousSecrets(), propertiesRefreshEntries);
+    }
+
+    private JwtKeyRing buildHmacRingFromProperties(String secret, List<String> previousSecrets,
+                                                   List<JwtKeyRing.Entry> entries) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("JWT signing secret is not configured");
+        }
+        SecretKey activeKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        String activeKeyId = JwtKeySupport.hmacKeyId(activeKey);
+        entries.add(new JwtKeyRing.Entry(activeKeyId, activeKey, activeKey, null, null));
+        for (String previous : nonBlank(previousSecrets)) {
+            SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(previous));
+            entries.add(new JwtKeyRing.Entry(JwtKeySupport.hmacKeyId(key), key, null, null, null));
+        }
+        return new JwtKeyRing(entries, activeKeyId, activeKey);
+    }
+
+    private KeyPair loadAccessKeyPair(AccessTokenAlgorithm algorithm) {
+        String privateKey = jwtProperties.getAccessPrivateKey();
+        String publicKey = jwtProperties.getAccessPublicKey();
+        boolean hasPrivate = privateKey != null && !privateKey.isBlank();
+        boolean hasPublic = publicKey != null && !publicKey.isBlank();
+        if (hasPrivate && hasPublic) {
+            return JwtKeySupport.loadKeyPair(algorithm, privateKey, publicKey);
+        }
+        if (hasPrivate || hasPublic) {
+            throw new IllegalStateException("Both jwt.access-private-key and jwt.access-public-key must be set for " + algorithm);
+        }
+        if (!jwtProperties.isAllowEphemeralKey()) {
+            throw new IllegalStateException("No " + algorithm + " key pair configured for access tokens; set "
+                    + "jwt.access-private-key and jwt.access-public-key, or jwt.allow-ephemeral-key=true outside production");
+        }
+        log.warn("No {} key pair configured for access tokens; using an ephemeral key. "
+                + "Tokens will not survive a restart and cannot be verified by other instances.", algorithm);
+        return JwtKeySupport.generateKeyPair(algorithm);
+    }
+
+    /**
+     * Keys from the file take precedence; keys configured through properties stay valid for
+     * verification so tokens issued before the file was introduced keep working.
+     */
+    private JwtKeyRing buildRingFromFile(List<KeyEntry> fileEntries, List<JwtKeyRing.Entry> propertiesEntries,
+                                         JwtKeyRing propertiesRing) {
+        List<JwtKeyRing.Entry> entries = new ArrayList<>();
+        String activeKeyId = null;
+        for (KeyEntry fileEntry : fileEntries) {
+            if (fileEntry.kid() == null || fileEntry.kid().isBlank()) {
+                throw new IllegalStateException("Key ring entry without kid");
+            }
+            entries.add(toRingEntry(fileEntry));
+            if (Boolean.TRUE.equals(fileEntry.active())) {
+                if (activeKeyId != null) {
+                    throw new IllegalStateException("More than one active key in key ring");
+                }
+                activeKeyId = fileEntry.kid();
+            }
+        }
+        for (JwtKeyRing.Entry entry : propertiesEntries) {
+            if (entries.stream().noneMatch(existing -> existing.keyId().equals(entry.keyId()))) {
+                entries.add(new JwtKeyRing.Entry(entry.keyId(), entry.verificationKey(), null,
+                        entry.algorithm(), entry.publicJwk()));
+            }
+        }
+        return new JwtKeyRing(entries, activeKeyId, propertiesRing.legacyKey());
+    }
+
+    private JwtKeyRing.Entry toRingEntry(KeyEntry fileEntry) {
+        AccessTokenAlgorithm algorithm = AccessTokenAlgorithm.fromName(fileEntry.algorithm());
+        if (!algorithm.isAsymmetric()) {
+            SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(fileEntry.secret()));
+            return new JwtKeyRing.Entry(fileEntry.kid(), key, key, null, null);
+        }
+        SignatureAlgorithm signatureAlgorithm = JwtKeySupport.signatureAlgorithm(algorithm);
+        if (fileEntry.privateKey() != null && !fileEntry.privateKey().isBlank()) {
+            KeyPair keyPair = JwtKeySupport.loadKeyPair(algorithm, fileEntry.privateKey(), fileEntry.publicKey());
+            return new JwtKeyRing.Entry(fileEntry.kid(), keyPair.getPublic(), keyPair.getPrivate(), signatureAlgorithm,
+                    JwtKeySupport.toPublicJwk(algorithm, keyPair.getPublic(), fileEntry.kid()));
+        }
+        PublicKey publicKey = JwtKeySupport.loadPublicKey(algorithm, fileEntry.publicKey());
+        return new JwtKeyRing.Entry(fileEntry.kid(), publicKey, null, signatureAlgorithm,
+                JwtKeySupport.toPublicJwk(algorithm, publicKey, fileEntry.kid()));
+    }
+
+    private static List<String> nonBlank(List<String> values) {
+        if (values == null) {
+            return List.of();
+        }
+        return values.stream().filter(value -> value != null && !value.isBlank()).toList();
+    }
+}
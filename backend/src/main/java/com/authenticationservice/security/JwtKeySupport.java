@@ -0,0 +1,164 @@
+package com.authenticationservice.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+
+import javax.crypto.SecretKey;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.util.Base64URL;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Key loading and JWK conversion for JWT signing keys.
+ * Keys are accepted as PEM (PKCS#8 private, X.509 public) or as the bare base64 DER body.
+ */
+@UtilityClass
+public class JwtKeySupport {
+
+    private static final String EC_CURVE = "secp256r1";
+    private static final int ED25519_KEY_LENGTH = 32;
+    private static final byte[] PROBE = "jwt-key-probe".getBytes(StandardCharsets.UTF_8);
+
+    public static SignatureAlgorithm signatureAlgorithm(AccessTokenAlgorithm algorithm) {
+        return switch (algorithm) {
+            case ES256 -> Jwts.SIG.ES256;
+            case EdDSA -> Jwts.SIG.EdDSA;
+            case HS256 -> throw new IllegalArgumentException("HS256 is not a signature algorithm");
+        };
+    }
+
+    public static KeyPair loadKeyPair(AccessTokenAlgorithm algorithm, String privateKey, String publicKey) {
+        try {
+            KeyFactory factory = KeyFactory.getInstance(keyFactoryAlgorithm(algorithm));
+            PrivateKey privateKeyValue = factory.generatePrivate(new PKCS8EncodedKeySpec(decode(privateKey)));
+            PublicKey publicKeyValue = factory.generatePublic(new X509EncodedKeySpec(decode(publicKey)));
+            KeyPair keyPair = new KeyPair(publicKeyValue, privateKeyValue);
+            verifyKeyPair(algorithm, keyPair);
+            return keyPair;
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid " + algorithm + " key material for JWT access tokens", e);
+        }
+    }
+
+    public static PublicKey loadPublicKey(AccessTokenAlgorithm algorithm, String publicKey) {
+        try {
+            KeyFactory factory = KeyFactory.getInstance(keyFactoryAlgorithm(algorithm));
+            return factory.generatePublic(new X509EncodedKeySpec(decode(publicKey)));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid " + algorithm + " public key for JWT verification", e);
+        }
+    }
+
+    public static KeyPair generateKeyPair(AccessTokenAlgorithm algorithm) {
+        try {
+            if (algorithm == AccessTokenAlgorithm.ES256) {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec(EC_CURVE));
+                return generator.generateKeyPair();
+            }
+            return KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to generate " + algorithm + " key pair", e);
+        }
+    }
+
+    /**
+     * Builds the public JWK for the key, using its RFC 7638 thumbprint as {@code kid}.
+     */
+    public static JWK toPublicJwk(AccessTokenAlgorithm algorithm, PublicKey publicKey) {
+        try {
+            JWK withoutId = buildPublicJwk(algorithm, publicKey, null);
+            return buildPublicJwk(algorithm, publicKey, withoutId.computeThumbprint().toString());
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Unable to compute JWK thumbprint", e);
+        }
+    }
+
+    public static JWK toPublicJwk(AccessTokenAlgorithm algorithm, PublicKey publicKey, String keyId) {
+        return buildPublicJwk(algorithm, publicKey, keyId);
+    }
+
+    /**
+     * Derives a stable, non-reversible {@code kid} for a shared secret, so tokens signed with
+     * secrets supplied through properties can be matched to their key without naming it.
+     */
+    public static String hmacKeyId(SecretKey key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getEncoded());
+            return "hs-" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 12));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static JWK buildPublicJwk(AccessTokenAlgorithm algorithm, PublicKey publicKey, String keyId) {
+        if (algorithm == AccessTokenAlgorithm.ES256) {
+            return new ECKey.Builder(Curve.P_256, (ECPublicKey) publicKey)
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(JWSAlgorithm.ES256)
+                    .keyID(keyId)
+                    .build();
+        }
+        // X.509 encoding of an Ed25519 key ends with the raw 32-byte public key
+        byte[] encoded = publicKey.getEncoded();
+        byte[] raw = Arrays.copyOfRange(encoded, encoded.length - ED25519_KEY_LENGTH, encoded.length);
+        return new OctetKeyPair.Builder(Curve.Ed25519, Base64URL.encode(raw))
+                .keyUse(KeyUse.SIGNATURE)
+                .algorithm(JWSAlgorithm.EdDSA)
+                .keyID(keyId)
+                .build();
+    }
+
+    private static void verifyKeyPair(AccessTokenAlgorithm algorithm, KeyPair keyPair) throws GeneralSecurityException {
+        String signatureName = algorithm == AccessTokenAlgorithm.ES256 ? "SHA256withECDSA" : "Ed25519";
+        Signature signer = Signature.getInstance(signatureName);
+        signer.initSign(keyPair.getPrivate());
+        signer.update(PROBE);
+        byte[] signature = signer.sign();
+
+        Signature verifier = Signature.getInstance(signatureName);
+        verifier.initVerify(keyPair.getPublic());
+        verifier.update(PROBE);
+        if (!verifier.verify(signature)) {
+            throw new IllegalArgumentException("Private and public keys do not belong to the same key pair");
+        }
+    }
+
+    private static String keyFactoryAlgorithm(AccessTokenAlgorithm algorithm) {
+        return algorithm == AccessTokenAlgorithm.ES256 ? "EC" : "Ed25519";
+    }
+
+    private static byte[] decode(String material) {
+        if (material == null || material.isBlank()) {
+            throw new IllegalArgumentException("Key material is empty");
+        }
+        String body = material
+                .replaceAll("-----BEGIN [A-Z ]+-----", "")
+                .replaceAll("-----END [A-Z ]+-----", "")
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(body);
+    }
+}
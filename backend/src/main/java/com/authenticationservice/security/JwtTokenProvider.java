@@ -1,16 +1,19 @@
 package com.authenticationservice.security;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
-import javax.crypto.SecretKey;
-
 import org.springframework.stereotype.Component;
 
+import jakarta.servlet.http.HttpServletRequest;
+
 import com.authenticationservice.config.JwtProperties;
 import com.authenticationservice.model.User;
 import com.authenticationservice.model.Role;
@@ -18,56 +21,90 @@ import com.authenticationservice.model.Role;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 
 @Component
 public class JwtTokenProvider {
 
     private static final String ROLES_CLAIM = "roles";
     private static final String USER_ID_CLAIM = "userId";
+    private static final String TOKEN_EPOCH_CLAIM = "tokenEpoch";
     private static final String REMEMBER_DAYS_CLAIM = "rememberDays";
     private static final String REFRESH_FAMILY_CLAIM = "ftid";
     private static final int DEFAULT_REMEMBER_DAYS = 15;
 
     private final JwtProperties jwtProperties;
-    private final SecretKey key;
-    private final SecretKey refreshKey;
+    private final JwtKeyRingManager keyRings;
     private final JwtParser accessParser;
     private final JwtParser refreshParser;
 
-    public JwtTokenProvider(JwtProperties jwtProperties) {
+    private volatile HmacAccessTokenCodec fastCodec;
+
+    public JwtTokenProvider(JwtProperties jwtProperties, JwtKeyRingManager keyRings) {
         this.jwtProperties = jwtProperties;
-        this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtProperties.getAccessSecret()));
-        this.refreshKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtProperties.getRefreshSecret()));
-        this.accessParser = Jwts.parser().verifyWith(key).build();
-        this.refreshParser = Jwts.parser().verifyWith(refreshKey).build();
+        this.keyRings = keyRings;
+        // Keys are looked up by kid on every parse, so parsers survive key ring reloads
+        this.accessParser = Jwts.parser().keyLocator(header -> keyRings.accessRing().locate(header)).build();
+        this.refreshParser = Jwts.parser().keyLocator(header -> keyRings.refreshRing().locate(header)).build();
+    }
+
+    /**
+     * Public keys for access token verification in JWK Set form, including verification-only keys
+     * that are being rotated out. Empty when access tokens are signed with shared HS256 secrets.
+     */
+    public Map<String, Object> getPublicJwkSet() {
+        return keyRings.accessRing().publicJwkSet();
+    }
+
+    /**
+     * Returns the fast HMAC codec for the current access key ring, rebuilding it after a key ring reload.
+     */
+    private HmacAccessTokenCodec fastCodec() {
+        if (!jwtProperties.isFastCodecEnabled()) {
+            return null;
+        }
+        JwtKeyRing ring = keyRings.accessRing();
+        HmacAccessTokenCodec codec = fastCodec;
+        if (codec == null || codec.ring() != ring) {
+            codec = new HmacAccessTokenCodec(ring);
+            fastCodec = codec;
+        }
+        return codec;
     }
 
     public String generateAccessToken(User user) {
         try {
-            Date now = new Date();
+            long nowMillis = System.currentTimeMillis();
             long expiration = jwtProperties.getAccessExpiration();
             if (expiration <= 0) {
                 throw new IllegalStateException("JWT access expiration is not set or is invalid: " + expiration);
             }
-            Date expiry = new Date(now.getTime() + expiration);
-            
+            long expiryMillis = nowMillis + expiration;
+
             // Create a new ArrayList to avoid UnsupportedOperationException with Hibernate collections
-            List<String> roles = new java.util.ArrayList<>();
+            List<String> roles = new ArrayList<>();
             if (user.getRoles() != null) {
                 for (Role role : user.getRoles()) {
                     roles.add(role.getName());
                 }
             }
 
+            HmacAccessTokenCodec codec = fastCodec();
+            if (codec != null) {
+                String token = codec.encode(user.getEmail(), nowMillis, expiryMillis, roles, user.getId(),
+                        user.getTokenEpoch());
+                if (token != null) {
+                    return token;
+                }
+            }
+
             var builder = Jwts.builder();
             builder.subject(user.getEmail());
-            builder.issuedAt(now);
-            builder.expiration(expiry);
+            builder.issuedAt(new Date(nowMillis));
+            builder.expiration(new Date(expiryMillis));
             builder.claim(ROLES_CLAIM, roles);
             builder.claim(USER_ID_CLAIM, user.getId());
-            builder.signWith(key);
+            builder.claim(TOKEN_EPOCH_CLAIM, user.getTokenEpoch());
+            keyRings.accessRing().sign(builder);
             return builder.compact();
         } catch (Exception e) {
             throw new RuntimeException("Error generating access token: " + (e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName()), e);
@@ -85,6 +122,10 @@ public class JwtTokenProvider {
     }
 
     public String generateRefreshToken(User user, Integer rememberDays, String familyId, String tokenId) {
+        return issueRefreshToken(user, rememberDays, familyId, tokenId).token();
+    }
+
+    public IssuedRefreshToken issueRefreshToken(User user, Integer rememberDays, String familyId, String tokenId) {
         if (rememberDays == null) {
             return generateRefreshTokenWithTtl(user, jwtProperties.getRefreshExpiration(), familyId, tokenId, null);
         }
@@ -93,12 +134,12 @@ public class JwtTokenProvider {
         return generateRefreshTokenWithTtl(user, expirationMs, familyId, tokenId, days);
     }
 
-    private String generateRefreshTokenWithTtl(User user, long expirationMs, String familyId, String tokenId, Integer rememberDays) {
+    private IssuedRefreshToken generateRefreshTokenWithTtl(User user, long expirationMs, String familyId, String tokenId, Integer rememberDays) {
         try {
-            Date now = new Date();
             if (expirationMs <= 0) {
                 throw new IllegalStateException("JWT refresh expiration is not set or is invalid: " + expirationMs);
             }
+            Date now = new Date();
             Date expiry = new Date(now.getTime() + expirationMs);
             var builder = Jwts.builder();
             builder.subject(user.getEmail());
@@ -113,8 +154,10 @@ public class JwtTokenProvider {
             if (rememberDays != null) {
                 builder.claim(REMEMBER_DAYS_CLAIM, rememberDays);
             }
-            builder.signWith(refreshKey);
-            return builder.compact();
+            keyRings.refreshRing().sign(builder);
+            // The exp claim is serialized with second precision; truncate so both values match exactly
+            Instant expiresAt = Instant.ofEpochSecond(TimeUnit.MILLISECONDS.toSeconds(expiry.getTime()));
+            return new IssuedRefreshToken(builder.compact(), expiresAt);
         } catch (Exception e) {
             throw new RuntimeException("Error generating refresh token: " + (e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName()), e);
         }
@@ -129,6 +172,26 @@ public class JwtTokenProvider {
         }
     }
 
+    /**
+     * Verifies the refresh token signature and extracts all claims in a single pass.
+     *
+     * @return verified claims, or {@code null} if the token is invalid or expired
+     */
+    public RefreshTokenClaims parseRefreshToken(String refreshToken) {
+        try {
+            Claims claims = parseRefreshClaims(refreshToken);
+            Date expiration = claims.getExpiration();
+            return new RefreshTokenClaims(
+                    claims.getSubject(),
+                    claims.getId(),
+                    claims.get(REFRESH_FAMILY_CLAIM, String.class),
+                    extractRememberDays(claims),
+                    expiration != null ? expiration.toInstant() : null);
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+
     public String getEmailFromRefresh(String refreshToken) {
         Claims claims = parseRefreshClaims(refreshToken);
         return claims.getSubject();
@@ -152,20 +215,23 @@ public class JwtTokenProvider {
 
     public Integer getRememberDaysFromRefresh(String refreshToken) {
         try {
-            Claims claims = parseRefreshClaims(refreshToken);
-            Object value = claims.get(REMEMBER_DAYS_CLAIM);
-            if (value instanceof Integer i) {
-                return i;
-            }
-            if (value instanceof Number n) {
-                return n.intValue();
-            }
-            return null;
+            return extractRememberDays(parseRefreshClaims(refreshToken));
         } catch (Exception ex) {
             return null;
         }
     }
 
+    private Integer extractRememberDays(Claims claims) {
+        Object value = claims.get(REMEMBER_DAYS_CLAIM);
+        if (value instanceof Integer i) {
+            return i;
+        }
+        if (value instanceof Number n) {
+            return n.intValue();
+        }
+        return null;
+    }
+
     public LocalDateTime getRefreshTokenExpirationTime(String refreshToken) {
         try {
             Claims claims = parseRefreshClaims(refreshToken);
@@ -203,13 +269,68 @@ public class JwtTokenProvider {
         }
     }
 
+    /**
+     * Verifies the access token signature and extracts all claims in a single pass.
+     *
+     * @return verified claims, or {@code null} if the token is invalid or expired
+     */
+    public AccessTokenClaims parseAccessToken(String accessToken) {
+        try {
+            HmacAccessTokenCodec codec = fastCodec();
+            if (codec != null) {
+                AccessTokenClaims claims = codec.decode(accessToken, System.currentTimeMillis());
+                if (claims != null) {
+                    return claims;
+                }
+            }
+            return toAccessTokenClaims(parseAccessClaims(accessToken));
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the access token claims already verified for this request, parsing the token only
+     * when no earlier consumer (e.g. {@link JwtAuthenticationFilter}) has done so.
+     */
+    public AccessTokenClaims resolveAccessToken(HttpServletRequest request, String accessToken) {
+        if (request.getAttribute(AccessTokenClaims.REQUEST_ATTRIBUTE) instanceof AccessTokenClaims claims) {
+            return claims;
+        }
+        AccessTokenClaims claims = parseAccessToken(accessToken);
+        if (claims != null) {
+            request.setAttribute(AccessTokenClaims.REQUEST_ATTRIBUTE, claims);
+        }
+        return claims;
+    }
+
     public String getEmailFromAccess(String accessToken) {
-        Claims claims = accessParser.parseSignedClaims(accessToken).getPayload();
-        return claims.getSubject();
+        return parseAccessClaims(accessToken).getSubject();
     }
 
     public Long getUserIdFromAccess(String accessToken) {
-        Claims claims = accessParser.parseSignedClaims(accessToken).getPayload();
+        return extractUserId(parseAccessClaims(accessToken));
+    }
+
+    public List<String> getRolesFromAccess(String accessToken) {
+        return extractRoles(parseAccessClaims(accessToken));
+    }
+
+    private Claims parseAccessClaims(String accessToken) {
+        return accessParser.parseSignedClaims(accessToken).getPayload();
+    }
+
+    private AccessTokenClaims toAccessTokenClaims(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return new AccessTokenClaims(
+                claims.getSubject(),
+                extractUserId(claims),
+                extractRoles(claims),
+                expiration != null ? expiration.toInstant() : null,
+                claims.get(TOKEN_EPOCH_CLAIM) instanceof Number epoch ? epoch.longValue() : 0L);
+    }
+
+    private Long extractUserId(Claims claims) {
         Object value = claims.get(USER_ID_CLAIM);
         if (value instanceof Number n) {
             return n.longValue();
@@ -224,10 +345,18 @@ public class JwtTokenProvider {
         return null;
     }
 
-    @SuppressWarnings("unchecked")
-    public List<String> getRolesFromAccess(String accessToken) {
-        Claims claims = accessParser.parseSignedClaims(accessToken).getPayload();
-        return claims.get(ROLES_CLAIM, List.class);
+    private List<String> extractRoles(Claims claims) {
+        Object value = claims.get(ROLES_CLAIM);
+        if (!(value instanceof List<?> list)) {
+            return List.of();
+        }
+        List<String> roles = new ArrayList<>(list.size());
+        for (Object role : list) {
+            if (role != null) {
+                roles.add(role.toString());
+            }
+        }
+        return roles;
     }
 
     private Claims parseRefreshClaims(String refreshToken) {
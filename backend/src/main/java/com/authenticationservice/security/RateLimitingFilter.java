@@ -2,6 +2,8 @@ package com.authenticationservice.security;
 
 import com.authenticationservice.constants.MessageConstants;
 import com.authenticationservice.service.RateLimitingService;
+import com.authenticationservice.util.ClientIpKey;
+import com.authenticationservice.util.ClientIpResolver;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.ConsumptionProbe;
 import jakarta.servlet.FilterChain;
@@ -51,10 +53,9 @@ public class RateLimitingFilter extends OncePerRequestFilter {
         }
 
         // Security: Extract real IP address considering proxies/load balancers
-        String ip = getClientIpAddress(request);
-        // Use different bucket keys for different paths to apply different rate limits
-        String bucketKey = isAdminPath ? "admin:" + ip : "auth:" + ip;
-        Bucket bucket = rateLimitingService.resolveBucket(bucketKey, isAdminPath);
+        ClientIpKey ip = ClientIpResolver.resolveKey(request);
+        // Admin and auth paths have separate buckets with different limits
+        Bucket bucket = rateLimitingService.resolveBucket(ip, isAdminPath);
         ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
 
         if (probe.isConsumed()) {
@@ -62,8 +63,8 @@ public class RateLimitingFilter extends OncePerRequestFilter {
             filterChain.doFilter(request, response);
         } else {
             long waitForRefill = probe.getNanosToWaitForRefill() / 1_000_000_000;
-            log.warn("Rate limit exceeded - IP: {}, Path: {}, Method: {}, Wait time: {}s, Bucket key: {}", 
-                    ip, path, request.getMethod(), waitForRefill, bucketKey);
+            log.warn("Rate limit exceeded - IP: {}, Path: {}, Method: {}, Wait time: {}s, Limit: {}",
+                    ip, path, request.getMethod(), waitForRefill, isAdminPath ? "admin" : "auth");
             response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
             response.setContentType("application/json");
             response.addHeader("X-Rate-Limit-Retry-After-Seconds", String.valueOf(waitForRefill));
@@ -79,24 +80,4 @@ public class RateLimitingFilter extends OncePerRequestFilter {
     private boolean shouldSkip(String path) {
         return SKIPPED_AUTH_PATH_PREFIXES.stream().anyMatch(path::startsWith);
     }
-
-    /**
-     * Extract client IP address from request, considering X-Forwarded-For header
-     * for requests behind proxies/load balancers
-     */
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty() && !"unknown".equalsIgnoreCase(xForwardedFor)) {
-            // X-Forwarded-For can contain multiple IPs, take the first one
-            String[] ips = xForwardedFor.split(",");
-            return ips[0].trim();
-        }
-        
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty() && !"unknown".equalsIgnoreCase(xRealIp)) {
-            return xRealIp.trim();
-        }
-        
-        return request.getRemoteAddr();
-    }
 }
@@ -0,0 +1,11 @@
+package com.authenticationservice.security;
+
+import java.time.Instant;
+
+/**
+ * Verified claims of a refresh token, produced once by {@link JwtTokenProvider#parseRefreshToken(String)}
+ * and passed through rotation instead of re-parsing the token for each claim.
+ */
+public record RefreshTokenClaims(String subject, String tokenId, String familyId, Integer rememberDays,
+                                 Instant expiresAt) {
+}
@@ -1,11 +1,14 @@
 package com.authenticationservice.security;
 
 import com.authenticationservice.config.RefreshCookieProperties;
+import com.authenticationservice.constants.SecurityConstants;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseCookie;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
@@ -19,7 +22,29 @@ public class RefreshTokenCookieService {
     }
 
     public ResponseCookie createRefreshTokenCookie(String refreshToken) {
-        long maxAgeSeconds = jwtTokenProvider.getRefreshTokenTtlSeconds(refreshToken);
+        return buildRefreshTokenCookie(refreshToken, jwtTokenProvider.getRefreshTokenTtlSeconds(refreshToken));
+    }
+
+    /**
+     * Builds the cookie from the expiry returned when the token was issued, without parsing the token.
+     */
+    public ResponseCookie createRefreshTokenCookie(String refreshToken, Instant expiresAt) {
+        if (expiresAt == null) {
+            return createRefreshTokenCookie(refreshToken);
+        }
+        return buildRefreshTokenCookie(refreshToken, Duration.between(Instant.now(), expiresAt).getSeconds());
+    }
+
+    /**
+     * Builds the cookie from a token response produced by {@code AuthService}.
+     */
+    public ResponseCookie createRefreshTokenCookie(Map<String, String> tokens) {
+        String expiresAt = tokens.get(SecurityConstants.REFRESH_TOKEN_EXPIRES_AT_KEY);
+        return createRefreshTokenCookie(tokens.get(SecurityConstants.REFRESH_TOKEN_KEY),
+                expiresAt != null ? Instant.ofEpochSecond(Long.parseLong(expiresAt)) : null);
+    }
+
+    private ResponseCookie buildRefreshTokenCookie(String refreshToken, long maxAgeSeconds) {
         ResponseCookie.ResponseCookieBuilder builder = ResponseCookie.from(properties.getName(), refreshToken)
                 .httpOnly(properties.isHttpOnly())
                 .secure(properties.isSecure())
@@ -0,0 +1,107 @@
+package com.authenticationservice.security;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.authenticationservice.config.AccessPolicyProperties;
+
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Decides whether verified access token claims grant access to a named resource.
+ * Shared by {@code /check-access/{resource}} and batch introspection so both apply the same rules.
+ * The resource table comes from {@code security.access-policy.resources} and, when
+ * {@code security.access-policy.file} is set, from a JSON policy file that is polled for changes;
+ * file entries override properties entries of the same name. Each load is compiled into a
+ * {@link CompiledAccessPolicy} and swapped in atomically.
+ */
+@Slf4j
+@Component
+public class ResourceAccessPolicy {
+
+    record PolicyFile(Map<String, List<String>> resources) {
+    }
+
+    private final AccessPolicyProperties properties;
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private volatile CompiledAccessPolicy policy;
+    private volatile FileTime policyFileModified;
+
+    public ResourceAccessPolicy(AccessPolicyProperties properties) {
+        this.properties = properties;
+        this.policy = CompiledAccessPolicy.compile(properties.getResources());
+        if (hasPolicyFile() && !reload()) {
+            throw new IllegalStateException("Unable to load access policy file: " + properties.getFile());
+        }
+    }
+
+    public boolean isAllowed(AccessTokenClaims claims, String resource) {
+        if (claims == null || resource == null) {
+            return false;
+        }
+        CompiledAccessPolicy current = policy;
+        return current.isAllowed(current.roleMask(claims.roles()), resource);
+    }
+
+    /**
+     * Current compiled policy. Callers evaluating several resources for one token should take a single
+     * snapshot so the role mask and resource masks come from the same policy version.
+     */
+    public CompiledAccessPolicy current() {
+        return policy;
+    }
+
+    @Scheduled(fixedDelayString = "${security.access-policy.reload-interval:30s}",
+            initialDelayString = "${security.access-policy.reload-interval:30s}")
+    public void reloadIfChanged() {
+        if (!hasPolicyFile()) {
+            return;
+        }
+        try {
+            FileTime modified = Files.getLastModifiedTime(Path.of(properties.getFile()));
+            if (!modified.equals(policyFileModified)) {
+                reload();
+            }
+        } catch (IOException e) {
+            log.error("Unable to check access policy file {}: {}", properties.getFile(), e.getMessage());
+        }
+    }
+
+    /**
+     * Re-reads the policy file. On any error the current policy stays in place.
+     *
+     * @return {@code true} if the file was loaded
+     */
+    public boolean reload() {
+        Path path = Path.of(properties.getFile());
+        try {
+            FileTime modified = Files.getLastModifiedTime(path);
+            PolicyFile file = jsonMapper.readValue(Files.readString(path), PolicyFile.class);
+            Map<String, List<String>> resources = new LinkedHashMap<>(properties.getResources());
+            if (file.resources() != null) {
+                resources.putAll(file.resources());
+            }
+            CompiledAccessPolicy compiled = CompiledAccessPolicy.compile(resources);
+            policy = compiled;
+            policyFileModified = modified;
+            log.info("Access policy loaded: resources={} roles={}", compiled.resourceCount(), compiled.roleCount());
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to load access policy file {}; keeping current policy: {}", path, e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean hasPolicyFile() {
+        return properties.getFile() != null && !properties.getFile().isBlank();
+    }
+}
@@ -0,0 +1,36 @@
+package com.authenticationservice.security;
+
+import com.authenticationservice.model.Role;
+import com.authenticationservice.model.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable view of the user state needed to authenticate a request.
+ * Authorities are built once when the snapshot is loaded and shared by all requests.
+ */
+public record UserAuthSnapshot(Long userId, String email, boolean enabled, boolean blocked, long tokenEpoch,
+                               List<GrantedAuthority> authorities) {
+
+    public UserAuthSnapshot {
+        authorities = authorities != null ? List.copyOf(authorities) : List.of();
+    }
+
+    public static UserAuthSnapshot from(User user) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        if (user.getRoles() != null) {
+            for (Role role : user.getRoles()) {
+                authorities.add(new SimpleGrantedAuthority(role.getName()));
+            }
+        }
+        return new UserAuthSnapshot(user.getId(), user.getEmail(), user.isEnabled(), user.isBlocked(),
+                user.getTokenEpoch(), authorities);
+    }
+
+    public boolean isActive() {
+        return enabled && !blocked;
+    }
+}
@@ -0,0 +1,105 @@
+package com.authenticationservice.security;
+
+import com.authenticationservice.config.UserAuthCacheProperties;
+import com.authenticationservice.model.User;
+import com.authenticationservice.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Size-bounded, in-memory cache of {@link UserAuthSnapshot} keyed by user id.
+ * Lets {@link JwtAuthenticationFilter} authenticate requests without a database round trip.
+ * <p>
+ * Every code path that changes a user's enabled/blocked state, roles or token epoch must call
+ * {@link #invalidate(Long)}. The TTL only bounds staleness for changes made by other nodes.
+ * <p>
+ * The snapshot doubles as the per-user token epoch registry: {@link #resolve(AccessTokenClaims)} rejects
+ * tokens issued under an older epoch with a primitive comparison, so revocation needs no per-request query.
+ */
+@Slf4j
+@Component
+public class UserAuthSnapshotCache {
+
+    private final UserRepository userRepository;
+    private final UserAuthCacheProperties properties;
+    private final Cache<Long, UserAuthSnapshot> cache;
+
+    public UserAuthSnapshotCache(UserRepository userRepository, UserAuthCacheProperties properties) {
+        this.userRepository = userRepository;
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, properties.getMaxSize()))
+                .expireAfterWrite(properties.getTtl())
+                .build();
+    }
+
+    /**
+     * Resolves the snapshot for the subject of a verified access token.
+     *
+     * @return snapshot, or {@code null} if the user no longer exists or the token subject or epoch is stale
+     */
+    public UserAuthSnapshot resolve(AccessTokenClaims claims) {
+        UserAuthSnapshot snapshot;
+        if (claims.userId() == null) {
+            // Tokens issued before the userId claim was added: fall back to a lookup by email
+            snapshot = userRepository.findByEmail(claims.subject()).map(UserAuthSnapshot::from).orElse(null);
+        } else {
+            snapshot = properties.isEnabled()
+                    ? cache.get(claims.userId(), this::load)
+                    : load(claims.userId());
+        }
+        if (snapshot == null || !snapshot.email().equalsIgnoreCase(claims.subject())
+                || claims.tokenEpoch() < snapshot.tokenEpoch()) {
+            return null;
+        }
+        return snapshot;
+    }
+
+    /**
+     * @return {@code true} if the token's user exists, is enabled and not blocked, and the token epoch is current
+     */
+    public boolean isCurrent(AccessTokenClaims claims) {
+        UserAuthSnapshot snapshot = resolve(claims);
+        return snapshot != null && snapshot.isActive();
+    }
+
+    /**
+     * Evicts the snapshot immediately and, when called inside a transaction, once more after commit,
+     * so a concurrent request cannot re-cache the state that was read before the change became visible.
+     */
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        cache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private UserAuthSnapshot load(Long userId) {
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null) {
+            log.debug("User {} referenced by access token no longer exists", userId);
+            return null;
+        }
+        return UserAuthSnapshot.from(user);
+    }
+}
@@ -0,0 +1,239 @@
+package com.authenticationservice.service;
+
+import com.authenticationservice.config.ConcurrencyLimitProperties;
+import com.authenticationservice.util.StructuredLogger;
+import com.github.benmanes.caffeine.cache.Ticker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adaptive cap on concurrent BCrypt-heavy requests (login, registration, password reset).
+ * <p>
+ * With virtual threads nothing bounds how many hashes run at once, so a burst saturates every core and slows
+ * down cheap endpoints as well. The limit follows a latency gradient: at the end of each sample window the
+ * window's average latency is compared with a slowly moving long-term average. Latency above
+ * {@code rtt-tolerance} times that baseline shrinks the limit in proportion, at most halving it; otherwise the
+ * limit grows by its square root. That gives AIMD behaviour without a hand-tuned latency target. Windows in
+ * which fewer than half of the permits were used say nothing about capacity and leave the limit alone.
+ * <p>
+ * Requests over the limit wait in a bounded queue for up to {@code max-wait}; the rest are shed.
+ * State is per node.
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int MIN_WINDOW_SAMPLES = 10;
+    private static final double LONG_RTT_WINDOWS = 100;
+    private static final double SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final ConcurrencyLimitProperties properties;
+    private final Ticker ticker;
+    private final long sampleWindowNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitReleased = lock.newCondition();
+    private final LongAdder rejected = new LongAdder();
+
+    // Guarded by lock
+    private double estimatedLimit;
+    private int limit;
+    private int inFlight;
+    private int queued;
+    private double longRttNanos;
+    private long windowStart;
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    @Autowired
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties) {
+        this(properties, Ticker.systemTicker());
+    }
+
+    AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties, Ticker ticker) {
+        this.properties = properties;
+        this.ticker = ticker;
+        this.sampleWindowNanos = properties.getSampleWindow().toNanos();
+        int initial = properties.getInitialLimit() > 0
+                ? properties.getInitialLimit()
+                : Runtime.getRuntime().availableProcessors();
+        this.estimatedLimit = clampLimit(initial);
+        this.limit = (int) estimatedLimit;
+        this.windowStart = ticker.read();
+    }
+
+    /**
+     * Point-in-time view of the limiter; {@code baselineLatencyMs} is the long-term average latency.
+     */
+    public record Stats(int limit, int inFlight, int queued, long rejected, double baselineLatencyMs) {
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Takes a permit, waiting in the queue if the limit is reached.
+     *
+     * @return the permit, or {@code null} if the queue is full or the wait timed out
+     */
+    public Permit tryAcquire() {
+        lock.lock();
+        try {
+            if (inFlight < limit) {
+                return grant();
+            }
+            if (queued >= properties.getMaxQueue()) {
+                rejected.increment();
+                return null;
+            }
+            queued++;
+            try {
+                long remaining = properties.getMaxWait().toNanos();
+                while (inFlight >= limit) {
+                    if (remaining <= 0) {
+                        rejected.increment();
+                        return null;
+                    }
+                    remaining = permitReleased.awaitNanos(remaining);
+                }
+                return grant();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                rejected.increment();
+                return null;
+            } finally {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long retryAfterSeconds() {
+        return Math.max(1, properties.getRetryAfter().toSeconds());
+    }
+
+    public Stats stats() {
+        lock.lock();
+        try {
+            return new Stats(limit, inFlight, queued, rejected.sum(), longRttNanos / 1_000_000);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.concurrency-limit.stats-log-interval:5m}",
+            initialDelayString = "${security.concurrency-limit.stats-log-interval:5m}")
+    public void logStats() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Stats stats = stats();
+        StructuredLogger.logInfo(log, "Concurrency limiter stats",
+                "limit=" + stats.limit(),
+                "inFlight=" + stats.inFlight(),
+                "queued=" + stats.queued(),
+                "rejected=" + stats.rejected(),
+                "baselineLatencyMs=" + Math.round(stats.baselineLatencyMs()));
+    }
+
+    private Permit grant() {
+        inFlight++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+        return new Permit(ticker.read());
+    }
+
+    private void onRelease(long rttNanos) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (rttNanos >= 0) {
+                addSample(rttNanos);
+            }
+            int free = Math.min(queued, limit - inFlight);
+            for (int i = 0; i < free; i++) {
+                permitReleased.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void addSample(long rttNanos) {
+        windowRttSum += rttNanos;
+        windowSamples++;
+        long now = ticker.read();
+        if (windowSamples < MIN_WINDOW_SAMPLES || now - windowStart < sampleWindowNanos) {
+            return;
+        }
+        adjustLimit((double) windowRttSum / windowSamples, windowMaxInFlight);
+        windowStart = now;
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = inFlight;
+    }
+
+    private void adjustLimit(double shortRttNanos, int maxInFlight) {
+        longRttNanos = longRttNanos == 0
+                ? shortRttNanos
+                : longRttNanos + (shortRttNanos - longRttNanos) / LONG_RTT_WINDOWS;
+        // After an overload the baseline lags far behind; let it come back down faster
+        if (longRttNanos > 2 * shortRttNanos) {
+            longRttNanos *= 0.95;
+        }
+        if (maxInFlight < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.clamp(properties.getRttTolerance() * longRttNanos / shortRttNanos, MIN_GRADIENT, 1.0);
+        double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = clampLimit(estimatedLimit * (1 - SMOOTHING) + target * SMOOTHING);
+        limit = (int) estimatedLimit;
+    }
+
+    private double clampLimit(double value) {
+        int min = Math.max(1, properties.getMinLimit());
+        return Math.clamp(value, min, Math.max(min, properties.getMaxLimit()));
+    }
+
+    /**
+     * One admitted request. Released once by the request thread; later calls are ignored.
+     */
+    public final class Permit {
+        private final long startNanos;
+        private boolean released;
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Frees the permit and feeds the request's latency into the limit.
+         */
+        public void release() {
+            release(true);
+        }
+
+        /**
+         * Frees the permit without a latency sample, for requests that did not do the expensive work.
+         */
+        public void releaseWithoutSample() {
+            release(false);
+        }
+
+        private void release(boolean sample) {
+            if (released) {
+                return;
+            }
+            released = true;
+            onRelease(sample ? Math.max(0, ticker.read() - startNanos) : -1);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.core.Authentication;
@@ -43,6 +44,7 @@ import com.authenticationservice.repository.AllowedEmailRepository;
 import com.authenticationservice.repository.BlockedEmailRepository;
 import com.authenticationservice.repository.RoleRepository;
 import com.authenticationservice.repository.UserRepository;
+import com.authenticationservice.security.UserAuthSnapshotCache;
 import com.authenticationservice.util.EmailTemplateFactory;
 import com.authenticationservice.util.EmailUtils;
 import com.authenticationservice.util.LoggingSanitizer;
@@ -72,6 +74,7 @@ public class AdminService {
     private final MessageSource messageSource;
     private final EmailTemplateFactory emailTemplateFactory;
     private final RefreshTokenRotationService refreshTokenRotationService;
+    private final UserAuthSnapshotCache userAuthSnapshotCache;
 
     @Value("${frontend.url}")
     private String frontendUrl;
@@ -142,9 +145,13 @@ public class AdminService {
         boolean userBlocked = false;
         if (userRepository.findByEmail(normalizedEmail).isPresent()) {
             User existingUser = userRepository.findByEmail(normalizedEmail).orElseThrow();
+            if (!existingUser.isBlocked()) {
+                existingUser.bumpTokenEpoch();
+            }
             existingUser.setBlocked(true);
             existingUser.setBlockReason(normalizedReason.isEmpty() ? "Email is blacklisted" : normalizedReason);
             userRepository.save(existingUser);
+            userAuthSnapshotCache.invalidate(existingUser.getId());
             userBlocked = true;
             log.info("Existing user {} marked as blocked due to blacklist", maskEmail(normalizedEmail));
         }
@@ -303,6 +310,7 @@ public class AdminService {
         if (request.getIsBlocked() != null) {
             if (Boolean.TRUE.equals(request.getIsBlocked()) && !user.isBlocked()) {
                 user.setBlockedAt(LocalDateTime.now());
+                user.bumpTokenEpoch();
                 user.setBlockReason(request.getBlockReason());
                 log.info("User {} blocked. Reason: {}", maskEmail(user.getEmail()), request.getBlockReason());
             } else if (Boolean.FALSE.equals(request.getIsBlocked()) && user.isBlocked()) {
@@ -321,6 +329,7 @@ public class AdminService {
         // Use the dedicated roles endpoint to change roles.
 
         User saved = userRepository.save(user);
+        userAuthSnapshotCache.invalidate(saved.getId());
         if (blockingUser) {
             refreshTokenRotationService.revokeForAccountBlocked(user.getId());
         }
@@ -333,6 +342,7 @@ public class AdminService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
         log.warn("Deleting user: {}", maskEmail(user.getEmail()));
         userRepository.deleteById(id);
+        userAuthSnapshotCache.invalidate(id);
     }
 
     @Transactional(readOnly = true)
@@ -384,8 +394,16 @@ public class AdminService {
             throw new RuntimeException("Admin cannot remove their own admin role");
         }
 
+        Set<String> currentRoleNames = user.getRoles().stream().map(Role::getName).collect(Collectors.toSet());
+        Set<String> newRoleNames = newRoles.stream().map(Role::getName).collect(Collectors.toSet());
+        if (!currentRoleNames.equals(newRoleNames)) {
+            // Access tokens carry roles; revoke the ones issued with the old set
+            user.bumpTokenEpoch();
+        }
         user.setRoles(newRoles);
-        return UserDTO.fromUser(userRepository.save(user));
+        User saved = userRepository.save(user);
+        userAuthSnapshotCache.invalidate(saved.getId());
+        return UserDTO.fromUser(saved);
     }
 
     @Transactional(readOnly = true)
@@ -9,6 +9,7 @@ import com.authenticationservice.dto.VerificationRequest;
 import com.authenticationservice.exception.AccountBlockedException;
 import com.authenticationservice.exception.AccountLockedException;
 import com.authenticationservice.exception.InvalidCredentialsException;
+import com.authenticationservice.exception.InvalidRefreshTokenException;
 import com.authenticationservice.exception.InvalidVerificationCodeException;
 import com.authenticationservice.exception.RegistrationForbiddenException;
 import com.authenticationservice.exception.TooManyRequestsException;
@@ -17,7 +18,10 @@ import com.authenticationservice.model.Role;
 import com.authenticationservice.model.User;
 import com.authenticationservice.repository.RoleRepository;
 import com.authenticationservice.repository.UserRepository;
+import com.authenticationservice.security.IssuedRefreshToken;
 import com.authenticationservice.security.JwtTokenProvider;
+import com.authenticationservice.security.RefreshTokenClaims;
+import com.authenticationservice.security.UserAuthSnapshotCache;
 import com.authenticationservice.util.EmailTemplateFactory;
 import com.authenticationservice.util.EmailUtils;
 import com.authenticationservice.util.LoggingSanitizer;
@@ -58,6 +62,11 @@ public class AuthService {
     private final RateLimitingService rateLimitingService;
     private final EmailTemplateFactory emailTemplateFactory;
     private final RefreshTokenRotationService refreshTokenRotationService;
+    private final RefreshTokenSingleFlight refreshTokenSingleFlight;
+    private final UserAuthSnapshotCache userAuthSnapshotCache;
+    private final SessionTimestampWriteBehind sessionTimestampWriteBehind;
+    private final RevokedFamilyCache revokedFamilyCache;
+    private final LoginThrottle loginThrottle;
 
     @Value("${frontend.url}")
     private String frontendUrl;
@@ -142,15 +151,27 @@ public class AuthService {
 
     @Transactional
     public Map<String, String> login(LoginRequest request) {
+        return login(request, null, null);
+    }
+
+    /**
+     * Logs in and starts a new session; {@code ipAddress} and {@code userAgent} are stored on it for the session list.
+     */
+    @Transactional
+    public Map<String, String> login(LoginRequest request, String ipAddress, String userAgent) {
         long startTime = System.currentTimeMillis();
         String normalizedEmail = EmailUtils.normalize(request.getEmail());
         request.setEmail(normalizedEmail);
         log.debug("Login attempt for email: {}", maskEmail(normalizedEmail));
 
         try {
+            // Before the lookup and BCrypt, so bursts against one account cost neither
+            loginThrottle.checkAllowed(normalizedEmail, ipAddress);
+
             User user = userRepository.findByEmail(normalizedEmail)
                     .orElseThrow(() -> {
                         log.error("User not found for email: {}", maskEmail(normalizedEmail));
+                        loginThrottle.recordFailure(normalizedEmail, ipAddress);
                         return new InvalidCredentialsException();
                     });
             log.debug("User found: {}", maskEmail(user.getEmail()));
@@ -163,22 +184,27 @@ public class AuthService {
             // Check disabled account before any other validation
             if (!user.isEnabled()) {
                 log.error("Account is disabled for email: {}", maskEmail(normalizedEmail));
+                loginThrottle.recordFailure(normalizedEmail, ipAddress);
                 throw new RuntimeException("Account is disabled");
             }
 
+            // Rejections before BCrypt still count, so a burst against a locked account is throttled
             if (user.getLockTime() != null && user.getLockTime().isAfter(LocalDateTime.now())) {
                 log.error("Account is temporarily locked for email: {}", maskEmail(normalizedEmail));
+                loginThrottle.recordFailure(normalizedEmail, ipAddress);
                 long seconds = java.time.Duration.between(LocalDateTime.now(), user.getLockTime()).getSeconds();
                 throw new AccountLockedException(seconds);
             }
 
             if (user.isBlocked()) {
                 log.error("Account is blocked for email: {}", maskEmail(normalizedEmail));
+                loginThrottle.recordFailure(normalizedEmail, ipAddress);
                 throw new AccountBlockedException(user.getBlockReason());
             }
 
             boolean passwordMatches = passwordEncoder.matches(request.getPassword(), user.getPassword());
             if (!passwordMatches) {
+                loginThrottle.recordFailure(normalizedEmail, ipAddress);
                 // Use separate service with REQUIRES_NEW transaction to ensure counter is saved
                 loginAttemptService.handleFailedLogin(user, frontendUrl);
 
@@ -198,14 +224,22 @@ public class AuthService {
             }
 
             log.debug("All validations passed for email: {}", maskEmail(normalizedEmail));
-            user.resetFailedLoginAttempts();
-            user.setLockTime(null);
-            userRepository.save(user);
+            loginThrottle.recordSuccess(normalizedEmail, ipAddress);
+            if (user.getFailedLoginAttempts() != 0 || user.getLockTime() != null) {
+                // Lockout state is security-relevant: clear it in this transaction
+                user.resetFailedLoginAttempts();
+                user.setLockTime(null);
+                userRepository.save(user);
+            } else {
+                // Only last_login_at would change; leave the managed entity clean and write it behind
+                sessionTimestampWriteBehind.recordLogin(user.getId(), LocalDateTime.now());
+            }
 
             try {
                 String accessToken = jwtTokenProvider.generateAccessToken(user);
                 Integer rememberDays = resolveRememberDays(request.getRememberDevice(), request.getRememberDays());
-                String refreshToken = refreshTokenRotationService.issueRefreshToken(user, rememberDays, null, null);
+                IssuedRefreshToken refreshToken = refreshTokenRotationService.issueRefreshToken(user, rememberDays,
+                        ipAddress, userAgent);
 
                 return buildTokenResponse(accessToken, refreshToken);
             } catch (Exception e) {
@@ -223,10 +257,19 @@ public class AuthService {
     }
 
     public Map<String, String> refresh(String refreshToken) {
-        if (!jwtTokenProvider.validateRefreshToken(refreshToken)) {
+        return refresh(refreshToken, null, null);
+    }
+
+    public Map<String, String> refresh(String refreshToken, String ipAddress, String userAgent) {
+        RefreshTokenClaims claims = jwtTokenProvider.parseRefreshToken(refreshToken);
+        if (claims == null) {
             throw new RuntimeException(MessageConstants.INVALID_REFRESH_TOKEN);
         }
-        String email = EmailUtils.normalize(jwtTokenProvider.getEmailFromRefresh(refreshToken));
+        if (revokedFamilyCache.isRevoked(claims.familyId())) {
+            log.debug("Refresh rejected from revoked family cache");
+            throw new InvalidRefreshTokenException();
+        }
+        String email = EmailUtils.normalize(claims.subject());
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException(SecurityConstants.USER_NOT_FOUND_ERROR));
 
@@ -246,7 +289,8 @@ public class AuthService {
 
         String newAccessToken = jwtTokenProvider.generateAccessToken(user);
 
-        String newRefreshToken = refreshTokenRotationService.rotateRefreshToken(refreshToken, user, null, null);
+        IssuedRefreshToken newRefreshToken = refreshTokenSingleFlight.rotate(claims,
+                () -> refreshTokenRotationService.rotateRefreshToken(claims, user, ipAddress, userAgent));
 
         return buildTokenResponse(newAccessToken, newRefreshToken);
     }
@@ -359,7 +403,9 @@ public class AuthService {
         user.setPassword(passwordEncoder.encode(newPassword));
         user.setResetPasswordToken(null);
         user.setResetPasswordTokenExpiry(null);
+        user.bumpTokenEpoch();
         userRepository.save(user);
+        userAuthSnapshotCache.invalidate(user.getId());
         refreshTokenRotationService.revokeForPasswordChange(user.getId());
     }
 
@@ -398,6 +444,11 @@ public class AuthService {
 
     @Transactional
     public Map<String, String> handleOAuth2Login(String email, String name) {
+        return handleOAuth2Login(email, name, null, null);
+    }
+
+    @Transactional
+    public Map<String, String> handleOAuth2Login(String email, String name, String ipAddress, String userAgent) {
         String normalizedEmail = EmailUtils.normalize(email);
         log.debug("Handling OAuth2 login for email: {}, name: {}", maskEmail(normalizedEmail), name);
 
@@ -452,7 +503,7 @@ public class AuthService {
         }
 
         String accessToken = jwtTokenProvider.generateAccessToken(user);
-        String refreshToken = refreshTokenRotationService.issueRefreshToken(user, null, null, null);
+        IssuedRefreshToken refreshToken = refreshTokenRotationService.issueRefreshToken(user, null, ipAddress, userAgent);
 
         log.debug("Generated tokens for OAuth2 user: {}", maskEmail(normalizedEmail));
         return buildTokenResponse(accessToken, refreshToken);
@@ -463,10 +514,11 @@ public class AuthService {
         return messageSource.getMessage(resolvedKey, null, LocaleContextHolder.getLocale());
     }
 
-    private Map<String, String> buildTokenResponse(String accessToken, String refreshToken) {
+    private Map<String, String> buildTokenResponse(String accessToken, IssuedRefreshToken refreshToken) {
         Map<String, String> tokens = new HashMap<>();
         tokens.put(SecurityConstants.ACCESS_TOKEN_KEY, accessToken);
-        tokens.put(SecurityConstants.REFRESH_TOKEN_KEY, refreshToken);
+        tokens.put(SecurityConstants.REFRESH_TOKEN_KEY, refreshToken.token());
+        tokens.put(SecurityConstants.REFRESH_TOKEN_EXPIRES_AT_KEY, String.valueOf(refreshToken.expiresAt().getEpochSecond()));
         return tokens;
     }
 }
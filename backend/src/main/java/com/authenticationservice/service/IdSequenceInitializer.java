@@ -0,0 +1,86 @@
+package com.authenticationservice.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+/**
+ * Prepares the pooled id sequences of entities that used to rely on {@code IDENTITY} columns.
+ * <p>
+ * Runs before the JPA {@code EntityManagerFactory} (see {@code SchemaInitializationConfig}): each sequence is
+ * created the way Hibernate would create it and, if its table already holds rows, moved past the highest id,
+ * so the first pooled block Hibernate hands out cannot collide with ids the identity column generated.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdSequenceInitializer {
+
+    /**
+     * Must match {@code allocationSize} of the entities' {@code @SequenceGenerator}s.
+     */
+    static final int ALLOCATION_SIZE = 50;
+
+    /**
+     * Sequence name by table name.
+     */
+    static final Map<String, String> SEQUENCES = Map.of(
+            "users", "users_seq",
+            "refresh_tokens", "refresh_tokens_seq",
+            "access_list_change_log", "access_list_change_log_seq",
+            "access_mode_change_log", "access_mode_change_log_seq");
+
+    private static final String TABLE_EXISTS_SQL = "SELECT to_regclass(?) IS NOT NULL";
+
+    private final DataSource dataSource;
+
+    @PostConstruct
+    public void initialize() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+            for (Map.Entry<String, String> entry : SEQUENCES.entrySet()) {
+                prepare(connection, entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private void prepare(Connection connection, String table, String sequence) throws SQLException {
+        if (!exists(connection, table)) {
+            // Fresh schema: Hibernate creates the table and the sequence itself
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence
+                    + " START WITH 1 INCREMENT BY " + ALLOCATION_SIZE);
+            // The pooled optimizer treats the sequence value as the top of the next block, so a sequence at the
+            // current max id yields ids starting right after it
+            try (ResultSet resultSet = statement.executeQuery(
+                    "SELECT setval('" + sequence + "', x.max_id) FROM (SELECT MAX(id) AS max_id FROM " + table + ") x, "
+                            + sequence + " s WHERE x.max_id IS NOT NULL AND (NOT s.is_called OR x.max_id > s.last_value)")) {
+                if (resultSet.next()) {
+                    log.info("Advanced {} past existing {} ids (max id {})", sequence, table, resultSet.getLong(1));
+                }
+            }
+        }
+    }
+
+    private boolean exists(Connection connection, String table) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(TABLE_EXISTS_SQL)) {
+            statement.setString(1, table);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.authenticationservice.service;
 import com.authenticationservice.constants.EmailConstants;
 import com.authenticationservice.model.User;
 import com.authenticationservice.repository.UserRepository;
+import com.authenticationservice.security.UserAuthSnapshotCache;
 import com.authenticationservice.util.EmailTemplateFactory;
 import com.authenticationservice.util.LoggingSanitizer;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +22,7 @@ public class LoginAttemptService {
     private final UserRepository userRepository;
     private final EmailService emailService;
     private final EmailTemplateFactory emailTemplateFactory;
+    private final UserAuthSnapshotCache userAuthSnapshotCache;
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void handleFailedLogin(User user, String frontendUrl) {
@@ -63,6 +65,9 @@ public class LoginAttemptService {
         }
 
         userRepository.save(dbUser);
+        if (dbUser.isBlocked()) {
+            userAuthSnapshotCache.invalidate(dbUser.getId());
+        }
 
         if (currentAttempts == 10 && dbUser.isBlocked()) {
             // Send email about full block asynchronously (don't block the response)
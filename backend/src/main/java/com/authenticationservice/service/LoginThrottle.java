@@ -0,0 +1,151 @@
+package com.authenticationservice.service;
+
+import com.authenticationservice.config.LoginThrottleProperties;
+import com.authenticationservice.constants.MessageConstants;
+import com.authenticationservice.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory throttle for failed logins, keyed by normalized email and by (email, client IP).
+ * <p>
+ * Consulted before the user lookup and BCrypt, so a credential-stuffing burst against one account is rejected
+ * without touching the database. Each key keeps a sliding-window counter: the previous fixed window's count,
+ * weighted by how much of it still overlaps the sliding window, plus the current window's count. The per-pair
+ * limit stops one client early; the higher per-account limit catches attacks spread over many addresses.
+ * Attempts rejected by the persistent lockout or a block count as failures too, so a burst against a locked
+ * account is cut off here instead of reading the user row every time.
+ * <p>
+ * An address the account has recently logged in from successfully is exempt from the per-account limit (never
+ * from its own per-pair limit), so an attack spread over other addresses does not throttle the owner's address.
+ * <p>
+ * State is per node and complements, rather than replaces, the persistent lockout in {@link LoginAttemptService}.
+ */
+@Component
+public class LoginThrottle {
+
+    private final LoginThrottleProperties properties;
+    private final Ticker ticker;
+    private final long windowNanos;
+    private final Cache<Object, SlidingWindowCounter> counters;
+    private final Cache<AccountAddress, Boolean> knownAddresses;
+
+    @Autowired
+    public LoginThrottle(LoginThrottleProperties properties) {
+        this(properties, Ticker.systemTicker());
+    }
+
+    LoginThrottle(LoginThrottleProperties properties, Ticker ticker) {
+        this.properties = properties;
+        this.ticker = ticker;
+        this.windowNanos = Math.max(1, properties.getWindow().toNanos());
+        this.counters = Caffeine.newBuilder()
+                .ticker(ticker)
+                .maximumSize(Math.max(1, properties.getMaxKeys()))
+                // After two windows without failures a counter reads zero anyway
+                .expireAfterAccess(properties.getWindow().multipliedBy(2))
+                .build();
+        this.knownAddresses = Caffeine.newBuilder()
+                .ticker(ticker)
+                .maximumSize(Math.max(1, properties.getMaxKeys()))
+                .expireAfterWrite(properties.getKnownAddressTtl())
+                .build();
+    }
+
+    /**
+     * @throws TooManyRequestsException if the account, or the account from this address, has too many recent failures
+     */
+    public void checkAllowed(String email, String ipAddress) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = ticker.read();
+        AccountAddress accountAddress = ipAddress != null ? new AccountAddress(email, ipAddress) : null;
+        if (accountAddress == null || knownAddresses.getIfPresent(accountAddress) == null) {
+            check(counters.getIfPresent(email), properties.getMaxFailuresPerAccount(), now);
+        }
+        if (accountAddress != null) {
+            check(counters.getIfPresent(accountAddress), properties.getMaxFailuresPerAccountAndIp(), now);
+        }
+    }
+
+    public void recordFailure(String email, String ipAddress) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = ticker.read();
+        counters.get(email, key -> new SlidingWindowCounter(windowNanos, now)).increment(now);
+        if (ipAddress != null) {
+            counters.get(new AccountAddress(email, ipAddress), key -> new SlidingWindowCounter(windowNanos, now))
+                    .increment(now);
+        }
+    }
+
+    /**
+     * Clears the failures of this client against the account and remembers the address as known for the account;
+     * the per-account count is left to age out.
+     */
+    public void recordSuccess(String email, String ipAddress) {
+        if (!properties.isEnabled() || ipAddress == null) {
+            return;
+        }
+        AccountAddress accountAddress = new AccountAddress(email, ipAddress);
+        counters.invalidate(accountAddress);
+        knownAddresses.put(accountAddress, Boolean.TRUE);
+    }
+
+    private void check(SlidingWindowCounter counter, int limit, long now) {
+        if (counter == null || limit <= 0) {
+            return;
+        }
+        if (counter.estimate(now) >= limit) {
+            long retryAfterSeconds = Math.max(1, counter.nanosUntilWindowEnd(now) / 1_000_000_000);
+            throw new TooManyRequestsException(MessageConstants.LOGIN_RATE_LIMIT_EXCEEDED, retryAfterSeconds);
+        }
+    }
+
+    private record AccountAddress(String email, String ipAddress) {
+    }
+
+    static final class SlidingWindowCounter {
+
+        private final long windowNanos;
+        private long windowStart;
+        private int current;
+        private int previous;
+
+        SlidingWindowCounter(long windowNanos, long now) {
+            this.windowNanos = windowNanos;
+            this.windowStart = now;
+        }
+
+        synchronized void increment(long now) {
+            roll(now);
+            current++;
+        }
+
+        synchronized double estimate(long now) {
+            roll(now);
+            double previousWeight = 1.0 - (double) (now - windowStart) / windowNanos;
+            return previous * previousWeight + current;
+        }
+
+        synchronized long nanosUntilWindowEnd(long now) {
+            roll(now);
+            return windowStart + windowNanos - now;
+        }
+
+        private void roll(long now) {
+            long elapsedWindows = (now - windowStart) / windowNanos;
+            if (elapsedWindows <= 0) {
+                return;
+            }
+            previous = elapsedWindows == 1 ? current : 0;
+            current = 0;
+            windowStart += elapsedWindows * windowNanos;
+        }
+    }
+}
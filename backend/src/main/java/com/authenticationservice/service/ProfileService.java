@@ -11,6 +11,7 @@ import com.authenticationservice.dto.ProfileUpdateRequest;
 import com.authenticationservice.model.Role;
 import com.authenticationservice.model.User;
 import com.authenticationservice.repository.UserRepository;
+import com.authenticationservice.security.UserAuthSnapshotCache;
 import com.authenticationservice.util.LoggingSanitizer;
 
 @Slf4j
@@ -21,6 +22,7 @@ public class ProfileService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final RefreshTokenRotationService refreshTokenRotationService;
+    private final UserAuthSnapshotCache userAuthSnapshotCache;
 
     @Transactional(readOnly = true)
     public ProfileResponse getProfile(String email) {
@@ -58,6 +60,7 @@ public class ProfileService {
                 throw new RuntimeException("Incorrect current password");
             }
             user.setPassword(passwordEncoder.encode(request.getPassword()));
+            user.bumpTokenEpoch();
             passwordUpdated = true;
         }
 
@@ -67,6 +70,7 @@ public class ProfileService {
         }
         userRepository.save(user);
         if (passwordUpdated) {
+            userAuthSnapshotCache.invalidate(user.getId());
             refreshTokenRotationService.revokeForPasswordChange(user.getId());
         }
         log.debug("Profile updated successfully for email: {}", maskEmail(email));
@@ -0,0 +1,161 @@
+package com.authenticationservice.service;
+
+import com.authenticationservice.config.RateLimitConfig;
+import com.authenticationservice.util.StructuredLogger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Owns the {@code rate_limit_buckets} table behind {@code rate-limit.store=postgres}.
+ * <p>
+ * Bucket state is an opaque Bucket4j blob, so a trigger stamps {@code updated_at} on every write.
+ * {@link #purgeIdle()} deletes buckets untouched for longer than a refill period: they are full again and
+ * indistinguishable from a missing row, which keeps the table at the size of the currently active key set.
+ * The purge scans the table instead of indexing {@code updated_at}, so bucket writes stay HOT updates.
+ * A session-level advisory lock makes sure only one node purges at a time; the others skip the run.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "rate-limit.store", havingValue = "postgres")
+public class RateLimitBucketTableService {
+
+    public static final String TABLE = "rate_limit_buckets";
+    public static final String ID_COLUMN = "id";
+    public static final String STATE_COLUMN = "state";
+
+    /**
+     * Advisory lock key serializing table setup across nodes starting at once.
+     */
+    static final long SETUP_LOCK_KEY = 0x726c6275636b6574L;
+
+    /**
+     * Advisory lock key held by the node currently purging idle buckets.
+     */
+    public static final long PURGE_LOCK_KEY = 0x726c627075726765L;
+
+    private static final String TRY_LOCK_SQL = "SELECT pg_try_advisory_lock(?)";
+    private static final String UNLOCK_SQL = "SELECT pg_advisory_unlock(?)";
+
+    private static final int PURGE_BATCH_SIZE = 10_000;
+
+    private static final String CREATE_TABLE_SQL = """
+            CREATE TABLE IF NOT EXISTS rate_limit_buckets (
+                id varchar(512) PRIMARY KEY,
+                state bytea,
+                updated_at timestamptz NOT NULL DEFAULT now()
+            )
+            """;
+
+    private static final String CREATE_TOUCH_FUNCTION_SQL = """
+            CREATE OR REPLACE FUNCTION rate_limit_buckets_touch() RETURNS trigger AS $$
+            BEGIN
+                NEW.updated_at := now();
+                RETURN NEW;
+            END
+            $$ LANGUAGE plpgsql
+            """;
+
+    private static final String CREATE_TOUCH_TRIGGER_SQL = """
+            CREATE OR REPLACE TRIGGER rate_limit_buckets_touch
+            BEFORE UPDATE ON rate_limit_buckets
+            FOR EACH ROW EXECUTE FUNCTION rate_limit_buckets_touch()
+            """;
+
+    private static final String DELETE_IDLE_SQL = """
+            DELETE FROM rate_limit_buckets
+            WHERE id IN (
+                SELECT id FROM rate_limit_buckets
+                WHERE updated_at < now() - make_interval(secs => ?)
+                LIMIT ?)
+            """;
+
+    private final DataSource dataSource;
+    private final RateLimitConfig rateLimitConfig;
+
+    public void initialize() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SELECT pg_advisory_xact_lock(" + SETUP_LOCK_KEY + ")");
+                statement.execute(CREATE_TABLE_SQL);
+                statement.execute(CREATE_TOUCH_FUNCTION_SQL);
+                statement.execute(CREATE_TOUCH_TRIGGER_SQL);
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.bucket-cleanup-interval:10m}",
+            initialDelayString = "${rate-limit.bucket-cleanup-interval:10m}")
+    public void purgeScheduled() {
+        try {
+            purgeIdle();
+        } catch (SQLException e) {
+            StructuredLogger.logError(log, "Rate limit bucket purge failed", e);
+        }
+    }
+
+    /**
+     * @return number of buckets deleted; {@code 0} if another node holds the purge lock
+     */
+    public long purgeIdle() throws SQLException {
+        long deleted = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            if (!tryLock(connection)) {
+                log.debug("Rate limit bucket purge skipped: another node holds the purge lock");
+                return 0;
+            }
+            try (PreparedStatement statement = connection.prepareStatement(DELETE_IDLE_SQL)) {
+                int batch;
+                do {
+                    statement.setLong(1, RateLimitingService.REFILL_PERIOD.toSeconds());
+                    statement.setInt(2, PURGE_BATCH_SIZE);
+                    batch = statement.executeUpdate();
+                    deleted += batch;
+                } while (batch == PURGE_BATCH_SIZE);
+            } finally {
+                unlock(connection);
+            }
+        }
+        if (deleted > 0) {
+            StructuredLogger.logInfo(log, "Purged idle rate limit buckets", "deleted=" + deleted);
+        }
+        return deleted;
+    }
+
+    private boolean tryLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(TRY_LOCK_SQL)) {
+            statement.setLong(1, PURGE_LOCK_KEY);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private void unlock(Connection connection) {
+        try (PreparedStatement statement = connection.prepareStatement(UNLOCK_SQL)) {
+            statement.setLong(1, PURGE_LOCK_KEY);
+            statement.executeQuery().close();
+        } catch (SQLException e) {
+            StructuredLogger.logWarn(log, "Failed to release rate limit bucket purge lock", "error=" + e.getMessage());
+        }
+    }
+}
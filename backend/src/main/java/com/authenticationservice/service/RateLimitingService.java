@@ -1,22 +1,100 @@
 package com.authenticationservice.service;
 
 import com.authenticationservice.config.RateLimitConfig;
+import com.authenticationservice.util.ClientIpKey;
+import com.authenticationservice.util.StructuredLogger;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.github.benmanes.caffeine.cache.Ticker;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
-import lombok.RequiredArgsConstructor;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.distributed.proxy.RemoteBucketBuilder;
+import io.github.bucket4j.distributed.proxy.optimization.DelayParameters;
+import io.github.bucket4j.distributed.proxy.optimization.Optimizations;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
+/**
+ * In-memory Bucket4j buckets keyed by client IP or email.
+ * <p>
+ * Buckets live in a size-bounded Caffeine cache (W-TinyLFU) so a flood of distinct keys cannot grow the heap
+ * without limit. A bucket untouched for a whole refill period is full again and indistinguishable from a new one,
+ * so it expires after that idle time at no cost to accuracy. Only size evictions can forget a partly drained
+ * bucket; they are counted separately as the sign that {@code rate-limit.max-buckets} is too small for the load.
+ * <p>
+ * With {@code rate-limit.store=postgres} the cached objects are proxies to buckets shared by all nodes
+ * (see {@code RateLimitStoreConfig}). Auth and admin buckets consume locally and synchronize after
+ * {@code max-unsynchronized-tokens} tokens or {@code max-unsynchronized-time}, so most requests cost no round trip
+ * and the cluster can overshoot a limit by at most that many tokens per node; setting either to zero
+ * synchronizes every call. Resend buckets hold a single token per minute, where any local allowance would
+ * defeat the limit, so they always go to the database.
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class RateLimitingService {
 
+    static final Duration REFILL_PERIOD = Duration.ofMinutes(1);
+
     private final RateLimitConfig rateLimitConfig;
-    private final Map<String, Bucket> cache = new ConcurrentHashMap<>();
+    private final ProxyManager<String> proxyManager;
+    private final Cache<String, Bucket> cache;
+    private final Cache<ClientIpKey, Bucket> authBuckets;
+    private final Cache<ClientIpKey, Bucket> adminBuckets;
+    // Created once: a capturing lambda per lookup would be garbage on every request
+    private final Function<ClientIpKey, Bucket> newAuthBucket = ip -> newBucket("auth:" + ip, RateLimitType.AUTH);
+    private final Function<ClientIpKey, Bucket> newAdminBucket = ip -> newBucket("admin:" + ip, RateLimitType.ADMIN);
+    private final LongAdder sizeEvictions = new LongAdder();
+    private final LongAdder idleExpirations = new LongAdder();
+
+    @Autowired
+    public RateLimitingService(RateLimitConfig rateLimitConfig, ObjectProvider<ProxyManager<String>> proxyManager) {
+        this(rateLimitConfig, proxyManager.getIfAvailable(), Ticker.systemTicker());
+    }
+
+    public RateLimitingService(RateLimitConfig rateLimitConfig) {
+        this(rateLimitConfig, null, Ticker.systemTicker());
+    }
+
+    public RateLimitingService(RateLimitConfig rateLimitConfig, ProxyManager<String> proxyManager) {
+        this(rateLimitConfig, proxyManager, Ticker.systemTicker());
+    }
+
+    RateLimitingService(RateLimitConfig rateLimitConfig, ProxyManager<String> proxyManager, Ticker ticker) {
+        this.rateLimitConfig = rateLimitConfig;
+        this.proxyManager = proxyManager;
+        this.cache = newCache(ticker);
+        this.authBuckets = newCache(ticker);
+        this.adminBuckets = newCache(ticker);
+    }
+
+    private <K> Cache<K, Bucket> newCache(Ticker ticker) {
+        return Caffeine.newBuilder()
+                .ticker(ticker)
+                .maximumSize(Math.max(1, rateLimitConfig.getMaxBuckets()))
+                .expireAfterAccess(REFILL_PERIOD)
+                // Expire idle buckets on time, not only when other keys are written
+                .scheduler(Scheduler.systemScheduler())
+                .evictionListener((K key, Bucket bucket, RemovalCause cause) -> {
+                    if (cause == RemovalCause.SIZE) {
+                        sizeEvictions.increment();
+                    } else if (cause == RemovalCause.EXPIRED) {
+                        idleExpirations.increment();
+                    }
+                })
+                .build();
+    }
 
     public Bucket resolveBucket(String key) {
         return resolveBucket(key, RateLimitType.AUTH);
@@ -26,27 +104,88 @@ public class RateLimitingService {
         return resolveBucket(key, isAdminPath ? RateLimitType.ADMIN : RateLimitType.AUTH);
     }
 
+    /**
+     * Per-IP bucket for the request filter. Auth and admin limits are separate maps keyed by the parsed address,
+     * so the lookup neither builds a prefixed string nor hashes one.
+     */
+    public Bucket resolveBucket(ClientIpKey ip, boolean isAdminPath) {
+        return isAdminPath ? adminBuckets.get(ip, newAdminBucket) : authBuckets.get(ip, newAuthBucket);
+    }
+
     public Bucket resolveResendBucket(String emailKey) {
         return resolveBucket("resend:" + emailKey, RateLimitType.RESEND);
     }
 
+    /**
+     * Approximate number of buckets currently held.
+     */
+    public long size() {
+        return cache.estimatedSize() + authBuckets.estimatedSize() + adminBuckets.estimatedSize();
+    }
+
+    /**
+     * Buckets dropped because {@code rate-limit.max-buckets} was reached.
+     */
+    public long sizeEvictionCount() {
+        return sizeEvictions.sum();
+    }
+
+    /**
+     * Buckets dropped after a full refill period without use.
+     */
+    public long idleExpirationCount() {
+        return idleExpirations.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.stats-log-interval:5m}",
+            initialDelayString = "${rate-limit.stats-log-interval:5m}")
+    public void logStats() {
+        StructuredLogger.logInfo(log, "Rate limit bucket store stats",
+                "entries=" + size(),
+                "maxEntries=" + rateLimitConfig.getMaxBuckets(),
+                "sizeEvictions=" + sizeEvictionCount(),
+                "idleExpirations=" + idleExpirationCount());
+    }
+
+    void cleanUp() {
+        cache.cleanUp();
+        authBuckets.cleanUp();
+        adminBuckets.cleanUp();
+    }
+
     private Bucket resolveBucket(String key, RateLimitType type) {
-        return cache.computeIfAbsent(key, k -> newBucket(type));
+        return cache.get(key, k -> newBucket(k, type));
     }
 
-    private Bucket newBucket(RateLimitType type) {
+    private Bucket newBucket(String key, RateLimitType type) {
+        if (proxyManager == null) {
+            return Bucket.builder()
+                    .addLimit(bandwidth(type))
+                    .build();
+        }
+        RemoteBucketBuilder<String> builder = proxyManager.builder();
+        Duration maxUnsynchronizedTime = rateLimitConfig.getMaxUnsynchronizedTime();
+        if (type != RateLimitType.RESEND && rateLimitConfig.getMaxUnsynchronizedTokens() > 0
+                && maxUnsynchronizedTime != null && maxUnsynchronizedTime.isPositive()) {
+            builder = builder.withOptimization(Optimizations.delaying(new DelayParameters(
+                    rateLimitConfig.getMaxUnsynchronizedTokens(), maxUnsynchronizedTime)));
+        }
+        BucketConfiguration configuration = BucketConfiguration.builder()
+                .addLimit(bandwidth(type))
+                .build();
+        return builder.build(key, () -> configuration);
+    }
+
+    private Bandwidth bandwidth(RateLimitType type) {
         Supplier<Integer> capacitySupplier = () -> switch (type) {
             case ADMIN -> rateLimitConfig.getAdminPerMinute();
             case RESEND -> rateLimitConfig.getResendPerMinute();
             default -> rateLimitConfig.getAuthPerMinute();
         };
         int capacity = Math.max(1, capacitySupplier.get());
-        Bandwidth limit = Bandwidth.builder()
+        return Bandwidth.builder()
                 .capacity(capacity)
-                .refillGreedy(capacity, Duration.ofMinutes(1))
-                .build();
-        return Bucket.builder()
-                .addLimit(limit)
+                .refillGreedy(capacity, REFILL_PERIOD)
                 .build();
     }
 
@@ -0,0 +1,335 @@
+package com.authenticationservice.service;
+
+import com.authenticationservice.config.RefreshTokenRotationProperties;
+import com.authenticationservice.util.StructuredLogger;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Owns the layout of {@code refresh_tokens}: a Postgres table range-partitioned by {@code expires_at} month.
+ * <p>
+ * {@link #initialize()} runs before the JPA {@code EntityManagerFactory} (see {@code SchemaInitializationConfig}),
+ * so Hibernate's schema update only adds indexes and foreign keys to the partitioned parent. An existing
+ * unpartitioned table is converted once, in a single transaction; rows already past retention are not copied.
+ * Ids come from the pooled {@code refresh_tokens_seq} prepared by {@link IdSequenceInitializer}.
+ * <p>
+ * {@link #maintain()} keeps {@code premake} months of partitions ahead of time and detaches and drops months
+ * that expired more than {@code cleanup-expired-after-days} ago, so retention costs the same regardless of volume.
+ * A {@code DEFAULT} partition catches anything outside the premade range, such as long remember-me tokens or
+ * inserts made while maintenance lagged. Postgres refuses to create a month while {@code DEFAULT} holds rows of
+ * that month, so such rows are moved into the new partition in the same transaction: {@code DEFAULT} is detached,
+ * the months are created, the rows are copied over and deleted, and {@code DEFAULT} is attached again.
+ * Rows left in {@code DEFAULT} past retention are deleted along with expired months.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenPartitionService {
+
+    static final String TABLE = "refresh_tokens";
+    static final String DEFAULT_PARTITION = TABLE + "_default";
+
+    private static final String LEGACY_TABLE = TABLE + "_unpartitioned";
+    private static final Pattern PARTITION_NAME = Pattern.compile(TABLE + "_p(\\d{6})");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final String DDL_LOCK_TIMEOUT = "5s";
+
+    /**
+     * Advisory lock key serializing layout changes across nodes.
+     */
+    static final long PARTITION_LOCK_KEY = 0x7274706172746e73L;
+
+    private static final String COLUMNS =
+            "id, family_id, user_id, jti_hash, issued_at, expires_at, status, replaced_by_jti_hash, ip_address, user_agent";
+
+    private static final String CREATE_PARENT_SQL = """
+            CREATE TABLE refresh_tokens (
+                id bigint NOT NULL,
+                family_id varchar(36) NOT NULL,
+                user_id bigint NOT NULL,
+                jti_hash varchar(64) NOT NULL,
+                issued_at timestamp(6) NOT NULL,
+                expires_at timestamp(6) NOT NULL,
+                status varchar(16) NOT NULL,
+                replaced_by_jti_hash varchar(64),
+                ip_address varchar(64),
+                user_agent varchar(512),
+                CONSTRAINT pk_refresh_tokens PRIMARY KEY (id, expires_at)
+            ) PARTITION BY RANGE (expires_at)
+            """;
+
+    private static final String RELKIND_SQL = "SELECT c.relkind FROM pg_class c WHERE c.oid = to_regclass(?)";
+
+    private static final String DEFAULT_HAS_ROWS_SQL = "SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION
+            + " WHERE expires_at >= ? AND expires_at < ?)";
+
+    private static final String DELETE_EXPIRED_DEFAULT_SQL = "DELETE FROM " + DEFAULT_PARTITION
+            + " WHERE expires_at < ?";
+
+    private static final String LIST_PARTITIONS_SQL = """
+            SELECT c.relname FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = to_regclass(?)
+            """;
+
+    private final DataSource dataSource;
+    private final RefreshTokenRotationProperties properties;
+
+    @PostConstruct
+    public void initialize() throws SQLException {
+        if (!properties.isPartitioningEnabled()) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                log.warn("Refresh token partitioning requires PostgreSQL; keeping a plain table");
+                return;
+            }
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                lockForTransaction(connection);
+                String relkind = relkind(connection);
+                if (relkind == null) {
+                    createPartitionedTable(connection, false);
+                    log.info("Created range-partitioned {} table", TABLE);
+                } else if ("r".equals(relkind)) {
+                    createPartitionedTable(connection, true);
+                    log.info("Converted {} to a range-partitioned table", TABLE);
+                } else {
+                    createPartitions(connection, monthsToCreate(today(), retentionDays(), premakeMonths()));
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.refresh-rotation.partition-maintenance-interval:6h}",
+            initialDelayString = "${security.refresh-rotation.partition-maintenance-interval:6h}")
+    public void maintain() {
+        if (!properties.isPartitioningEnabled()) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                lockForTransaction(connection);
+                if (!"p".equals(relkind(connection))) {
+                    connection.rollback();
+                    return;
+                }
+                int created = createPartitions(connection, monthsToCreate(today(), retentionDays(), premakeMonths()));
+                int dropped = properties.isCleanupEnabled() ? dropExpiredPartitions(connection) : 0;
+                connection.commit();
+                StructuredLogger.logInfo(log, "Refresh token partition maintenance completed",
+                        "partitionsCreated=" + created,
+                        "partitionsDropped=" + dropped);
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            StructuredLogger.logError(log, "Refresh token partition maintenance failed", e);
+        }
+    }
+
+    private void createPartitionedTable(Connection connection, boolean convertExisting) throws SQLException {
+        List<YearMonth> months = monthsToCreate(today(), retentionDays(), premakeMonths());
+        try (Statement statement = connection.createStatement()) {
+            if (convertExisting) {
+                statement.execute("LOCK TABLE " + TABLE + " IN ACCESS EXCLUSIVE MODE");
+                statement.execute("ALTER TABLE " + TABLE + " RENAME TO " + LEGACY_TABLE);
+            }
+            statement.execute(CREATE_PARENT_SQL);
+        }
+        createPartitions(connection, months);
+        if (!convertExisting) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            long copied = statement.executeUpdate("INSERT INTO " + TABLE + " (" + COLUMNS + ") SELECT " + COLUMNS
+                    + " FROM " + LEGACY_TABLE + " WHERE expires_at >= '" + months.getFirst().atDay(1) + "'");
+            statement.execute("DROP TABLE " + LEGACY_TABLE);
+            StructuredLogger.logInfo(log, "Copied refresh tokens into partitioned table", "rows=" + copied);
+        }
+    }
+
+    private int createPartitions(Connection connection, List<YearMonth> months) throws SQLException {
+        List<String> existing = listPartitions(connection);
+        List<YearMonth> missing = new ArrayList<>();
+        for (YearMonth month : months) {
+            if (!existing.contains(partitionName(month))) {
+                missing.add(month);
+            }
+        }
+        boolean hasDefault = existing.contains(DEFAULT_PARTITION);
+        List<YearMonth> inDefault = hasDefault ? monthsWithDefaultRows(connection, missing) : List.of();
+        try (Statement statement = connection.createStatement()) {
+            if (!inDefault.isEmpty()) {
+                statement.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + DEFAULT_PARTITION);
+            }
+            for (YearMonth month : missing) {
+                statement.execute("CREATE TABLE " + partitionName(month) + " PARTITION OF " + TABLE
+                        + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+            }
+            if (!inDefault.isEmpty()) {
+                long moved = 0;
+                for (YearMonth month : inDefault) {
+                    String range = " WHERE expires_at >= '" + month.atDay(1)
+                            + "' AND expires_at < '" + month.plusMonths(1).atDay(1) + "'";
+                    moved += statement.executeUpdate("INSERT INTO " + TABLE + " (" + COLUMNS + ") SELECT " + COLUMNS
+                            + " FROM " + DEFAULT_PARTITION + range);
+                    statement.executeUpdate("DELETE FROM " + DEFAULT_PARTITION + range);
+                }
+                statement.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + DEFAULT_PARTITION + " DEFAULT");
+                StructuredLogger.logInfo(log, "Moved refresh tokens out of the default partition",
+                        "rows=" + moved,
+                        "months=" + inDefault.size());
+            }
+            if (!hasDefault) {
+                statement.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF " + TABLE + " DEFAULT");
+            }
+        }
+        return missing.size();
+    }
+
+    private List<YearMonth> monthsWithDefaultRows(Connection connection, List<YearMonth> months) throws SQLException {
+        List<YearMonth> result = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(DEFAULT_HAS_ROWS_SQL)) {
+            for (YearMonth month : months) {
+                statement.setObject(1, month.atDay(1).atStartOfDay());
+                statement.setObject(2, month.plusMonths(1).atDay(1).atStartOfDay());
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next() && resultSet.getBoolean(1)) {
+                        result.add(month);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private int dropExpiredPartitions(Connection connection) throws SQLException {
+        LocalDateTime cutoff = LocalDateTime.now(ZoneOffset.UTC).minusDays(retentionDays());
+        int dropped = 0;
+        List<String> partitions = listPartitions(connection);
+        try (Statement statement = connection.createStatement()) {
+            for (String name : partitions) {
+                if (!isExpired(name, cutoff)) {
+                    continue;
+                }
+                statement.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + name);
+                statement.execute("DROP TABLE " + name);
+                dropped++;
+            }
+        }
+        if (partitions.contains(DEFAULT_PARTITION)) {
+            try (PreparedStatement statement = connection.prepareStatement(DELETE_EXPIRED_DEFAULT_SQL)) {
+                statement.setObject(1, cutoff);
+                statement.executeUpdate();
+            }
+        }
+        return dropped;
+    }
+
+    private List<String> listPartitions(Connection connection) throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(LIST_PARTITIONS_SQL)) {
+            statement.setString(1, TABLE);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    names.add(resultSet.getString(1));
+                }
+            }
+        }
+        return names;
+    }
+
+    private String relkind(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(RELKIND_SQL)) {
+            statement.setString(1, TABLE);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getString(1) : null;
+            }
+        }
+    }
+
+    /**
+     * Takes the cross-node layout lock and bounds how long DDL may wait on the parent table's lock,
+     * both for the current transaction only.
+     */
+    private void lockForTransaction(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET LOCAL lock_timeout = '" + DDL_LOCK_TIMEOUT + "'");
+            statement.execute("SELECT pg_advisory_xact_lock(" + PARTITION_LOCK_KEY + ")");
+        }
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+
+    private int retentionDays() {
+        return Math.max(0, properties.getCleanupExpiredAfterDays());
+    }
+
+    private int premakeMonths() {
+        return Math.max(1, properties.getPartitionPremakeMonths());
+    }
+
+    /**
+     * Months from the oldest one still inside retention through {@code premakeMonths} after the current one.
+     */
+    static List<YearMonth> monthsToCreate(LocalDate today, int retentionDays, int premakeMonths) {
+        YearMonth first = YearMonth.from(today.minusDays(retentionDays));
+        YearMonth last = YearMonth.from(today).plusMonths(premakeMonths);
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        return months;
+    }
+
+    static String partitionName(YearMonth month) {
+        return TABLE + "_p" + month.format(PARTITION_SUFFIX);
+    }
+
+    /**
+     * @return {@code true} for a monthly partition whose whole range ends before {@code cutoff}
+     */
+    static boolean isExpired(String partitionName, LocalDateTime cutoff) {
+        Matcher matcher = PARTITION_NAME.matcher(partitionName);
+        if (!matcher.matches()) {
+            return false;
+        }
+        YearMonth month = YearMonth.parse(matcher.group(1), PARTITION_SUFFIX);
+        return !month.plusMonths(1).atDay(1).atStartOfDay().isAfter(cutoff);
+    }
+}
@@ -0,0 +1,221 @@
+package com.authenticationservice.service;
+
+import com.authenticationservice.config.RefreshTokenRotationProperties;
+import com.authenticationservice.util.StructuredLogger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Background purge of expired refresh tokens and dead token families.
+ * <p>
+ * Deletes run in bounded batches on a single autocommit connection, so each statement is its own short
+ * transaction and never holds row locks long enough to stall logins or rotations. A session-level
+ * Postgres advisory lock taken on that same connection makes sure only one node purges at a time;
+ * the others skip the run.
+ * <p>
+ * With {@code partitioning-enabled}, expired tokens go away with their monthly partition
+ * (see {@link RefreshTokenPartitionService}) and this job only handles revoked families.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenPurgeService {
+
+    /**
+     * Advisory lock key shared by every node running this service.
+     */
+    static final long PURGE_LOCK_KEY = 0x7274707572676565L;
+
+    private static final String TRY_LOCK_SQL = "SELECT pg_try_advisory_lock(?)";
+    private static final String UNLOCK_SQL = "SELECT pg_advisory_unlock(?)";
+
+    private static final String DELETE_EXPIRED_TOKENS_SQL = """
+            DELETE FROM refresh_tokens
+            WHERE id IN (SELECT id FROM refresh_tokens WHERE expires_at < ? LIMIT ?)
+            """;
+
+    private static final String DELETE_REVOKED_FAMILY_TOKENS_SQL = """
+            DELETE FROM refresh_tokens
+            WHERE id IN (
+                SELECT t.id FROM refresh_tokens t
+                JOIN refresh_token_families f ON f.id = t.family_id
+                WHERE f.revoked_at < ?
+                LIMIT ?)
+            """;
+
+    // Families left without token rows: revoked ones past retention, abandoned ones whose tokens all expired,
+    // and compact-storage families whose current token expired or that were revoked
+    private static final String DELETE_EMPTY_FAMILIES_SQL = """
+            DELETE FROM refresh_token_families
+            WHERE id IN (
+                SELECT f.id FROM refresh_token_families f
+                WHERE CASE WHEN f.current_expires_at IS NULL
+                           THEN COALESCE(f.revoked_at, f.last_used_at, f.created_at)
+                           ELSE LEAST(f.revoked_at, f.current_expires_at) END < ?
+                  AND NOT EXISTS (SELECT 1 FROM refresh_tokens t WHERE t.family_id = f.id)
+                LIMIT ?)
+            """;
+
+    private static final String COUNT_EXPIRED_SQL = "SELECT COUNT(*) FROM refresh_tokens WHERE expires_at < ?";
+
+    private final DataSource dataSource;
+    private final RefreshTokenRotationProperties properties;
+
+    /**
+     * Outcome of one purge run; {@code backlog} is the number of purgeable tokens left behind.
+     */
+    public record PurgeResult(boolean lockAcquired, long tokensDeleted, long familiesDeleted, long backlog,
+                              long durationMs) {
+
+        static PurgeResult skipped() {
+            return new PurgeResult(false, 0, 0, 0, 0);
+        }
+
+        public double rowsPerSecond() {
+            long rows = tokensDeleted + familiesDeleted;
+            return durationMs == 0 ? rows : rows * 1000.0 / durationMs;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.refresh-rotation.cleanup-interval:1h}",
+            initialDelayString = "${security.refresh-rotation.cleanup-initial-delay:5m}")
+    public void purgeScheduled() {
+        if (!properties.isEnabled() || !properties.isCleanupEnabled()) {
+            return;
+        }
+        try {
+            purge();
+        } catch (SQLException e) {
+            StructuredLogger.logError(log, "Refresh token purge failed", e);
+        }
+    }
+
+    public PurgeResult purge() throws SQLException {
+        int days = Math.max(0, properties.getCleanupExpiredAfterDays());
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(days));
+        int batchSize = Math.max(1, properties.getCleanupBatchSize());
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            if (!tryLock(connection)) {
+                log.debug("Refresh token purge skipped: another node holds the purge lock");
+                return PurgeResult.skipped();
+            }
+            try {
+                long start = System.nanoTime();
+                BatchBudget budget = new BatchBudget(properties.getCleanupMaxBatchesPerRun());
+                boolean partitioned = properties.isPartitioningEnabled();
+                long tokens = partitioned ? 0
+                        : deleteInBatches(connection, DELETE_EXPIRED_TOKENS_SQL, cutoff, batchSize, budget);
+                tokens += deleteInBatches(connection, DELETE_REVOKED_FAMILY_TOKENS_SQL, cutoff, batchSize, budget);
+                long families = deleteInBatches(connection, DELETE_EMPTY_FAMILIES_SQL, cutoff, batchSize, budget);
+                long backlog = partitioned ? 0 : countExpired(connection, cutoff);
+                long durationMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+                PurgeResult result = new PurgeResult(true, tokens, families, backlog, durationMs);
+                StructuredLogger.logInfo(log, "Refresh token purge completed",
+                        "tokensDeleted=" + tokens,
+                        "familiesDeleted=" + families,
+                        "batches=" + budget.used,
+                        "rowsPerSecond=" + Math.round(result.rowsPerSecond()),
+                        "backlog=" + backlog,
+                        "durationMs=" + durationMs);
+                return result;
+            } finally {
+                unlock(connection);
+            }
+        }
+    }
+
+    private long deleteInBatches(Connection connection, String sql, Timestamp cutoff, int batchSize,
+                                 BatchBudget budget) throws SQLException {
+        long total = 0;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            while (budget.tryAcquire()) {
+                statement.setTimestamp(1, cutoff);
+                statement.setInt(2, batchSize);
+                int deleted = statement.executeUpdate();
+                total += deleted;
+                if (deleted < batchSize || !pauseBetweenBatches()) {
+                    break;
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * @return {@code false} if the thread was interrupted and the run should stop
+     */
+    private boolean pauseBetweenBatches() {
+        Duration pause = properties.getCleanupBatchPause();
+        if (pause == null || pause.isZero() || pause.isNegative()) {
+            return true;
+        }
+        try {
+            Thread.sleep(pause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private long countExpired(Connection connection, Timestamp cutoff) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(COUNT_EXPIRED_SQL)) {
+            statement.setTimestamp(1, cutoff);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : 0;
+            }
+        }
+    }
+
+    private boolean tryLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(TRY_LOCK_SQL)) {
+            statement.setLong(1, PURGE_LOCK_KEY);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private void unlock(Connection connection) {
+        try (PreparedStatement statement = connection.prepareStatement(UNLOCK_SQL)) {
+            statement.setLong(1, PURGE_LOCK_KEY);
+            statement.executeQuery().close();
+        } catch (SQLException e) {
+            StructuredLogger.logWarn(log, "Failed to release refresh token purge lock", "error=" + e.getMessage());
+        }
+    }
+
+    /**
+     * Caps the number of DELETE statements per run (0 = unlimited); whatever is left shows up as backlog.
+     */
+    private static final class BatchBudget {
+        private final int max;
+        private int used;
+
+        private BatchBudget(int max) {
+            this.max = max;
+        }
+
+        private boolean tryAcquire() {
+            if (max > 0 && used >= max) {
+                return false;
+            }
+            used++;
+            return true;
+        }
+    }
+}
@@ -2,13 +2,16 @@ package com.authenticationservice.service;
 
 import com.authenticationservice.config.RefreshTokenRotationProperties;
 import com.authenticationservice.constants.MessageConstants;
+import com.authenticationservice.exception.InvalidRefreshTokenException;
 import com.authenticationservice.model.RefreshToken;
 import com.authenticationservice.model.RefreshTokenFamily;
 import com.authenticationservice.model.RefreshTokenStatus;
 import com.authenticationservice.model.User;
 import com.authenticationservice.repository.RefreshTokenFamilyRepository;
 import com.authenticationservice.repository.RefreshTokenRepository;
+import com.authenticationservice.security.IssuedRefreshToken;
 import com.authenticationservice.security.JwtTokenProvider;
+import com.authenticationservice.security.RefreshTokenClaims;
 import com.authenticationservice.util.LoggingSanitizer;
 import com.authenticationservice.util.TokenHashing;
 import jakarta.persistence.EntityManager;
@@ -17,8 +20,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Slf4j
@@ -33,89 +40,105 @@ public class RefreshTokenRotationService {
     private static final String REVOKE_REASON_ACCOUNT_BLOCKED = "account_blocked";
     private static final String REVOKE_REASON_ACCOUNT_DISABLED = "account_disabled";
     private static final String REVOKE_REASON_MAX_FAMILIES = "max_families_exceeded";
+    private static final String REVOKE_REASON_USER = "user_revoked";
 
     private final RefreshTokenRepository refreshTokenRepository;
     private final RefreshTokenFamilyRepository refreshTokenFamilyRepository;
     private final JwtTokenProvider jwtTokenProvider;
     private final RefreshTokenRotationProperties properties;
     private final EntityManager entityManager;
+    private final SessionTimestampWriteBehind sessionTimestampWriteBehind;
+    private final RevokedFamilyCache revokedFamilyCache;
 
-    public String issueRefreshToken(User user, Integer rememberDays, String ipAddress, String userAgent) {
+    public IssuedRefreshToken issueRefreshToken(User user, Integer rememberDays, String ipAddress, String userAgent) {
         if (!properties.isEnabled()) {
-            return rememberDays != null
-                    ? jwtTokenProvider.generateRefreshToken(user, rememberDays)
-                    : jwtTokenProvider.generateRefreshToken(user);
+            return jwtTokenProvider.issueRefreshToken(user, rememberDays,
+                    UUID.randomUUID().toString(), UUID.randomUUID().toString());
         }
 
         String familyId = UUID.randomUUID().toString();
+        String tokenId = UUID.randomUUID().toString();
+        User managedUser = ensureManagedUser(user);
+        IssuedRefreshToken refreshToken = jwtTokenProvider.issueRefreshToken(managedUser, rememberDays, familyId, tokenId);
+        String tokenHash = TokenHashing.sha256Hex(tokenId);
+
         RefreshTokenFamily family = new RefreshTokenFamily();
         family.setId(familyId);
-        User managedUser = ensureManagedUser(user);
         family.setUser(managedUser);
         family.setCreatedAt(LocalDateTime.now());
+        family.setIpAddress(ipAddress);
+        family.setUserAgent(userAgent);
+        if (properties.isCompactStorage()) {
+            family.setCurrentJtiHash(tokenHash);
+            family.setCurrentExpiresAt(toStoredExpiry(refreshToken.expiresAt()));
+        }
         refreshTokenFamilyRepository.save(family);
 
-        String refreshToken = createAndStoreRefreshToken(managedUser, family, rememberDays, ipAddress, userAgent);
+        if (!properties.isCompactStorage() || isHistorySample(0)) {
+            refreshTokenRepository.save(buildRefreshTokenEntity(managedUser, family, tokenHash, ipAddress, userAgent,
+                    refreshToken));
+        }
         enforceMaxFamilies(managedUser.getId());
-        cleanupExpiredTokensIfEnabled();
         return refreshToken;
     }
 
-    public String rotateRefreshToken(String refreshToken, User user, String ipAddress, String userAgent) {
+    /**
+     * Rotates the refresh token described by already verified {@code claims}.
+     * A rejected token does not roll back the transaction, so a reuse revocation made on the way out sticks.
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public IssuedRefreshToken rotateRefreshToken(RefreshTokenClaims claims, User user, String ipAddress, String userAgent) {
         if (!properties.isEnabled()) {
-            Integer rememberDays = jwtTokenProvider.getRememberDaysFromRefresh(refreshToken);
-            return rememberDays != null
-                    ? jwtTokenProvider.generateRefreshToken(user, rememberDays)
-                    : jwtTokenProvider.generateRefreshToken(user);
+            return jwtTokenProvider.issueRefreshToken(user, claims.rememberDays(),
+                    UUID.randomUUID().toString(), UUID.randomUUID().toString());
         }
 
         User managedUser = ensureManagedUser(user);
 
-        String tokenId = jwtTokenProvider.getRefreshTokenId(refreshToken);
-        String familyId = jwtTokenProvider.getRefreshTokenFamilyId(refreshToken);
-        if (tokenId == null || familyId == null) {
+        String tokenId = claims.tokenId();
+        String familyId = claims.familyId();
+        if (tokenId == null || familyId == null || claims.expiresAt() == null) {
             log.warn("Refresh token missing required claims for user {}", maskEmail(user.getEmail()));
-            throw new RuntimeException(MessageConstants.INVALID_REFRESH_TOKEN);
+            throw new InvalidRefreshTokenException();
         }
 
+        String newTokenId = UUID.randomUUID().toString();
+        String newTokenHash = TokenHashing.sha256Hex(newTokenId);
         String tokenHash = TokenHashing.sha256Hex(tokenId);
-        RefreshToken existing = refreshTokenRepository.findByJtiHash(tokenHash).orElse(null);
-        if (existing == null) {
-            handleReuseDetected(familyId, user);
-            throw new RuntimeException(MessageConstants.INVALID_REFRESH_TOKEN);
-        }
+        LocalDateTime expiresAt = toStoredExpiry(claims.expiresAt());
+        LocalDateTime now = LocalDateTime.now();
 
-        if (!existing.getUser().getId().equals(user.getId())) {
-            handleReuseDetected(familyId, user);
-            throw new RuntimeException(MessageConstants.INVALID_REFRESH_TOKEN);
+        if (properties.isCompactStorage()) {
+            // Sign first: the successor's hash and expiry go into the family row in the same single UPDATE
+            IssuedRefreshToken newRefreshToken = jwtTokenProvider.issueRefreshToken(managedUser, claims.rememberDays(),
+                    familyId, newTokenId);
+            Optional<Long> rotationCount = refreshTokenFamilyRepository.rotateCurrent(familyId, managedUser.getId(),
+                    tokenHash, expiresAt, newTokenHash, toStoredExpiry(newRefreshToken.expiresAt()), now);
+            if (rotationCount.isEmpty()) {
+                throw staleToken(familyId, tokenHash, expiresAt, now, user);
+            }
+            if (isHistorySample(rotationCount.get())) {
+                RefreshTokenFamily family = entityManager.getReference(RefreshTokenFamily.class, familyId);
+                refreshTokenRepository.save(buildRefreshTokenEntity(managedUser, family, newTokenHash, ipAddress,
+                        userAgent, newRefreshToken));
+            }
+            return newRefreshToken;
         }
 
-        RefreshTokenFamily family = existing.getFamily();
-        if (family.getRevokedAt() != null) {
-            throw new RuntimeException(MessageConstants.INVALID_REFRESH_TOKEN);
+        // Single conditional UPDATE: a missing, foreign, already rotated or revoked token matches no row
+        // (revoking a family also revokes its tokens), which is exactly the reuse signal
+        boolean rotated = refreshTokenRepository.rotateActive(tokenHash, expiresAt, familyId,
+                managedUser.getId(), newTokenHash).isPresent();
+        if (!rotated) {
+            throw staleToken(familyId, tokenHash, expiresAt, now, user);
         }
+        sessionTimestampWriteBehind.recordFamilyUse(familyId, now);
 
-        if (existing.getStatus() != RefreshTokenStatus.ACTIVE) {
-            handleReuseDetected(familyId, user);
-            throw new RuntimeException(MessageConstants.INVALID_REFRESH_TOKEN);
-        }
-
-        Integer rememberDays = jwtTokenProvider.getRememberDaysFromRefresh(refreshToken);
-        String newTokenId = UUID.randomUUID().toString();
-        String newRefreshToken = jwtTokenProvider.generateRefreshToken(managedUser, rememberDays, familyId, newTokenId);
-        String newTokenHash = TokenHashing.sha256Hex(newTokenId);
-
-        existing.setStatus(RefreshTokenStatus.ROTATED);
-        existing.setReplacedByJtiHash(newTokenHash);
-        refreshTokenRepository.save(existing);
-
-        family.setLastUsedAt(LocalDateTime.now());
-        refreshTokenFamilyRepository.save(family);
-
+        IssuedRefreshToken newRefreshToken = jwtTokenProvider.issueRefreshToken(managedUser, claims.rememberDays(),
+                familyId, newTokenId);
+        RefreshTokenFamily family = entityManager.getReference(RefreshTokenFamily.class, familyId);
         RefreshToken next = buildRefreshTokenEntity(managedUser, family, newTokenHash, ipAddress, userAgent, newRefreshToken);
         refreshTokenRepository.save(next);
-
-        cleanupExpiredTokensIfEnabled();
         return newRefreshToken;
     }
 
@@ -130,13 +153,27 @@ public class RefreshTokenRotationService {
         revokeFamily(familyId, REVOKE_REASON_LOGOUT);
     }
 
+    /**
+     * Revokes one of the user's own sessions.
+     *
+     * @return {@code false} if the family does not belong to the user or is already revoked
+     */
+    public boolean revokeSession(Long userId, String familyId) {
+        if (!properties.isEnabled()
+                || !refreshTokenFamilyRepository.existsByIdAndUserIdAndRevokedAtIsNull(familyId, userId)) {
+            return false;
+        }
+        revokeFamily(familyId, REVOKE_REASON_USER);
+        return true;
+    }
+
     public void revokeAllForUser(Long userId, String reason) {
         if (!properties.isEnabled()) {
             return;
         }
         LocalDateTime now = LocalDateTime.now();
-        refreshTokenFamilyRepository.revokeAllForUser(userId, now, reason);
-        refreshTokenRepository.updateStatusByUser(userId, RefreshTokenStatus.REVOKED);
+        revokedFamilyCache.markRevoked(refreshTokenFamilyRepository.revokeAllForUser(userId, now, reason));
+        refreshTokenRepository.updateStatusByUser(userId, RefreshTokenStatus.REVOKED, utcNow());
     }
 
     public void revokeForPasswordChange(Long userId) {
@@ -151,6 +188,37 @@ public class RefreshTokenRotationService {
         revokeAllForUser(userId, REVOKE_REASON_ACCOUNT_DISABLED);
     }
 
+    /**
+     * Handles a presented token that is no longer the family's current one and returns the exception to throw.
+     */
+    private InvalidRefreshTokenException staleToken(String familyId, String tokenHash, LocalDateTime expiresAt,
+                                        LocalDateTime now, User user) {
+        if (isConcurrentRefresh(familyId, tokenHash, expiresAt, now)) {
+            // Same cookie refreshed in parallel on another node: reject this copy without revoking the family
+            log.info("Concurrent refresh within grace period for user {}", maskEmail(user.getEmail()));
+        } else {
+            handleReuseDetected(familyId, user);
+        }
+        return new InvalidRefreshTokenException();
+    }
+
+    private boolean isConcurrentRefresh(String familyId, String tokenHash, LocalDateTime expiresAt,
+                                        LocalDateTime now) {
+        Duration grace = properties.getReuseGracePeriod();
+        if (grace == null || !grace.isPositive()) {
+            return false;
+        }
+        LocalDateTime since = now.minus(grace);
+        return properties.isCompactStorage()
+                ? refreshTokenFamilyRepository.isPreviousTokenRotatedSince(familyId, tokenHash, since)
+                : refreshTokenRepository.isRotatedSince(tokenHash, expiresAt, since);
+    }
+
+    private boolean isHistorySample(long rotationCount) {
+        int every = properties.getCompactHistorySampleEvery();
+        return every > 0 && rotationCount % every == 0;
+    }
+
     private void handleReuseDetected(String familyId, User user) {
         if (!properties.isRevokeOnReuse()) {
             return;
@@ -165,32 +233,19 @@ public class RefreshTokenRotationService {
         }
         LocalDateTime now = LocalDateTime.now();
         refreshTokenFamilyRepository.revokeFamily(familyId, now, reason);
-        refreshTokenRepository.updateStatusByFamily(familyId, RefreshTokenStatus.REVOKED);
-    }
-
-    private String createAndStoreRefreshToken(User user, RefreshTokenFamily family, Integer rememberDays,
-                                              String ipAddress, String userAgent) {
-        String tokenId = UUID.randomUUID().toString();
-        String refreshToken = jwtTokenProvider.generateRefreshToken(user, rememberDays, family.getId(), tokenId);
-        String tokenHash = TokenHashing.sha256Hex(tokenId);
-        RefreshToken entity = buildRefreshTokenEntity(user, family, tokenHash, ipAddress, userAgent, refreshToken);
-        refreshTokenRepository.save(entity);
-        return refreshToken;
+        refreshTokenRepository.updateStatusByFamily(familyId, RefreshTokenStatus.REVOKED, utcNow());
+        // Cached even if it was already revoked: either way no token of this family may refresh again
+        revokedFamilyCache.markRevoked(List.of(familyId));
     }
 
     private RefreshToken buildRefreshTokenEntity(User user, RefreshTokenFamily family, String tokenHash,
-                                                 String ipAddress, String userAgent, String refreshToken) {
+                                                 String ipAddress, String userAgent, IssuedRefreshToken refreshToken) {
         RefreshToken entity = new RefreshToken();
         entity.setUser(user);
         entity.setFamily(family);
         entity.setJtiHash(tokenHash);
         entity.setIssuedAt(LocalDateTime.now());
-        LocalDateTime expiresAt = jwtTokenProvider.getRefreshTokenExpirationTime(refreshToken);
-        if (expiresAt == null) {
-            long ttlSeconds = jwtTokenProvider.getRefreshTokenTtlSeconds(refreshToken);
-            expiresAt = LocalDateTime.now().plusSeconds(Math.max(0, ttlSeconds));
-        }
-        entity.setExpiresAt(expiresAt);
+        entity.setExpiresAt(toStoredExpiry(refreshToken.expiresAt()));
         entity.setStatus(RefreshTokenStatus.ACTIVE);
         entity.setIpAddress(ipAddress);
         entity.setUserAgent(userAgent);
@@ -202,25 +257,20 @@ public class RefreshTokenRotationService {
         if (maxFamilies <= 0) {
             return;
         }
-        List<RefreshTokenFamily> activeFamilies = refreshTokenFamilyRepository
-                .findByUserIdAndRevokedAtIsNullOrderByCreatedAtAsc(userId);
-        int overflow = activeFamilies.size() - maxFamilies;
-        if (overflow <= 0) {
-            return;
-        }
-        for (int i = 0; i < overflow; i++) {
-            RefreshTokenFamily family = activeFamilies.get(i);
-            revokeFamily(family.getId(), REVOKE_REASON_MAX_FAMILIES);
-        }
+        revokedFamilyCache.markRevoked(refreshTokenFamilyRepository.revokeAllButNewest(userId, maxFamilies,
+                LocalDateTime.now(), REVOKE_REASON_MAX_FAMILIES, utcNow()));
     }
 
-    private void cleanupExpiredTokensIfEnabled() {
-        if (!properties.isCleanupEnabled()) {
-            return;
-        }
-        int days = Math.max(0, properties.getCleanupExpiredAfterDays());
-        LocalDateTime cutoff = LocalDateTime.now().minusDays(days);
-        refreshTokenRepository.deleteExpiredBefore(cutoff);
+    /**
+     * {@code expires_at} holds the JWT {@code exp} as a UTC wall-clock time; it is also the partition key,
+     * so lookups pass it verbatim to prune to a single partition.
+     */
+    private static LocalDateTime toStoredExpiry(Instant expiresAt) {
+        return LocalDateTime.ofInstant(expiresAt, ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime utcNow() {
+        return LocalDateTime.now(ZoneOffset.UTC);
     }
 
     private String maskEmail(String email) {
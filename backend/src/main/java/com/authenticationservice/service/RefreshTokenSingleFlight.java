@@ -0,0 +1,78 @@
+package com.authenticationservice.service;
+
+import com.authenticationservice.config.RefreshTokenRotationProperties;
+import com.authenticationservice.security.IssuedRefreshToken;
+import com.authenticationservice.security.RefreshTokenClaims;
+import com.authenticationservice.util.TokenHashing;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * In-process single-flight for refresh token rotation, keyed by the hash of the presented token id.
+ * <p>
+ * Browsers with several tabs send the same refresh cookie at once. The first request rotates; requests
+ * that arrive while it runs, or within {@code reuse-grace-period} after it finished, receive the same
+ * successor instead of hitting the database and tripping reuse detection. Rotation must be invoked
+ * through the transactional service proxy so the successor is committed before it is handed out.
+ * Failed rotations are not remembered.
+ */
+@Component
+public class RefreshTokenSingleFlight {
+
+    private static final long MAX_ENTRIES = 100_000;
+
+    private final Duration gracePeriod;
+    private final ConcurrentMap<String, CompletableFuture<IssuedRefreshToken>> rotations;
+
+    public RefreshTokenSingleFlight(RefreshTokenRotationProperties properties) {
+        this.gracePeriod = properties.getReuseGracePeriod();
+        Cache<String, CompletableFuture<IssuedRefreshToken>> cache = Caffeine.newBuilder()
+                .maximumSize(MAX_ENTRIES)
+                .expireAfterWrite(isEnabled() ? gracePeriod : Duration.ofSeconds(1))
+                .build();
+        this.rotations = cache.asMap();
+    }
+
+    public IssuedRefreshToken rotate(RefreshTokenClaims claims, Supplier<IssuedRefreshToken> rotation) {
+        if (!isEnabled() || claims.tokenId() == null) {
+            return rotation.get();
+        }
+        String key = TokenHashing.sha256Hex(claims.tokenId());
+        CompletableFuture<IssuedRefreshToken> leader = new CompletableFuture<>();
+        CompletableFuture<IssuedRefreshToken> existing = rotations.putIfAbsent(key, leader);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            IssuedRefreshToken successor = rotation.get();
+            leader.complete(successor);
+            return successor;
+        } catch (RuntimeException | Error e) {
+            rotations.remove(key, leader);
+            leader.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private boolean isEnabled() {
+        return gracePeriod != null && gracePeriod.isPositive();
+    }
+
+    private static IssuedRefreshToken await(CompletableFuture<IssuedRefreshToken> rotation) {
+        try {
+            return rotation.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.authenticationservice.service;
+
+import com.authenticationservice.config.RefreshTokenRotationProperties;
+import com.authenticationservice.repository.RefreshTokenFamilyRepository;
+import com.authenticationservice.util.StructuredLogger;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Size-bounded, in-memory set of revoked refresh token family ids, so refreshes with a logged-out or stolen
+ * token are rejected before any database access.
+ * <p>
+ * Revocations made on this node are added once their transaction commits. Revocations made on other nodes
+ * arrive through {@link #poll()}, which reads families revoked since the previous poll from the
+ * {@code revoked_at} index; polling from a watermark cannot miss a revocation the way a dropped push message
+ * could. On startup the cache is warmed with revocations younger than {@code revoked-cache-ttl}.
+ * <p>
+ * Only positive entries are cached: a miss falls through to the usual database checks, so a stale or
+ * evicted cache never lets a revoked token through.
+ */
+@Slf4j
+@Component
+public class RevokedFamilyCache {
+
+    /**
+     * Re-read window covering revocations committed after the previous poll but stamped before it.
+     */
+    static final Duration POLL_OVERLAP = Duration.ofSeconds(30);
+
+    private final RefreshTokenFamilyRepository refreshTokenFamilyRepository;
+    private final RefreshTokenRotationProperties properties;
+    private final Cache<String, Boolean> cache;
+    private volatile LocalDateTime lastPollStartedAt;
+
+    public RevokedFamilyCache(RefreshTokenFamilyRepository refreshTokenFamilyRepository,
+                              RefreshTokenRotationProperties properties) {
+        this.refreshTokenFamilyRepository = refreshTokenFamilyRepository;
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, properties.getRevokedCacheMaxSize()))
+                .expireAfterWrite(properties.getRevokedCacheTtl())
+                .build();
+    }
+
+    public boolean isRevoked(String familyId) {
+        return isEnabled() && familyId != null && cache.getIfPresent(familyId) != null;
+    }
+
+    /**
+     * Records revoked families; inside a transaction they are added only after it commits.
+     */
+    public void markRevoked(Collection<String> familyIds) {
+        if (!isEnabled() || familyIds == null || familyIds.isEmpty()) {
+            return;
+        }
+        List<String> ids = List.copyOf(familyIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    putAll(ids);
+                }
+            });
+        } else {
+            putAll(ids);
+        }
+    }
+
+    @PostConstruct
+    public void warmUp() {
+        if (!isEnabled()) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        try {
+            int loaded = load(startedAt.minus(properties.getRevokedCacheTtl()));
+            lastPollStartedAt = startedAt;
+            log.info("Warmed revoked refresh token family cache with {} entries", loaded);
+        } catch (RuntimeException e) {
+            // Not fatal: misses fall through to the database and the next poll retries from scratch
+            StructuredLogger.logWarn(log, "Revoked family cache warm-up failed", "error=" + e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.refresh-rotation.revoked-cache-poll-interval:2s}",
+            initialDelayString = "${security.refresh-rotation.revoked-cache-poll-interval:2s}")
+    public void poll() {
+        if (!isEnabled()) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime previous = lastPollStartedAt;
+        LocalDateTime since = previous != null
+                ? previous.minus(POLL_OVERLAP)
+                : startedAt.minus(properties.getRevokedCacheTtl());
+        try {
+            load(since);
+            lastPollStartedAt = startedAt;
+        } catch (RuntimeException e) {
+            StructuredLogger.logWarn(log, "Revoked family cache poll failed", "error=" + e.getMessage());
+        }
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private int load(LocalDateTime since) {
+        List<String> ids = refreshTokenFamilyRepository.findIdsRevokedSince(since,
+                Limit.of(Math.toIntExact(Math.max(1, properties.getRevokedCacheMaxSize()))));
+        putAll(ids);
+        return ids.size();
+    }
+
+    private void putAll(List<String> familyIds) {
+        for (String familyId : familyIds) {
+            cache.put(familyId, Boolean.TRUE);
+        }
+    }
+
+    private boolean isEnabled() {
+        return properties.isEnabled() && properties.isRevokedCacheEnabled();
+    }
+}
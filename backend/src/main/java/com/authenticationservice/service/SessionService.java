@@ -0,0 +1,63 @@
+package com.authenticationservice.service;
+
+import com.authenticationservice.dto.SessionDTO;
+import com.authenticationservice.model.User;
+import com.authenticationservice.repository.RefreshTokenFamilyRepository;
+import com.authenticationservice.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * The signed-in user's own sessions, one per refresh token family.
+ * <p>
+ * Listing reads the user's active family rows through {@code idx_refresh_token_families_user_active},
+ * never {@code refresh_tokens}. Revocation goes through {@link RefreshTokenRotationService} so the family's
+ * tokens and the revoked-family cache are updated the same way as on logout.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SessionService {
+
+    static final int MAX_SESSIONS = 100;
+
+    private final RefreshTokenFamilyRepository refreshTokenFamilyRepository;
+    private final RefreshTokenRotationService refreshTokenRotationService;
+    private final UserRepository userRepository;
+
+    /**
+     * @param userId id from the access token, or {@code null} for tokens issued before it was a claim
+     */
+    @Transactional(readOnly = true)
+    public List<SessionDTO> listSessions(String email, Long userId) {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        return refreshTokenFamilyRepository.findActiveSessions(resolveUserId(email, userId), now, MAX_SESSIONS)
+                .stream()
+                .map(session -> new SessionDTO(session.getId(), session.getCreatedAt(), session.getLastUsedAt(),
+                        session.getIpAddress(), session.getUserAgent()))
+                .toList();
+    }
+
+    /**
+     * @return {@code false} if no active session with this id belongs to the user
+     */
+    @Transactional
+    public boolean revokeSession(String email, Long userId, String familyId) {
+        return refreshTokenRotationService.revokeSession(resolveUserId(email, userId), familyId);
+    }
+
+    private Long resolveUserId(String email, Long userId) {
+        if (userId != null) {
+            return userId;
+        }
+        return userRepository.findByEmail(email)
+                .map(User::getId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+}
@@ -0,0 +1,206 @@
+package com.authenticationservice.service;
+
+import com.authenticationservice.config.SessionWriteBehindProperties;
+import com.authenticationservice.repository.RefreshTokenFamilyRepository;
+import com.authenticationservice.repository.UserRepository;
+import com.authenticationservice.util.StructuredLogger;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Write-behind buffer for informational session timestamps: {@code users.last_login_at} and
+ * {@code refresh_token_families.last_used_at}.
+ * <p>
+ * Updates are coalesced per row in memory (latest timestamp wins) and written every {@code flush-interval}
+ * as batched {@code UPDATE}s, in key order and one transaction per batch. The {@code UPDATE}s only ever move
+ * a timestamp forward, so a late flush cannot overwrite a newer value written synchronously. Nothing here
+ * is security-relevant: failed-attempt counters, lock times, revocations and token state are still written
+ * in the request's transaction. A failed flush puts its entries back for the next run, and the buffer is
+ * flushed on shutdown after the web server has stopped accepting requests.
+ * <p>
+ * Request threads never flush: a full buffer queues one early flush on the task scheduler, and with
+ * write-behind disabled the timestamp is written by an ordinary repository update in the caller's transaction.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SessionTimestampWriteBehind {
+
+    static final String UPDATE_LAST_LOGIN_SQL =
+            "UPDATE users SET last_login_at = ? WHERE id = ? AND (last_login_at IS NULL OR last_login_at < ?)";
+
+    static final String UPDATE_FAMILY_LAST_USED_SQL = "UPDATE refresh_token_families SET last_used_at = ? "
+            + "WHERE id = ? AND (last_used_at IS NULL OR last_used_at < ?)";
+
+    private final DataSource dataSource;
+    private final UserRepository userRepository;
+    private final RefreshTokenFamilyRepository refreshTokenFamilyRepository;
+    private final TaskScheduler taskScheduler;
+    private final SessionWriteBehindProperties properties;
+
+    private final ConcurrentMap<Long, LocalDateTime> pendingLogins = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LocalDateTime> pendingFamilyUses = new ConcurrentHashMap<>();
+    private final AtomicBoolean earlyFlushQueued = new AtomicBoolean();
+
+    public void recordLogin(Long userId, LocalDateTime loggedInAt) {
+        if (userId == null || loggedInAt == null) {
+            return;
+        }
+        if (!properties.isEnabled()) {
+            userRepository.advanceLastLoginAt(userId, loggedInAt);
+            return;
+        }
+        record(pendingLogins, userId, loggedInAt);
+    }
+
+    public void recordFamilyUse(String familyId, LocalDateTime usedAt) {
+        if (familyId == null || usedAt == null) {
+            return;
+        }
+        if (!properties.isEnabled()) {
+            refreshTokenFamilyRepository.advanceLastUsedAt(familyId, usedAt);
+            return;
+        }
+        record(pendingFamilyUses, familyId, usedAt);
+    }
+
+    /**
+     * @return number of buffered row updates
+     */
+    public int pendingCount() {
+        return pendingLogins.size() + pendingFamilyUses.size();
+    }
+
+    @Scheduled(fixedDelayString = "${security.session-write-behind.flush-interval:5s}",
+            initialDelayString = "${security.session-write-behind.flush-interval:5s}")
+    public void flushScheduled() {
+        flush();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        int flushed = flush();
+        if (pendingCount() > 0) {
+            StructuredLogger.logWarn(log, "Session timestamps left unflushed on shutdown",
+                    "pending=" + pendingCount());
+        } else if (flushed > 0) {
+            log.info("Flushed {} session timestamp updates on shutdown", flushed);
+        }
+    }
+
+    /**
+     * Writes everything buffered so far.
+     *
+     * @return number of row updates sent to the database
+     */
+    public synchronized int flush() {
+        return flush(pendingLogins, UPDATE_LAST_LOGIN_SQL, (statement, userId) -> statement.setLong(2, userId))
+                + flush(pendingFamilyUses, UPDATE_FAMILY_LAST_USED_SQL,
+                (statement, familyId) -> statement.setString(2, familyId));
+    }
+
+    private <K> void record(ConcurrentMap<K, LocalDateTime> pending, K key, LocalDateTime timestamp) {
+        pending.merge(key, timestamp, SessionTimestampWriteBehind::latest);
+        if (pendingCount() >= properties.getMaxPending() && earlyFlushQueued.compareAndSet(false, true)) {
+            // Hand the flush to the scheduler: a request must not wait on the flush monitor or the batch writes
+            try {
+                taskScheduler.schedule(this::earlyFlush, Instant.now());
+            } catch (TaskRejectedException e) {
+                // The periodic flush still drains the buffer
+                earlyFlushQueued.set(false);
+            }
+        }
+    }
+
+    private void earlyFlush() {
+        earlyFlushQueued.set(false);
+        flush();
+    }
+
+    private <K extends Comparable<K>> int flush(ConcurrentMap<K, LocalDateTime> pending, String sql,
+                                                KeyBinder<K> keyBinder) {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        // Key order keeps concurrent flushes and request transactions from locking rows in opposite orders
+        TreeMap<K, LocalDateTime> drained = new TreeMap<>();
+        for (K key : pending.keySet()) {
+            LocalDateTime timestamp = pending.remove(key);
+            if (timestamp != null) {
+                drained.put(key, timestamp);
+            }
+        }
+        List<Map.Entry<K, LocalDateTime>> entries = new ArrayList<>(drained.entrySet());
+        int batchSize = Math.max(1, properties.getBatchSize());
+        int written = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int from = 0; from < entries.size(); from += batchSize) {
+                    List<Map.Entry<K, LocalDateTime>> batch =
+                            entries.subList(from, Math.min(entries.size(), from + batchSize));
+                    try {
+                        for (Map.Entry<K, LocalDateTime> entry : batch) {
+                            Timestamp timestamp = Timestamp.valueOf(entry.getValue());
+                            statement.setTimestamp(1, timestamp);
+                            keyBinder.bind(statement, entry.getKey());
+                            statement.setTimestamp(3, timestamp);
+                            statement.addBatch();
+                        }
+                        statement.executeBatch();
+                        connection.commit();
+                        written += batch.size();
+                    } catch (SQLException e) {
+                        connection.rollback();
+                        throw e;
+                    }
+                }
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            requeue(pending, entries.subList(written, entries.size()));
+            StructuredLogger.logError(log, "Session timestamp flush failed", e);
+        }
+        if (written > 0) {
+            log.debug("Flushed {} session timestamp updates", written);
+        }
+        return written;
+    }
+
+    private static <K> void requeue(ConcurrentMap<K, LocalDateTime> pending, List<Map.Entry<K, LocalDateTime>> entries) {
+        for (Map.Entry<K, LocalDateTime> entry : entries) {
+            pending.merge(entry.getKey(), entry.getValue(), SessionTimestampWriteBehind::latest);
+        }
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    @FunctionalInterface
+    private interface KeyBinder<K> {
+        void bind(PreparedStatement statement, K key) throws SQLException;
+    }
+}
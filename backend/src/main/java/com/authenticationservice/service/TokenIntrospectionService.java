@@ -0,0 +1,126 @@
+package com.authenticationservice.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Service;
+
+import com.authenticationservice.config.TokenIntrospectionProperties;
+import com.authenticationservice.dto.TokenIntrospectionResult;
+import com.authenticationservice.security.AccessTokenClaims;
+import com.authenticationservice.security.CompiledAccessPolicy;
+import com.authenticationservice.security.JwtTokenProvider;
+import com.authenticationservice.security.ResourceAccessPolicy;
+import com.authenticationservice.security.UserAuthSnapshotCache;
+import com.authenticationservice.util.TokenHashing;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+/**
+ * Batch introspection of access tokens for gateways.
+ * Verified claims are cached by token hash until the token's {@code exp}, so repeated introspection of the
+ * same token costs a hash and a map lookup instead of a signature verification. User state and the token
+ * epoch are checked on every call through {@link UserAuthSnapshotCache}, so revoked tokens turn inactive
+ * immediately even while their claims stay cached.
+ */
+@Service
+public class TokenIntrospectionService {
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ResourceAccessPolicy resourceAccessPolicy;
+    private final UserAuthSnapshotCache userAuthSnapshotCache;
+    private final TokenIntrospectionProperties properties;
+    private final Cache<String, AccessTokenClaims> claimsCache;
+
+    public TokenIntrospectionService(JwtTokenProvider jwtTokenProvider,
+                                     ResourceAccessPolicy resourceAccessPolicy,
+                                     UserAuthSnapshotCache userAuthSnapshotCache,
+                                     TokenIntrospectionProperties properties) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.resourceAccessPolicy = resourceAccessPolicy;
+        this.userAuthSnapshotCache = userAuthSnapshotCache;
+        this.properties = properties;
+        this.claimsCache = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, properties.getCacheMaxSize()))
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+    }
+
+    public List<TokenIntrospectionResult> introspect(List<String> tokens, List<String> resources) {
+        List<String> requestedResources = resources != null ? resources : List.of();
+        if (tokens.size() > properties.getMaxTokens()) {
+            throw new IllegalArgumentException(
+                    "Too many tokens in introspection request (max " + properties.getMaxTokens() + ")");
+        }
+        if (requestedResources.size() > properties.getMaxResources()) {
+            throw new IllegalArgumentException(
+                    "Too many resources in introspection request (max " + properties.getMaxResources() + ")");
+        }
+        List<TokenIntrospectionResult> results = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            results.add(toResult(resolveClaims(token), requestedResources));
+        }
+        return results;
+    }
+
+    private AccessTokenClaims resolveClaims(String token) {
+        String tokenHash = TokenHashing.sha256Hex(token);
+        AccessTokenClaims cached = claimsCache.getIfPresent(tokenHash);
+        if (cached != null && isUnexpired(cached)) {
+            return cached;
+        }
+        AccessTokenClaims claims = jwtTokenProvider.parseAccessToken(token);
+        if (claims != null && claims.expiresAt() != null) {
+            claimsCache.put(tokenHash, claims);
+        }
+        return claims;
+    }
+
+    private TokenIntrospectionResult toResult(AccessTokenClaims claims, List<String> resources) {
+        TokenIntrospectionResult result = new TokenIntrospectionResult();
+        if (claims == null || !isUnexpired(claims) || !userAuthSnapshotCache.isCurrent(claims)) {
+            result.setActive(false);
+            return result;
+        }
+        result.setActive(true);
+        result.setSub(claims.subject());
+        result.setExp(claims.expiresAt().getEpochSecond());
+        result.setUserId(claims.userId());
+        result.setRoles(claims.roles());
+        CompiledAccessPolicy policy = resourceAccessPolicy.current();
+        long roleMask = policy.roleMask(claims.roles());
+        Map<String, Boolean> decisions = new LinkedHashMap<>();
+        for (String resource : resources) {
+            decisions.put(resource, policy.isAllowed(roleMask, resource));
+        }
+        result.setResources(decisions);
+        return result;
+    }
+
+    private boolean isUnexpired(AccessTokenClaims claims) {
+        return claims.expiresAt() != null && Instant.now().isBefore(claims.expiresAt());
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, AccessTokenClaims> {
+        @Override
+        public long expireAfterCreate(String key, AccessTokenClaims claims, long currentTime) {
+            long remainingMillis = claims.expiresAt().toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, AccessTokenClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, AccessTokenClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
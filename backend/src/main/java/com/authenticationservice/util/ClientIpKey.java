@@ -0,0 +1,254 @@
+package com.authenticationservice.util;
+
+/**
+ * A client IP address as a 128-bit value, used as a rate limiting key.
+ * <p>
+ * Addresses are parsed straight from the header characters, without splitting or substrings: IPv6 into two
+ * {@code long}s, IPv4 into the low 32 bits of its IPv4-mapped IPv6 form ({@code ::ffff:a.b.c.d}), so both
+ * families share one key type and hash two longs instead of a string. Values that are not an IP address keep
+ * their raw text, so they never collide with a real address.
+ */
+public final class ClientIpKey {
+
+    private static final long IPV4_MAPPED_PREFIX = 0xFFFFL << 32;
+
+    private final long high;
+    private final long low;
+    private final String raw;
+
+    private ClientIpKey(long high, long low, String raw) {
+        this.high = high;
+        this.low = low;
+        this.raw = raw;
+    }
+
+    public static ClientIpKey ofIpv4(int address) {
+        return new ClientIpKey(0L, IPV4_MAPPED_PREFIX | (address & 0xFFFFFFFFL), null);
+    }
+
+    public static ClientIpKey ofIpv6(long high, long low) {
+        return new ClientIpKey(high, low, null);
+    }
+
+    /**
+     * Key for a client address that could not be parsed, e.g. a hostname or {@code unknown}.
+     */
+    public static ClientIpKey unparsed(String value) {
+        return new ClientIpKey(0L, 0L, value);
+    }
+
+    public static ClientIpKey parse(CharSequence value) {
+        return parse(value, 0, value.length());
+    }
+
+    /**
+     * Parses {@code value[from, to)} as an IPv4 or IPv6 address, ignoring surrounding whitespace, IPv6 brackets
+     * and a zone id.
+     *
+     * @return the key, or {@code null} if the range is not an IP address
+     */
+    public static ClientIpKey parse(CharSequence value, int from, int to) {
+        while (from < to && value.charAt(from) <= ' ') {
+            from++;
+        }
+        while (to > from && value.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        if (from == to) {
+            return null;
+        }
+        if (value.charAt(from) == '[') {
+            if (value.charAt(to - 1) != ']') {
+                return null;
+            }
+            from++;
+            to--;
+        }
+        long ipv4 = parseIpv4(value, from, to);
+        if (ipv4 >= 0) {
+            return ofIpv4((int) ipv4);
+        }
+        return parseIpv6(value, from, to);
+    }
+
+    /**
+     * @return the address as an unsigned 32-bit value, or -1 if the range is not a dotted quad
+     */
+    private static long parseIpv4(CharSequence value, int from, int to) {
+        long address = 0;
+        int octets = 0;
+        int i = from;
+        while (i < to) {
+            int octet = 0;
+            int digits = 0;
+            while (i < to && digits < 4) {
+                char c = value.charAt(i);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                octet = octet * 10 + (c - '0');
+                digits++;
+                i++;
+            }
+            if (digits == 0 || digits > 3 || octet > 255) {
+                return -1;
+            }
+            address = address << 8 | octet;
+            octets++;
+            if (i == to) {
+                break;
+            }
+            if (value.charAt(i) != '.' || octets == 4) {
+                return -1;
+            }
+            i++;
+            if (i == to) {
+                return -1;
+            }
+        }
+        return octets == 4 ? address : -1;
+    }
+
+    private static ClientIpKey parseIpv6(CharSequence value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (value.charAt(i) == '%') {
+                to = i;
+                break;
+            }
+        }
+        // Groups before "::" accumulate in head, groups after it in tail, each as a 128-bit shift register
+        long headHigh = 0;
+        long headLow = 0;
+        long tailHigh = 0;
+        long tailLow = 0;
+        int headGroups = 0;
+        int tailGroups = 0;
+        boolean compressed = false;
+
+        int i = from;
+        if (to - from >= 2 && value.charAt(from) == ':' && value.charAt(from + 1) == ':') {
+            compressed = true;
+            i += 2;
+        } else if (from < to && value.charAt(from) == ':') {
+            return null;
+        }
+        while (i < to) {
+            int start = i;
+            long group = 0;
+            int digits = 0;
+            while (i < to && digits < 5) {
+                int nibble = Character.digit(value.charAt(i), 16);
+                if (nibble < 0) {
+                    break;
+                }
+                group = group << 4 | nibble;
+                digits++;
+                i++;
+            }
+            int groups = 1;
+            if (i < to && value.charAt(i) == '.') {
+                // Trailing embedded IPv4 address fills the last two groups
+                group = parseIpv4(value, start, to);
+                if (group < 0) {
+                    return null;
+                }
+                groups = 2;
+                i = to;
+            } else if (digits == 0 || digits > 4) {
+                return null;
+            }
+            for (int k = groups - 1; k >= 0; k--) {
+                long part = group >>> (16 * k) & 0xFFFF;
+                if (compressed) {
+                    tailHigh = tailHigh << 16 | tailLow >>> 48;
+                    tailLow = tailLow << 16 | part;
+                    tailGroups++;
+                } else {
+                    headHigh = headHigh << 16 | headLow >>> 48;
+                    headLow = headLow << 16 | part;
+                    headGroups++;
+                }
+            }
+            if (i == to) {
+                break;
+            }
+            if (value.charAt(i) != ':') {
+                return null;
+            }
+            i++;
+            if (i < to && value.charAt(i) == ':') {
+                if (compressed) {
+                    return null;
+                }
+                compressed = true;
+                i++;
+            } else if (i == to) {
+                return null;
+            }
+        }
+
+        int total = headGroups + tailGroups;
+        if (compressed ? total > 7 : total != 8) {
+            return null;
+        }
+        int shift = (8 - headGroups) * 16;
+        if (shift >= 128) {
+            headHigh = 0;
+            headLow = 0;
+        } else if (shift >= 64) {
+            headHigh = headLow << (shift - 64);
+            headLow = 0;
+        } else if (shift > 0) {
+            headHigh = headHigh << shift | headLow >>> (64 - shift);
+            headLow = headLow << shift;
+        }
+        return ofIpv6(headHigh | tailHigh, headLow | tailLow);
+    }
+
+    public boolean isIpv4() {
+        return raw == null && high == 0 && (low & ~0xFFFFFFFFL) == IPV4_MAPPED_PREFIX;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ClientIpKey other)) {
+            return false;
+        }
+        return high == other.high && low == other.low
+                && (raw == null ? other.raw == null : raw.equals(other.raw));
+    }
+
+    @Override
+    public int hashCode() {
+        if (raw != null) {
+            return raw.hashCode();
+        }
+        long mixed = (high ^ Long.rotateLeft(low, 32)) * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ mixed >>> 32);
+    }
+
+    /**
+     * Canonical text: dotted quad for IPv4, eight uncompressed hex groups for IPv6, or the raw value.
+     */
+    @Override
+    public String toString() {
+        if (raw != null) {
+            return raw;
+        }
+        if (isIpv4()) {
+            return (low >>> 24 & 0xFF) + "." + (low >>> 16 & 0xFF) + "." + (low >>> 8 & 0xFF) + "." + (low & 0xFF);
+        }
+        StringBuilder text = new StringBuilder(39);
+        for (int group = 0; group < 8; group++) {
+            long bits = group < 4 ? high : low;
+            if (group > 0) {
+                text.append(':');
+            }
+            text.append(Long.toHexString(bits >>> (48 - 16 * (group % 4)) & 0xFFFF));
+        }
+        return text.toString();
+    }
+}
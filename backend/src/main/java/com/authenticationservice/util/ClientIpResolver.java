@@ -0,0 +1,68 @@
+package com.authenticationservice.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Client address helpers for requests behind proxies/load balancers.
+ */
+public final class ClientIpResolver {
+
+    private static final int MAX_USER_AGENT_LENGTH = 512;
+
+    private ClientIpResolver() {
+    }
+
+    /**
+     * Extracts the client IP address, preferring the first {@code X-Forwarded-For} hop, then {@code X-Real-IP},
+     * then the socket address.
+     */
+    public static String resolve(HttpServletRequest request) {
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (xForwardedFor != null && !xForwardedFor.isEmpty() && !"unknown".equalsIgnoreCase(xForwardedFor)) {
+            // X-Forwarded-For can contain multiple IPs, take the first one
+            int comma = xForwardedFor.indexOf(',');
+            return (comma < 0 ? xForwardedFor : xForwardedFor.substring(0, comma)).trim();
+        }
+
+        String xRealIp = request.getHeader("X-Real-IP");
+        if (xRealIp != null && !xRealIp.isEmpty() && !"unknown".equalsIgnoreCase(xRealIp)) {
+            return xRealIp.trim();
+        }
+
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * Same resolution as {@link #resolve(HttpServletRequest)}, parsed in place into a {@link ClientIpKey}.
+     * Only the key itself is allocated unless the address is not an IP.
+     */
+    public static ClientIpKey resolveKey(HttpServletRequest request) {
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (xForwardedFor != null && !xForwardedFor.isEmpty() && !"unknown".equalsIgnoreCase(xForwardedFor)) {
+            int comma = xForwardedFor.indexOf(',');
+            ClientIpKey key = ClientIpKey.parse(xForwardedFor, 0, comma < 0 ? xForwardedFor.length() : comma);
+            return key != null ? key : ClientIpKey.unparsed(resolve(request));
+        }
+
+        String xRealIp = request.getHeader("X-Real-IP");
+        if (xRealIp != null && !xRealIp.isEmpty() && !"unknown".equalsIgnoreCase(xRealIp)) {
+            ClientIpKey key = ClientIpKey.parse(xRealIp);
+            return key != null ? key : ClientIpKey.unparsed(xRealIp.trim());
+        }
+
+        String remoteAddr = request.getRemoteAddr();
+        ClientIpKey key = remoteAddr != null ? ClientIpKey.parse(remoteAddr) : null;
+        return key != null ? key : ClientIpKey.unparsed(String.valueOf(remoteAddr));
+    }
+
+    /**
+     * @return the {@code User-Agent} header cut to the length stored with a session, or null if absent
+     */
+    public static String userAgent(HttpServletRequest request) {
+        String userAgent = request.getHeader("User-Agent");
+        if (userAgent == null || userAgent.isBlank()) {
+            return null;
+        }
+        return userAgent.length() > MAX_USER_AGENT_LENGTH ? userAgent.substring(0, MAX_USER_AGENT_LENGTH) : userAgent;
+    }
+}
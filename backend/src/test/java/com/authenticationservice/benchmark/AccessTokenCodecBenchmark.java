@@ -0,0 +1,131 @@
+package com.authenticationservice.benchmark;
+
+import com.authenticationservice.config.JwtProperties;
+import com.authenticationservice.constants.SecurityConstants;
+import com.authenticationservice.constants.TestConstants;
+import com.authenticationservice.model.Role;
+import com.authenticationservice.model.User;
+import com.authenticationservice.security.AccessTokenClaims;
+import com.authenticationservice.security.JwtKeyRingManager;
+import com.authenticationservice.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JJWT access token path with the built-in HMAC codec ({@code jwt.fast-codec-enabled}).
+ * <p>
+ * Run after {@code mvn test-compile}:
+ * <pre>
+ * mvn dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     com.authenticationservice.benchmark.AccessTokenCodecBenchmark
+ * </pre>
+ * Add {@code -prof gc} via {@link org.openjdk.jmh.Main} to compare allocation rates.
+ * <p>
+ * The {@code *VirtualThreads} variants parse each token on a fresh virtual thread, like request handling with
+ * {@code spring.threads.virtual.enabled}, so per-thread state shows up as the per-request cost it is there.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccessTokenCodecBenchmark {
+
+    private static final int VIRTUAL_THREAD_BATCH = 1_000;
+
+    private JwtTokenProvider jjwtProvider;
+    private JwtTokenProvider fastProvider;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jjwtProvider = provider(false);
+        fastProvider = provider(true);
+
+        user = new User();
+        user.setId(42L);
+        user.setEmail(TestConstants.UserData.TEST_EMAIL);
+        Role role = new Role();
+        role.setName(SecurityConstants.ROLE_USER);
+        user.setRoles(Set.of(role));
+
+        token = jjwtProvider.generateAccessToken(user);
+    }
+
+    private JwtTokenProvider provider(boolean fastCodec) {
+        JwtProperties properties = new JwtProperties();
+        properties.setAccessSecret(TestConstants.TestProperties.JWT_ACCESS_SECRET);
+        properties.setRefreshSecret(TestConstants.TestProperties.JWT_REFRESH_SECRET);
+        properties.setAccessExpiration(TimeUnit.DAYS.toMillis(1));
+        properties.setRefreshExpiration(TimeUnit.DAYS.toMillis(7));
+        properties.setFastCodecEnabled(fastCodec);
+        return new JwtTokenProvider(properties, new JwtKeyRingManager(properties));
+    }
+
+    @Benchmark
+    public String generateJjwt() {
+        return jjwtProvider.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public String generateFastCodec() {
+        return fastProvider.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public AccessTokenClaims parseJjwt() {
+        return jjwtProvider.parseAccessToken(token);
+    }
+
+    @Benchmark
+    public AccessTokenClaims parseFastCodec() {
+        return fastProvider.parseAccessToken(token);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VIRTUAL_THREAD_BATCH)
+    public void parseJjwtVirtualThreads(Blackhole blackhole) {
+        parseOnVirtualThreads(jjwtProvider, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VIRTUAL_THREAD_BATCH)
+    public void parseFastCodecVirtualThreads(Blackhole blackhole) {
+        parseOnVirtualThreads(fastProvider, blackhole);
+    }
+
+    private void parseOnVirtualThreads(JwtTokenProvider provider, Blackhole blackhole) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < VIRTUAL_THREAD_BATCH; i++) {
+                executor.execute(() -> blackhole.consume(provider.parseAccessToken(token)));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AccessTokenCodecBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
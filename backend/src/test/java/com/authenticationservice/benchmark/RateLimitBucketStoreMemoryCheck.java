@@ -0,0 +1,82 @@
+package com.authenticationservice.benchmark;
+
+import com.authenticationservice.config.RateLimitConfig;
+import com.authenticationservice.service.RateLimitingService;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+/**
+ * Pushes 10M distinct client keys through {@link RateLimitingService} and checks that the bucket store stays at
+ * {@code rate-limit.max-buckets} entries under a key-spraying flood, retaining at most {@code maxBytesPerEntry}
+ * of heap per entry (about 380 bytes today). A violated bound throws, so the run exits non-zero.
+ * <p>
+ * Run after {@code mvn test-compile}, with a heap small enough that an unbounded store would fail:
+ * <pre>
+ * mvn dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -Xmx256m -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     com.authenticationservice.benchmark.RateLimitBucketStoreMemoryCheck [keys] [maxBuckets] [maxBytesPerEntry]
+ * </pre>
+ */
+public final class RateLimitBucketStoreMemoryCheck {
+
+    private static final long EVICTION_WAIT_MS = 5_000;
+
+    private RateLimitBucketStoreMemoryCheck() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        long keys = args.length > 0 ? Long.parseLong(args[0]) : 10_000_000L;
+        long maxBuckets = args.length > 1 ? Long.parseLong(args[1]) : 200_000L;
+        long maxBytesPerEntry = args.length > 2 ? Long.parseLong(args[2]) : 512L;
+
+        RateLimitConfig config = new RateLimitConfig();
+        config.setAuthPerMinute(120);
+        config.setMaxBuckets(maxBuckets);
+        RateLimitingService service = new RateLimitingService(config);
+
+        long baseline = usedHeapAfterGc();
+        long start = System.nanoTime();
+        for (long i = 0; i < keys; i++) {
+            // Distinct IPv4-shaped keys, each consuming one token like a login attempt would
+            service.resolveBucket("auth:" + (i >>> 24 & 0xff) + "." + (i >>> 16 & 0xff) + "."
+                    + (i >>> 8 & 0xff) + "." + (i & 0xff)).tryConsume(1);
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        long entries = awaitEviction(service, maxBuckets);
+        long retained = usedHeapAfterGc() - baseline;
+        long bytesPerEntry = entries == 0 ? 0 : retained / entries;
+
+        System.out.printf("keys=%d maxBuckets=%d entries=%d sizeEvictions=%d elapsedMs=%d retainedMiB=%.1f bytesPerEntry=%d%n",
+                keys, maxBuckets, entries, service.sizeEvictionCount(), elapsedMs,
+                retained / (1024.0 * 1024.0), bytesPerEntry);
+
+        // All keys go to the auth store, so the total is bounded by that store's cap alone
+        if (entries > maxBuckets) {
+            throw new IllegalStateException("Bucket store is unbounded: " + entries + " entries, cap " + maxBuckets);
+        }
+        if (bytesPerEntry > maxBytesPerEntry) {
+            throw new IllegalStateException("Bucket store retains " + bytesPerEntry + " bytes per entry, limit "
+                    + maxBytesPerEntry);
+        }
+    }
+
+    /**
+     * Size-based eviction runs asynchronously, so give it a moment to catch up with the last writes.
+     */
+    private static long awaitEviction(RateLimitingService service, long maxBuckets) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + EVICTION_WAIT_MS;
+        while (service.size() > maxBuckets && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        return service.size();
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -178,7 +178,7 @@ public abstract class BaseIntegrationTest {
         return transactionTemplate.execute(status -> {
             User managedUser = userRepository.findById(user.getId())
                     .orElseThrow(() -> new RuntimeException("User not found for refresh token generation"));
-            return refreshTokenRotationService.issueRefreshToken(managedUser, null, null, null);
+            return refreshTokenRotationService.issueRefreshToken(managedUser, null, null, null).token();
         });
     }
 
@@ -31,13 +31,22 @@ public final class TestPropertyConfigurator {
         registry.add("jwt.refresh-secret", () -> TestConstants.TestProperties.JWT_REFRESH_SECRET);
         registry.add("jwt.access-expiration", () -> TestConstants.TestProperties.JWT_ACCESS_EXPIRATION);
         registry.add("jwt.refresh-expiration", () -> TestConstants.TestProperties.JWT_REFRESH_EXPIRATION);
+        registry.add("security.introspection.client-secret",
+                () -> TestConstants.TestProperties.INTROSPECTION_CLIENT_SECRET);
 
         // Refresh token rotation properties
         registry.add("security.refresh-rotation.enabled", () -> true);
         registry.add("security.refresh-rotation.revoke-on-reuse", () -> true);
+        registry.add("security.refresh-rotation.reuse-grace-period", () -> "0s");
         registry.add("security.refresh-rotation.max-families-per-user", () -> 5);
         registry.add("security.refresh-rotation.cleanup-enabled", () -> true);
         registry.add("security.refresh-rotation.cleanup-expired-after-days", () -> 30);
+        // Write session timestamps synchronously so tests can read them back right away
+        registry.add("security.session-write-behind.enabled", () -> false);
+        // Lockout tests fail logins repeatedly from one address and expect the database lockout to answer
+        registry.add("security.login-throttle.enabled", () -> false);
+        // Bursts of test logins must not be shed by a limit adapted to the test machine
+        registry.add("security.concurrency-limit.enabled", () -> false);
         
         // Mail properties
         registry.add("spring.mail.host", () -> TestConstants.TestProperties.MAIL_HOST);
@@ -100,6 +100,7 @@ public final class TestConstants {
         public static final String JWT_REFRESH_SECRET = "u+1t/7mY9rG/u4x12zN7z+B2d6Fp7p+T9v9w8x/y/z+1t/7mY9rG/u4x12zN7z+B";
         public static final String JWT_ACCESS_EXPIRATION = "3600000"; // 1 hour
         public static final String JWT_REFRESH_EXPIRATION = "86400000"; // 24 hours
+        public static final String INTROSPECTION_CLIENT_SECRET = "test-introspection-client-secret";
         
         // Mail Properties
         public static final String MAIL_HOST = "localhost";
@@ -7,10 +7,12 @@ import com.authenticationservice.constants.TestConstants;
 import com.authenticationservice.dto.LoginRequest;
 import com.authenticationservice.dto.RegistrationRequest;
 import com.authenticationservice.dto.ResetPasswordRequest;
+import com.authenticationservice.dto.TokenIntrospectionRequest;
 import com.authenticationservice.model.AccessMode;
 import com.authenticationservice.model.AllowedEmail;
 import com.authenticationservice.model.BlockedEmail;
 import com.authenticationservice.model.Role;
+import com.authenticationservice.model.RefreshTokenFamily;
 import com.authenticationservice.model.User;
 import com.authenticationservice.repository.BlockedEmailRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -43,6 +45,7 @@ import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -314,6 +317,29 @@ class AuthControllerIntegrationTest extends BaseIntegrationTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    @DisplayName("Should keep the family revoked after rejecting a reused refresh token")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void refresh_shouldCommitFamilyRevocation_whenTokenReused() throws Exception {
+        // Arrange
+        String refreshToken = generateRefreshToken(testUser);
+        String familyId = jwtTokenProvider.getRefreshTokenFamilyId(refreshToken);
+
+        mockMvc.perform(post(ApiConstants.AUTH_BASE_URL + ApiConstants.REFRESH_URL)
+                .cookie(new Cookie(SecurityConstants.REFRESH_TOKEN_COOKIE_NAME, refreshToken)))
+                .andExpect(status().isOk());
+
+        // Act
+        mockMvc.perform(post(ApiConstants.AUTH_BASE_URL + ApiConstants.REFRESH_URL)
+                .cookie(new Cookie(SecurityConstants.REFRESH_TOKEN_COOKIE_NAME, refreshToken)))
+                .andExpect(status().isUnauthorized());
+
+        // Assert - the rejection must not roll back the revocation made in the same transaction
+        RefreshTokenFamily family = getTransactionTemplate().execute(status ->
+                refreshTokenFamilyRepository.findById(familyId).orElseThrow());
+        assertNotNull(family.getRevokedAt(), "Reused token's family should stay revoked");
+    }
+
     @Test
     @DisplayName("Should return unauthorized when refresh token is invalid")
     void refresh_shouldReturnUnauthorized_whenTokenInvalid() throws Exception {
@@ -933,6 +959,67 @@ class AuthControllerIntegrationTest extends BaseIntegrationTest {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    @DisplayName("Should introspect a batch of tokens with per-resource decisions")
+    void introspect_shouldReturnResultPerToken_whenBatchIsValid() throws Exception {
+        // Arrange
+        String accessToken = jwtTokenProvider.generateAccessToken(testUser);
+        TokenIntrospectionRequest request = new TokenIntrospectionRequest();
+        request.setTokens(List.of(accessToken, "invalid.token"));
+        request.setResources(List.of(SecurityConstants.ADMIN_PANEL_RESOURCE));
+
+        // Act & Assert
+        mockMvc.perform(post(ApiConstants.AUTH_BASE_URL + ApiConstants.INTROSPECT_URL)
+                .header(SecurityConstants.INTROSPECTION_CLIENT_SECRET_HEADER,
+                        TestConstants.TestProperties.INTROSPECTION_CLIENT_SECRET)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(2))
+                .andExpect(jsonPath("$.results[0].active").value(true))
+                .andExpect(jsonPath("$.results[0].sub").value(TestConstants.UserData.TEST_EMAIL))
+                .andExpect(jsonPath("$.results[0].resources['" + SecurityConstants.ADMIN_PANEL_RESOURCE + "']").value(false))
+                .andExpect(jsonPath("$.results[1].active").value(false))
+                .andExpect(jsonPath("$.results[1].sub").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should return 401 when introspection caller does not authenticate")
+    void introspect_shouldReturn401_whenCallerAnonymous() throws Exception {
+        // Arrange
+        TokenIntrospectionRequest request = new TokenIntrospectionRequest();
+        request.setTokens(List.of(jwtTokenProvider.generateAccessToken(testUser)));
+        MockMvc securedMockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .apply(springSecurity())
+                .build();
+
+        // Act & Assert
+        securedMockMvc.perform(post(ApiConstants.AUTH_BASE_URL + ApiConstants.INTROSPECT_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnauthorized());
+        securedMockMvc.perform(post(ApiConstants.AUTH_BASE_URL + ApiConstants.INTROSPECT_URL)
+                .header(SecurityConstants.INTROSPECTION_CLIENT_SECRET_HEADER, "wrong-secret")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should return 400 when introspection request has no tokens")
+    void introspect_shouldReturn400_whenTokensAreMissing() throws Exception {
+        // Arrange
+        TokenIntrospectionRequest request = new TokenIntrospectionRequest();
+
+        // Act & Assert
+        mockMvc.perform(post(ApiConstants.AUTH_BASE_URL + ApiConstants.INTROSPECT_URL)
+                .header(SecurityConstants.INTROSPECTION_CLIENT_SECRET_HEADER,
+                        TestConstants.TestProperties.INTROSPECTION_CLIENT_SECRET)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Should return tokens when OAuth2 login is successful")
     void oauth2Success_shouldReturnTokens_whenOAuth2LoginSuccessful() throws Exception {
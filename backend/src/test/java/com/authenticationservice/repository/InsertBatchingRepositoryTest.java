@@ -0,0 +1,166 @@
+package com.authenticationservice.repository;
+
+import com.authenticationservice.config.TestPropertyConfigurator;
+import com.authenticationservice.constants.TestConstants;
+import com.authenticationservice.model.AccessListChangeLog;
+import com.authenticationservice.model.AccessMode;
+import com.authenticationservice.model.AccessModeChangeLog;
+import com.authenticationservice.model.RefreshToken;
+import com.authenticationservice.model.RefreshTokenFamily;
+import com.authenticationservice.model.RefreshTokenStatus;
+import com.authenticationservice.model.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Testcontainers
+@org.springframework.test.context.TestPropertySource(
+    locations = "classpath:application-test.yml",
+    properties = {
+        "admin.enabled=false",
+        "admin.email=admin@test.com",
+        "admin.username=admin",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+    }
+)
+@Import(com.authenticationservice.config.TestConfig.class)
+@DisplayName("Insert Batching Tests")
+class InsertBatchingRepositoryTest {
+
+    private static final int ROWS = 20;
+
+    @Container
+    static PostgreSQLContainer postgres = new PostgreSQLContainer(TestConstants.TestDatabase.POSTGRES_IMAGE)
+            .withDatabaseName(TestConstants.TestDatabase.DATABASE_NAME)
+            .withUsername(TestConstants.TestDatabase.USERNAME)
+            .withPassword(TestConstants.TestDatabase.PASSWORD);
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        TestPropertyConfigurator.configureProperties(registry, postgres);
+    }
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private AccessListChangeLogRepository accessListChangeLogRepository;
+
+    @Autowired
+    private AccessModeChangeLogRepository accessModeChangeLogRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenFamilyRepository refreshTokenFamilyRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private long preparedStatementsFor(Runnable writes) {
+        statistics.clear();
+        writes.run();
+        entityManager.flush();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    @DisplayName("Should write access list audit entries with one sequence call and one insert batch")
+    void accessListChangeLog_shouldInsertInOneBatch() {
+        // Arrange
+        List<AccessListChangeLog> entries = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            entries.add(new AccessListChangeLog(null, AccessListChangeLog.AccessListType.WHITELIST,
+                    "user" + i + "@example.com", AccessListChangeLog.AccessListAction.ADD, "admin",
+                    LocalDateTime.now(), null));
+        }
+
+        // Act
+        long statements = preparedStatementsFor(() -> accessListChangeLogRepository.saveAll(entries));
+
+        // Assert
+        assertEquals(ROWS, statistics.getEntityInsertCount());
+        assertEquals(2, statements, "Expected one sequence fetch and one batched INSERT");
+    }
+
+    @Test
+    @DisplayName("Should write access mode audit entries with one sequence call and one insert batch")
+    void accessModeChangeLog_shouldInsertInOneBatch() {
+        // Arrange
+        List<AccessModeChangeLog> entries = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            entries.add(new AccessModeChangeLog(null, AccessMode.WHITELIST, AccessMode.BLACKLIST, "admin",
+                    LocalDateTime.now(), null));
+        }
+
+        // Act
+        long statements = preparedStatementsFor(() -> accessModeChangeLogRepository.saveAll(entries));
+
+        // Assert
+        assertEquals(ROWS, statistics.getEntityInsertCount());
+        assertEquals(2, statements, "Expected one sequence fetch and one batched INSERT");
+    }
+
+    @Test
+    @DisplayName("Should issue a family and its tokens as one insert per table")
+    void refreshTokens_shouldInsertInOneBatchPerTable() {
+        // Arrange
+        User user = new User();
+        user.setEmail("batch@example.com");
+        user.setName("Batch");
+        user.setPassword("encoded");
+        user = userRepository.saveAndFlush(user);
+
+        RefreshTokenFamily family = new RefreshTokenFamily();
+        family.setId(UUID.randomUUID().toString());
+        family.setUser(user);
+        List<RefreshToken> tokens = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            RefreshToken token = new RefreshToken();
+            token.setFamily(family);
+            token.setUser(user);
+            token.setJtiHash(UUID.randomUUID().toString().replace("-", ""));
+            token.setIssuedAt(LocalDateTime.now());
+            token.setExpiresAt(LocalDateTime.now().plusDays(1));
+            token.setStatus(RefreshTokenStatus.ROTATED);
+            tokens.add(token);
+        }
+
+        // Act
+        long statements = preparedStatementsFor(() -> {
+            refreshTokenFamilyRepository.save(family);
+            refreshTokenRepository.saveAll(tokens);
+        });
+
+        // Assert
+        assertEquals(ROWS + 1, statistics.getEntityInsertCount());
+        assertEquals(3, statements, "Expected one sequence fetch and one batched INSERT per table");
+    }
+}
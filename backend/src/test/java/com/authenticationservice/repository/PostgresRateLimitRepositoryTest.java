@@ -0,0 +1,158 @@
+package com.authenticationservice.repository;
+
+import com.authenticationservice.config.RateLimitConfig;
+import com.authenticationservice.config.RateLimitStoreConfig;
+import com.authenticationservice.config.TestPropertyConfigurator;
+import com.authenticationservice.constants.TestConstants;
+import com.authenticationservice.service.RateLimitBucketTableService;
+import com.authenticationservice.service.RateLimitingService;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Testcontainers
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@org.springframework.test.context.TestPropertySource(
+    locations = "classpath:application-test.yml",
+    properties = {
+        "admin.enabled=false",
+        "admin.email=admin@test.com",
+        "admin.username=admin"
+    }
+)
+@Import(com.authenticationservice.config.TestConfig.class)
+@DisplayName("Postgres Rate Limit Store Tests")
+class PostgresRateLimitRepositoryTest {
+
+    @Container
+    static PostgreSQLContainer postgres = new PostgreSQLContainer(TestConstants.TestDatabase.POSTGRES_IMAGE)
+            .withDatabaseName(TestConstants.TestDatabase.DATABASE_NAME)
+            .withUsername(TestConstants.TestDatabase.USERNAME)
+            .withPassword(TestConstants.TestDatabase.PASSWORD);
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        TestPropertyConfigurator.configureProperties(registry, postgres);
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    private RateLimitConfig config;
+    private RateLimitBucketTableService bucketTable;
+    private ProxyManager<String> proxyManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        config = new RateLimitConfig();
+        config.setStore(RateLimitConfig.Store.POSTGRES);
+        config.setAuthPerMinute(20);
+        config.setResendPerMinute(1);
+        // Synchronize every call so counts are exact
+        config.setMaxUnsynchronizedTokens(0);
+        bucketTable = new RateLimitBucketTableService(dataSource, config);
+        proxyManager = new RateLimitStoreConfig().rateLimitProxyManager(dataSource, bucketTable);
+        new JdbcTemplate(dataSource).update("DELETE FROM " + RateLimitBucketTableService.TABLE);
+    }
+
+    private RateLimitingService node() {
+        return new RateLimitingService(config, proxyManager);
+    }
+
+    @Test
+    @DisplayName("Should enforce one auth limit across nodes")
+    void resolveBucket_shouldShareLimitAcrossNodes() {
+        // Arrange
+        RateLimitingService first = node();
+        RateLimitingService second = node();
+        int consumed = 0;
+
+        // Act
+        for (int i = 0; i < 30; i++) {
+            RateLimitingService node = i % 2 == 0 ? first : second;
+            if (node.resolveBucket("auth:10.0.0.1").tryConsume(1)) {
+                consumed++;
+            }
+        }
+
+        // Assert
+        assertEquals(20, consumed);
+    }
+
+    @Test
+    @DisplayName("Should allow one resend per email across nodes")
+    void resolveResendBucket_shouldShareLimitAcrossNodes() {
+        // Act
+        boolean first = node().resolveResendBucket("user@example.com").tryConsume(1);
+        boolean second = node().resolveResendBucket("user@example.com").tryConsume(1);
+
+        // Assert
+        assertTrue(first);
+        assertFalse(second);
+    }
+
+    @Test
+    @DisplayName("Should purge buckets idle for longer than a refill period")
+    void purgeIdle_shouldDeleteOnlyIdleBuckets() throws Exception {
+        // Arrange
+        node().resolveBucket("auth:10.0.0.1").tryConsume(1);
+        node().resolveBucket("auth:10.0.0.2").tryConsume(1);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        // Bypass the touch trigger to age one row
+        jdbc.execute("ALTER TABLE rate_limit_buckets DISABLE TRIGGER rate_limit_buckets_touch");
+        jdbc.update("UPDATE rate_limit_buckets SET updated_at = now() - interval '2 minutes' WHERE id = ?",
+                "auth:10.0.0.1");
+        jdbc.execute("ALTER TABLE rate_limit_buckets ENABLE TRIGGER rate_limit_buckets_touch");
+
+        // Act
+        long deleted = bucketTable.purgeIdle();
+
+        // Assert
+        assertEquals(1, deleted);
+        assertEquals(1, jdbc.queryForObject("SELECT COUNT(*) FROM rate_limit_buckets", Long.class));
+    }
+
+    @Test
+    @DisplayName("Should skip the purge while another node holds the purge lock")
+    void purgeIdle_shouldSkip_whenLockHeldElsewhere() throws Exception {
+        // Arrange
+        node().resolveBucket("auth:10.0.0.1").tryConsume(1);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("ALTER TABLE rate_limit_buckets DISABLE TRIGGER rate_limit_buckets_touch");
+        jdbc.update("UPDATE rate_limit_buckets SET updated_at = now() - interval '2 minutes'");
+        jdbc.execute("ALTER TABLE rate_limit_buckets ENABLE TRIGGER rate_limit_buckets_touch");
+
+        try (Connection otherNode = dataSource.getConnection();
+             Statement statement = otherNode.createStatement()) {
+            statement.execute("SELECT pg_advisory_lock(" + RateLimitBucketTableService.PURGE_LOCK_KEY + ")");
+
+            // Act
+            long deleted = bucketTable.purgeIdle();
+
+            // Assert
+            assertEquals(0, deleted);
+            assertEquals(1, jdbc.queryForObject("SELECT COUNT(*) FROM rate_limit_buckets", Long.class));
+            statement.execute("SELECT pg_advisory_unlock(" + RateLimitBucketTableService.PURGE_LOCK_KEY + ")");
+        }
+        assertEquals(1, bucketTable.purgeIdle());
+    }
+}
@@ -0,0 +1,189 @@
+package com.authenticationservice.repository;
+
+import com.authenticationservice.config.RefreshTokenRotationProperties;
+import com.authenticationservice.config.TestPropertyConfigurator;
+import com.authenticationservice.constants.TestConstants;
+import com.authenticationservice.service.RefreshTokenPartitionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Testcontainers
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@org.springframework.test.context.TestPropertySource(
+    locations = "classpath:application-test.yml",
+    properties = {
+        "admin.enabled=false",
+        "admin.email=admin@test.com",
+        "admin.username=admin"
+    }
+)
+@Import(com.authenticationservice.config.TestConfig.class)
+@DisplayName("Refresh Token Partitioning Tests")
+class RefreshTokenPartitionRepositoryTest {
+
+    private static final String DEFAULT_PARTITION = "refresh_tokens_default";
+
+    @Container
+    static PostgreSQLContainer postgres = new PostgreSQLContainer(TestConstants.TestDatabase.POSTGRES_IMAGE)
+            .withDatabaseName(TestConstants.TestDatabase.DATABASE_NAME)
+            .withUsername(TestConstants.TestDatabase.USERNAME)
+            .withPassword(TestConstants.TestDatabase.PASSWORD);
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        TestPropertyConfigurator.configureProperties(registry, postgres);
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbc;
+    private RefreshTokenRotationProperties properties;
+    private RefreshTokenPartitionService service;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(dataSource);
+        // Start every test from the unpartitioned layout an existing deployment has
+        jdbc.execute("DROP TABLE IF EXISTS refresh_tokens CASCADE");
+        jdbc.execute("""
+                CREATE TABLE refresh_tokens (
+                    id bigint PRIMARY KEY,
+                    family_id varchar(36) NOT NULL,
+                    user_id bigint NOT NULL,
+                    jti_hash varchar(64) NOT NULL,
+                    issued_at timestamp(6) NOT NULL,
+                    expires_at timestamp(6) NOT NULL,
+                    status varchar(16) NOT NULL,
+                    replaced_by_jti_hash varchar(64),
+                    ip_address varchar(64),
+                    user_agent varchar(512))
+                """);
+        properties = new RefreshTokenRotationProperties();
+        properties.setPartitionPremakeMonths(2);
+        properties.setCleanupExpiredAfterDays(30);
+        service = new RefreshTokenPartitionService(dataSource, properties);
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now(ZoneOffset.UTC);
+    }
+
+    private static String monthPartition(LocalDateTime expiresAt) {
+        return "refresh_tokens_p" + YearMonth.from(expiresAt).format(DateTimeFormatter.ofPattern("yyyyMM"));
+    }
+
+    private void insertToken(long id, LocalDateTime expiresAt) {
+        jdbc.update("""
+                INSERT INTO refresh_tokens (id, family_id, user_id, jti_hash, issued_at, expires_at, status)
+                VALUES (?, 'family-1', 1, ?, ?, ?, 'ACTIVE')
+                """, id, "hash-" + id, Timestamp.valueOf(now()), Timestamp.valueOf(expiresAt));
+    }
+
+    private String partitionOf(long id) {
+        return jdbc.queryForObject("SELECT tableoid::regclass::text FROM refresh_tokens WHERE id = ?", String.class, id);
+    }
+
+    private List<String> partitions() {
+        return jdbc.queryForList("""
+                SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'refresh_tokens'::regclass
+                """, String.class);
+    }
+
+    @Test
+    @DisplayName("Should convert a plain table and copy only rows inside retention")
+    void initialize_shouldConvertPlainTable_whenUnpartitioned() throws Exception {
+        // Arrange
+        LocalDateTime live = now().plusDays(1);
+        insertToken(1, live);
+        insertToken(2, now().minusDays(90));
+
+        // Act
+        service.initialize();
+
+        // Assert
+        assertEquals("p", jdbc.queryForObject(
+                "SELECT relkind::text FROM pg_class WHERE oid = 'refresh_tokens'::regclass", String.class));
+        assertEquals(1, jdbc.queryForObject("SELECT COUNT(*) FROM refresh_tokens", Long.class));
+        assertEquals(monthPartition(live), partitionOf(1));
+        assertNull(jdbc.queryForObject("SELECT to_regclass('refresh_tokens_unpartitioned')::text", String.class));
+    }
+
+    @Test
+    @DisplayName("Should premake months ahead and keep a default partition")
+    void initialize_shouldPremakeMonths() throws Exception {
+        // Act
+        service.initialize();
+
+        // Assert
+        List<String> partitions = partitions();
+        assertTrue(partitions.contains(DEFAULT_PARTITION));
+        assertTrue(partitions.contains(monthPartition(now())));
+        assertTrue(partitions.contains(monthPartition(now().plusMonths(2))));
+        assertFalse(partitions.contains(monthPartition(now().plusMonths(3))));
+    }
+
+    @Test
+    @DisplayName("Should move rows out of the default partition when their month is created")
+    void maintain_shouldMoveDefaultRows_whenMonthCreated() throws Exception {
+        // Arrange
+        service.initialize();
+        LocalDateTime farExpiry = now().plusMonths(5);
+        insertToken(3, farExpiry);
+        assertEquals(DEFAULT_PARTITION, partitionOf(3));
+        properties.setPartitionPremakeMonths(6);
+
+        // Act
+        service.maintain();
+
+        // Assert
+        assertEquals(monthPartition(farExpiry), partitionOf(3));
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM " + DEFAULT_PARTITION, Long.class));
+        assertTrue(partitions().contains(DEFAULT_PARTITION));
+    }
+
+    @Test
+    @DisplayName("Should drop months and default rows past retention")
+    void maintain_shouldDropExpiredPartitions() throws Exception {
+        // Arrange
+        service.initialize();
+        LocalDateTime expired = now().minusMonths(3);
+        YearMonth expiredMonth = YearMonth.from(expired);
+        jdbc.execute("CREATE TABLE " + monthPartition(expired) + " PARTITION OF refresh_tokens FOR VALUES FROM ('"
+                + expiredMonth.atDay(1) + "') TO ('" + expiredMonth.plusMonths(1).atDay(1) + "')");
+        insertToken(4, expired);
+        insertToken(5, now().minusMonths(6));
+        assertEquals(DEFAULT_PARTITION, partitionOf(5));
+
+        // Act
+        service.maintain();
+
+        // Assert
+        assertFalse(partitions().contains(monthPartition(expired)));
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM refresh_tokens WHERE id IN (4, 5)", Long.class));
+    }
+}
@@ -0,0 +1,164 @@
+package com.authenticationservice.security;
+
+import com.authenticationservice.config.ConcurrencyLimitProperties;
+import com.authenticationservice.service.AdaptiveConcurrencyLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ConcurrencyLimitFilter Tests")
+class ConcurrencyLimitFilterTest {
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private AdaptiveConcurrencyLimiter limiter;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(1);
+        properties.setMinLimit(1);
+        properties.setMaxQueue(0);
+        limiter = new AdaptiveConcurrencyLimiter(properties);
+        filter = new ConcurrencyLimitFilter(limiter);
+    }
+
+    @Test
+    @DisplayName("Should only limit POSTs to the password-hashing endpoints")
+    void shouldNotFilter_shouldSkip_whenEndpointIsCheap() {
+        // Arrange
+        when(request.getMethod()).thenReturn("POST");
+        when(request.getRequestURI()).thenReturn("/api/auth/refresh", "/api/auth/login");
+
+        // Act & Assert
+        assertTrue(filter.shouldNotFilter(request));
+        assertFalse(filter.shouldNotFilter(request));
+    }
+
+    @Test
+    @DisplayName("Should pass the request through and free the permit afterwards")
+    void doFilterInternal_shouldReleasePermit_whenAdmitted() throws Exception {
+        // Arrange
+        when(response.getStatus()).thenReturn(200);
+
+        // Act
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(filterChain).doFilter(request, response);
+        assertEquals(0, limiter.stats().inFlight());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {401, 403, 409, 423, 429})
+    @DisplayName("Should not sample the latency of error responses answered before hashing")
+    void doFilterInternal_shouldReleaseWithoutSample_whenResponseIsError(int status) throws Exception {
+        // Arrange
+        AdaptiveConcurrencyLimiter mockLimiter = mock(AdaptiveConcurrencyLimiter.class);
+        AdaptiveConcurrencyLimiter.Permit permit = mock(AdaptiveConcurrencyLimiter.Permit.class);
+        when(mockLimiter.tryAcquire()).thenReturn(permit);
+        when(response.getStatus()).thenReturn(status);
+
+        // Act
+        new ConcurrencyLimitFilter(mockLimiter).doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(permit).releaseWithoutSample();
+        verify(permit, never()).release();
+    }
+
+    @Test
+    @DisplayName("Should sample the latency of successful responses")
+    void doFilterInternal_shouldSample_whenResponseIsSuccessful() throws Exception {
+        // Arrange
+        AdaptiveConcurrencyLimiter mockLimiter = mock(AdaptiveConcurrencyLimiter.class);
+        AdaptiveConcurrencyLimiter.Permit permit = mock(AdaptiveConcurrencyLimiter.Permit.class);
+        when(mockLimiter.tryAcquire()).thenReturn(permit);
+        when(response.getStatus()).thenReturn(200);
+
+        // Act
+        new ConcurrencyLimitFilter(mockLimiter).doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(permit).release();
+        verify(permit, never()).releaseWithoutSample();
+    }
+
+    @Test
+    @DisplayName("Should shed the request with 503 and Retry-After when no permit is available")
+    void doFilterInternal_shouldReturn503_whenLimitReached() throws Exception {
+        // Arrange
+        limiter.tryAcquire();
+        StringWriter body = new StringWriter();
+        when(request.getRequestURI()).thenReturn("/api/auth/login");
+        when(response.getWriter()).thenReturn(new PrintWriter(body));
+
+        // Act
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(response).setStatus(503);
+        verify(response).addHeader("Retry-After", "1");
+        verify(filterChain, never()).doFilter(any(), any());
+        assertTrue(body.toString().contains("\"retryAfter\":1"));
+    }
+
+    @Test
+    @DisplayName("Should shed without reading the limiter stats")
+    void doFilterInternal_shouldNotReadStats_whenShedding() throws Exception {
+        // Arrange
+        AdaptiveConcurrencyLimiter mockLimiter = mock(AdaptiveConcurrencyLimiter.class);
+        when(mockLimiter.retryAfterSeconds()).thenReturn(1L);
+        when(request.getRequestURI()).thenReturn("/api/auth/login");
+        when(response.getWriter()).thenReturn(new PrintWriter(new StringWriter()));
+        ConcurrencyLimitFilter sheddingFilter = new ConcurrencyLimitFilter(mockLimiter);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            sheddingFilter.doFilterInternal(request, response, filterChain);
+        }
+
+        // Assert
+        verify(response, times(3)).setStatus(503);
+        verify(mockLimiter, never()).stats();
+    }
+
+    @Test
+    @DisplayName("Should free the permit when the request fails")
+    void doFilterInternal_shouldReleasePermit_whenChainThrows() throws Exception {
+        // Arrange
+        doThrow(new ServletException("boom")).when(filterChain).doFilter(request, response);
+
+        // Act
+        assertThrows(ServletException.class, () -> filter.doFilterInternal(request, response, filterChain));
+
+        // Assert
+        assertEquals(0, limiter.stats().inFlight());
+        assertNotNull(limiter.tryAcquire());
+    }
+}
@@ -0,0 +1,134 @@
+package com.authenticationservice.security;
+
+import com.authenticationservice.config.AccessPolicyProperties;
+import com.authenticationservice.config.EdgeAuthProperties;
+import com.authenticationservice.constants.SecurityConstants;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EdgeAuthorizationFilter Tests")
+class EdgeAuthorizationFilterTest {
+
+    private static final String TOKEN = "valid.jwt.token";
+
+    @Mock
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Mock
+    private UserAuthSnapshotCache userAuthSnapshotCache;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private EdgeAuthorizationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        filter = new EdgeAuthorizationFilter(jwtTokenProvider, userAuthSnapshotCache,
+                new ResourceAccessPolicy(new AccessPolicyProperties()), new EdgeAuthProperties());
+        request = new MockHttpServletRequest("GET", "/api/auth/edge-auth");
+        response = new MockHttpServletResponse();
+    }
+
+    private AccessTokenClaims claims(String role, Instant expiresAt) {
+        return new AccessTokenClaims("user@example.com", 5L, List.of(role), expiresAt);
+    }
+
+    private void withToken(AccessTokenClaims claims, boolean current) {
+        request.addHeader(SecurityConstants.AUTHORIZATION_HEADER, SecurityConstants.BEARER_PREFIX + TOKEN);
+        when(jwtTokenProvider.parseAccessToken(TOKEN)).thenReturn(claims);
+        when(userAuthSnapshotCache.isCurrent(claims)).thenReturn(current);
+    }
+
+    @Test
+    @DisplayName("Should return 204 with user headers and a bounded max-age for a current token")
+    void doFilter_shouldReturn204_whenTokenIsCurrent() throws Exception {
+        // Arrange
+        withToken(claims(SecurityConstants.ROLE_USER, Instant.now().plusSeconds(900)), true);
+
+        // Act
+        filter.doFilter(request, response, filterChain);
+
+        // Assert
+        assertEquals(204, response.getStatus());
+        assertEquals("5", response.getHeader(SecurityConstants.USER_ID_HEADER));
+        assertEquals(SecurityConstants.ROLE_USER, response.getHeader(SecurityConstants.USER_ROLES_HEADER));
+        assertEquals("max-age=30", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        verifyNoInteractions(filterChain);
+    }
+
+    @Test
+    @DisplayName("Should cap max-age at the token's remaining lifetime")
+    void doFilter_shouldBoundMaxAgeByExpiry_whenTokenExpiresSoon() throws Exception {
+        // Arrange
+        withToken(claims(SecurityConstants.ROLE_USER, Instant.now().plusSeconds(10)), true);
+
+        // Act
+        filter.doFilter(request, response, filterChain);
+
+        // Assert
+        String cacheControl = response.getHeader(HttpHeaders.CACHE_CONTROL);
+        assertNotNull(cacheControl);
+        long maxAge = Long.parseLong(cacheControl.substring("max-age=".length()));
+        assertTrue(maxAge > 0 && maxAge <= 10, "max-age should not outlive the token: " + cacheControl);
+    }
+
+    @Test
+    @DisplayName("Should return 401 without caching when the header is missing")
+    void doFilter_shouldReturn401_whenAuthorizationMissing() throws Exception {
+        // Act
+        filter.doFilter(request, response, filterChain);
+
+        // Assert
+        assertEquals(401, response.getStatus());
+        assertEquals("no-store", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        verifyNoInteractions(jwtTokenProvider, filterChain);
+    }
+
+    @Test
+    @DisplayName("Should return 401 when the token has been revoked")
+    void doFilter_shouldReturn401_whenTokenRevoked() throws Exception {
+        // Arrange
+        withToken(claims(SecurityConstants.ROLE_ADMIN, Instant.now().plusSeconds(900)), false);
+
+        // Act
+        filter.doFilter(request, response, filterChain);
+
+        // Assert
+        assertEquals(401, response.getStatus());
+        assertNull(response.getHeader(SecurityConstants.USER_ID_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should return 403 when the requested resource is not granted")
+    void doFilter_shouldReturn403_whenResourceDenied() throws Exception {
+        // Arrange
+        withToken(claims(SecurityConstants.ROLE_USER, Instant.now().plusSeconds(900)), true);
+        request.addHeader(SecurityConstants.AUTH_RESOURCE_HEADER, SecurityConstants.ADMIN_PANEL_RESOURCE);
+
+        // Act
+        filter.doFilter(request, response, filterChain);
+
+        // Assert
+        assertEquals(403, response.getStatus());
+        assertEquals("max-age=30", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        verifyNoInteractions(filterChain);
+    }
+}
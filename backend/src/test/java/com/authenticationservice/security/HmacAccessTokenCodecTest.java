@@ -0,0 +1,169 @@
+package com.authenticationservice.security;
+
+import com.authenticationservice.config.JwtProperties;
+import com.authenticationservice.constants.SecurityConstants;
+import com.authenticationservice.constants.TestConstants;
+import com.authenticationservice.model.Role;
+import com.authenticationservice.model.User;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.MacAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HmacAccessTokenCodec Tests")
+class HmacAccessTokenCodecTest {
+
+    private static final long ISSUED_AT = 1_700_000_000_123L;
+    private static final long EXPIRES_AT = ISSUED_AT + 900_000L;
+    private static final List<String> ROLES = List.of(SecurityConstants.ROLE_USER, SecurityConstants.ROLE_ADMIN);
+
+    private JwtProperties jwtProperties;
+    private JwtKeyRingManager keyRings;
+    private HmacAccessTokenCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        jwtProperties = propertiesWithSecret(TestConstants.TestProperties.JWT_ACCESS_SECRET);
+        keyRings = new JwtKeyRingManager(jwtProperties);
+        codec = new HmacAccessTokenCodec(keyRings.accessRing());
+    }
+
+    private JwtProperties propertiesWithSecret(String accessSecret) {
+        JwtProperties properties = new JwtProperties();
+        properties.setAccessSecret(accessSecret);
+        properties.setRefreshSecret(TestConstants.TestProperties.JWT_REFRESH_SECRET);
+        properties.setAccessExpiration(900000L);
+        properties.setRefreshExpiration(604800000L);
+        return properties;
+    }
+
+    private String jjwtToken(JwtKeyRing ring, String subject, List<String> roles, Long userId, Long tokenEpoch) {
+        var builder = Jwts.builder();
+        builder.subject(subject);
+        builder.issuedAt(new Date(ISSUED_AT));
+        builder.expiration(new Date(EXPIRES_AT));
+        builder.claim("roles", roles);
+        builder.claim("userId", userId);
+        if (tokenEpoch != null) {
+            builder.claim("tokenEpoch", tokenEpoch);
+        }
+        ring.sign(builder);
+        return builder.compact();
+    }
+
+    @Nested
+    @DisplayName("Encoding Tests")
+    class EncodingTests {
+        @ParameterizedTest
+        @ValueSource(strings = {"HS256", "HS384", "HS512"})
+        @DisplayName("Should produce tokens byte-identical to JJWT")
+        void encode_shouldMatchJjwt_forEveryHmacKeySize(String algorithmId) {
+            // Arrange
+            MacAlgorithm algorithm = (MacAlgorithm) Jwts.SIG.get().get(algorithmId);
+            JwtKeyRing ring = new JwtKeyRingManager(
+                    propertiesWithSecret(Encoders.BASE64.encode(algorithm.key().build().getEncoded()))).accessRing();
+            HmacAccessTokenCodec hmacCodec = new HmacAccessTokenCodec(ring);
+
+            // Act
+            String fast = hmacCodec.encode(TestConstants.UserData.TEST_EMAIL, ISSUED_AT, EXPIRES_AT, ROLES, 42L, 3L);
+
+            // Assert
+            assertEquals(jjwtToken(ring, TestConstants.UserData.TEST_EMAIL, ROLES, 42L, 3L), fast);
+        }
+
+        @Test
+        @DisplayName("Should defer to JJWT when a value needs JSON escaping")
+        void encode_shouldReturnNull_whenValueNeedsEscaping() {
+            assertNull(codec.encode("a\"b@example.com", ISSUED_AT, EXPIRES_AT, ROLES, 1L, 0L));
+            assertNull(codec.encode("jösé@example.com", ISSUED_AT, EXPIRES_AT, ROLES, 1L, 0L));
+            assertNull(codec.encode(TestConstants.UserData.TEST_EMAIL, ISSUED_AT, EXPIRES_AT, List.of("ROLE\\X"), 1L, 0L));
+            assertNull(codec.encode(TestConstants.UserData.TEST_EMAIL, ISSUED_AT, EXPIRES_AT, ROLES, null, 0L));
+        }
+    }
+
+    @Nested
+    @DisplayName("Decoding Tests")
+    class DecodingTests {
+        @Test
+        @DisplayName("Should decode JJWT tokens to the same claims as JJWT")
+        void decode_shouldReturnClaims_whenTokenValid() {
+            String token = jjwtToken(keyRings.accessRing(), TestConstants.UserData.TEST_EMAIL, ROLES, 42L, 3L);
+
+            AccessTokenClaims claims = codec.decode(token, ISSUED_AT);
+
+            assertNotNull(claims);
+            assertEquals(TestConstants.UserData.TEST_EMAIL, claims.subject());
+            assertEquals(42L, claims.userId());
+            assertEquals(ROLES, claims.roles());
+            assertEquals(EXPIRES_AT / 1000, claims.expiresAt().getEpochSecond());
+            assertEquals(3L, claims.tokenEpoch());
+        }
+
+        @Test
+        @DisplayName("Should decode tokens issued without a token epoch as epoch 0")
+        void decode_shouldDefaultTokenEpoch_whenClaimMissing() {
+            String token = jjwtToken(keyRings.accessRing(), TestConstants.UserData.TEST_EMAIL, ROLES, 42L, null);
+
+            AccessTokenClaims claims = codec.decode(token, ISSUED_AT);
+
+            assertNotNull(claims);
+            assertEquals(0L, claims.tokenEpoch());
+        }
+
+        @Test
+        @DisplayName("Should defer to JJWT for tampered, expired or unknown tokens")
+        void decode_shouldReturnNull_whenTokenNotHandled() {
+            String token = codec.encode(TestConstants.UserData.TEST_EMAIL, ISSUED_AT, EXPIRES_AT, ROLES, 42L, 3L);
+            String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+            String foreign = new HmacAccessTokenCodec(new JwtKeyRingManager(propertiesWithSecret(
+                    Encoders.BASE64.encode(Jwts.SIG.HS256.key().build().getEncoded()))).accessRing())
+                    .encode(TestConstants.UserData.TEST_EMAIL, ISSUED_AT, EXPIRES_AT, ROLES, 42L, 3L);
+
+            assertNull(codec.decode(tampered, ISSUED_AT));
+            assertNull(codec.decode(token, EXPIRES_AT + 1000));
+            assertNull(codec.decode(foreign, ISSUED_AT));
+            assertNull(codec.decode("not-a-token", ISSUED_AT));
+            assertNull(codec.decode(jjwtToken(keyRings.accessRing(), "a\"b@example.com", ROLES, 42L, 3L), ISSUED_AT));
+        }
+    }
+
+    @Nested
+    @DisplayName("JwtTokenProvider Integration Tests")
+    class ProviderIntegrationTests {
+        @Test
+        @DisplayName("Should issue tokens accepted by the JJWT path when fast codec is enabled")
+        void provider_shouldInteroperate_whenFastCodecEnabled() {
+            // Arrange
+            User user = new User();
+            user.setId(7L);
+            user.setEmail(TestConstants.UserData.TEST_EMAIL);
+            Role role = new Role();
+            role.setName(SecurityConstants.ROLE_USER);
+            user.setRoles(Set.of(role));
+            JwtProperties fastProperties = propertiesWithSecret(TestConstants.TestProperties.JWT_ACCESS_SECRET);
+            fastProperties.setFastCodecEnabled(true);
+            JwtTokenProvider fastProvider = new JwtTokenProvider(fastProperties, new JwtKeyRingManager(fastProperties));
+            JwtTokenProvider jjwtProvider = new JwtTokenProvider(jwtProperties, keyRings);
+
+            // Act
+            String fastToken = fastProvider.generateAccessToken(user);
+            String jjwtToken = jjwtProvider.generateAccessToken(user);
+
+            // Assert
+            assertTrue(jjwtProvider.validateAccessToken(fastToken));
+            assertEquals(jjwtProvider.parseAccessToken(fastToken), fastProvider.parseAccessToken(fastToken));
+            assertEquals(jjwtProvider.parseAccessToken(jjwtToken), fastProvider.parseAccessToken(jjwtToken));
+        }
+    }
+}
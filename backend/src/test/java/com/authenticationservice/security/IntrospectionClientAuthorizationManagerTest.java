@@ -0,0 +1,87 @@
+package com.authenticationservice.security;
+
+import com.authenticationservice.config.TokenIntrospectionProperties;
+import com.authenticationservice.constants.SecurityConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IntrospectionClientAuthorizationManager Tests")
+class IntrospectionClientAuthorizationManagerTest {
+
+    private static final String SECRET = "gateway-secret";
+
+    private TokenIntrospectionProperties properties;
+    private IntrospectionClientAuthorizationManager manager;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TokenIntrospectionProperties();
+        properties.setClientSecret(SECRET);
+        manager = new IntrospectionClientAuthorizationManager(properties);
+        request = new MockHttpServletRequest("POST", SecurityConstants.INTROSPECT_PATH);
+    }
+
+    private boolean isGranted(Authentication authentication) {
+        return manager.authorize(() -> authentication, new RequestAuthorizationContext(request)).isGranted();
+    }
+
+    private static Authentication user(String role) {
+        return UsernamePasswordAuthenticationToken.authenticated("user@example.com", null,
+                List.of(new SimpleGrantedAuthority(role)));
+    }
+
+    @Test
+    @DisplayName("Should deny anonymous callers without the client secret")
+    void authorize_shouldDeny_whenAnonymous() {
+        // Arrange
+        Authentication anonymous = new AnonymousAuthenticationToken("key", "anonymousUser",
+                List.of(new SimpleGrantedAuthority("ROLE_ANONYMOUS")));
+
+        // Act & Assert
+        assertFalse(isGranted(anonymous));
+        assertFalse(isGranted(null));
+    }
+
+    @Test
+    @DisplayName("Should grant callers presenting the configured client secret")
+    void authorize_shouldGrant_whenClientSecretMatches() {
+        // Arrange
+        request.addHeader(SecurityConstants.INTROSPECTION_CLIENT_SECRET_HEADER, SECRET);
+
+        // Act & Assert
+        assertTrue(isGranted(null));
+    }
+
+    @Test
+    @DisplayName("Should deny a wrong secret, and any secret when none is configured")
+    void authorize_shouldDeny_whenClientSecretWrongOrUnconfigured() {
+        // Arrange
+        request.addHeader(SecurityConstants.INTROSPECTION_CLIENT_SECRET_HEADER, "guess");
+
+        // Act & Assert
+        assertFalse(isGranted(null));
+        properties.setClientSecret("");
+        request.removeHeader(SecurityConstants.INTROSPECTION_CLIENT_SECRET_HEADER);
+        request.addHeader(SecurityConstants.INTROSPECTION_CLIENT_SECRET_HEADER, "");
+        assertFalse(isGranted(null));
+    }
+
+    @Test
+    @DisplayName("Should grant admins and deny other authenticated users")
+    void authorize_shouldRequireAdminRole_whenAuthenticatedByToken() {
+        assertTrue(isGranted(user(SecurityConstants.ROLE_ADMIN)));
+        assertFalse(isGranted(user(SecurityConstants.ROLE_USER)));
+    }
+}
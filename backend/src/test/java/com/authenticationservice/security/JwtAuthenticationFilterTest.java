@@ -3,7 +3,6 @@ package com.authenticationservice.security;
 import com.authenticationservice.constants.SecurityConstants;
 import com.authenticationservice.model.Role;
 import com.authenticationservice.model.User;
-import com.authenticationservice.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -17,8 +16,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.time.Instant;
 import java.util.HashSet;
-import java.util.Optional;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -33,7 +33,7 @@ class JwtAuthenticationFilterTest {
     private JwtTokenProvider jwtTokenProvider;
 
     @Mock
-    private UserRepository userRepository;
+    private UserAuthSnapshotCache userAuthSnapshotCache;
 
     @Mock
     private HttpServletRequest request;
@@ -71,23 +71,26 @@ class JwtAuthenticationFilterTest {
         bearerToken = "Bearer " + validToken;
     }
 
+    private AccessTokenClaims claimsFor(User user) {
+        return new AccessTokenClaims(user.getEmail(), user.getId(), List.of(SecurityConstants.ROLE_USER),
+                Instant.now().plusSeconds(900));
+    }
+
     @Test
     @DisplayName("Should authenticate user when valid token is provided")
     void doFilterInternal_shouldAuthenticateUser_whenValidTokenProvided() throws Exception {
         // Arrange
         when(request.getHeader("Authorization")).thenReturn(bearerToken);
-        when(jwtTokenProvider.validateAccessToken(validToken)).thenReturn(true);
-        when(jwtTokenProvider.getEmailFromAccess(validToken)).thenReturn(testUser.getEmail());
-        when(userRepository.findByEmail(testUser.getEmail())).thenReturn(Optional.of(testUser));
+        when(jwtTokenProvider.parseAccessToken(validToken)).thenReturn(claimsFor(testUser));
+        when(userAuthSnapshotCache.resolve(any(AccessTokenClaims.class))).thenReturn(UserAuthSnapshot.from(testUser));
         doNothing().when(filterChain).doFilter(request, response);
 
         // Act
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Assert
-        verify(jwtTokenProvider).validateAccessToken(validToken);
-        verify(jwtTokenProvider).getEmailFromAccess(validToken);
-        verify(userRepository).findByEmail(testUser.getEmail());
+        verify(jwtTokenProvider).parseAccessToken(validToken);
+        verify(userAuthSnapshotCache).resolve(any(AccessTokenClaims.class));
         verify(filterChain).doFilter(request, response);
         
         // Verify authentication is set
@@ -109,8 +112,8 @@ class JwtAuthenticationFilterTest {
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Assert
-        verify(jwtTokenProvider, never()).validateAccessToken(anyString());
-        verify(userRepository, never()).findByEmail(anyString());
+        verify(jwtTokenProvider, never()).parseAccessToken(anyString());
+        verify(userAuthSnapshotCache, never()).resolve(any());
         verify(filterChain).doFilter(request, response);
         
         // Verify no authentication is set
@@ -123,16 +126,16 @@ class JwtAuthenticationFilterTest {
     void doFilterInternal_shouldContinueFilterChain_whenTokenInvalid() throws Exception {
         // Arrange
         when(request.getHeader("Authorization")).thenReturn(bearerToken);
-        when(jwtTokenProvider.validateAccessToken(validToken)).thenReturn(false);
+        when(jwtTokenProvider.parseAccessToken(validToken)).thenReturn(null);
         doNothing().when(filterChain).doFilter(request, response);
 
         // Act
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Assert
-        verify(jwtTokenProvider).validateAccessToken(validToken);
-        verify(jwtTokenProvider, never()).getEmailFromAccess(anyString());
-        verify(userRepository, never()).findByEmail(anyString());
+        verify(jwtTokenProvider).parseAccessToken(validToken);
+        verify(request, never()).setAttribute(eq(AccessTokenClaims.REQUEST_ATTRIBUTE), any());
+        verify(userAuthSnapshotCache, never()).resolve(any());
         verify(filterChain).doFilter(request, response);
         
         // Verify no authentication is set
@@ -145,18 +148,16 @@ class JwtAuthenticationFilterTest {
     void doFilterInternal_shouldContinueFilterChain_whenUserNotFound() throws Exception {
         // Arrange
         when(request.getHeader("Authorization")).thenReturn(bearerToken);
-        when(jwtTokenProvider.validateAccessToken(validToken)).thenReturn(true);
-        when(jwtTokenProvider.getEmailFromAccess(validToken)).thenReturn(testUser.getEmail());
-        when(userRepository.findByEmail(testUser.getEmail())).thenReturn(Optional.empty());
+        when(jwtTokenProvider.parseAccessToken(validToken)).thenReturn(claimsFor(testUser));
+        when(userAuthSnapshotCache.resolve(any(AccessTokenClaims.class))).thenReturn(null);
         doNothing().when(filterChain).doFilter(request, response);
 
         // Act
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Assert
-        verify(jwtTokenProvider).validateAccessToken(validToken);
-        verify(jwtTokenProvider).getEmailFromAccess(validToken);
-        verify(userRepository).findByEmail(testUser.getEmail());
+        verify(jwtTokenProvider).parseAccessToken(validToken);
+        verify(userAuthSnapshotCache).resolve(any(AccessTokenClaims.class));
         verify(filterChain).doFilter(request, response);
         
         // Verify no authentication is set
@@ -171,16 +172,15 @@ class JwtAuthenticationFilterTest {
         String token = "extracted.token.here";
         String bearer = "Bearer " + token;
         when(request.getHeader("Authorization")).thenReturn(bearer);
-        when(jwtTokenProvider.validateAccessToken(token)).thenReturn(true);
-        when(jwtTokenProvider.getEmailFromAccess(token)).thenReturn(testUser.getEmail());
-        when(userRepository.findByEmail(testUser.getEmail())).thenReturn(Optional.of(testUser));
+        when(jwtTokenProvider.parseAccessToken(token)).thenReturn(claimsFor(testUser));
+        when(userAuthSnapshotCache.resolve(any(AccessTokenClaims.class))).thenReturn(UserAuthSnapshot.from(testUser));
         doNothing().when(filterChain).doFilter(request, response);
 
         // Act
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Assert
-        verify(jwtTokenProvider).validateAccessToken(token);
+        verify(jwtTokenProvider).parseAccessToken(token);
         verify(filterChain).doFilter(request, response);
     }
 
@@ -195,7 +195,7 @@ class JwtAuthenticationFilterTest {
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Assert
-        verify(jwtTokenProvider, never()).validateAccessToken(anyString());
+        verify(jwtTokenProvider, never()).parseAccessToken(anyString());
         verify(filterChain).doFilter(request, response);
     }
 
@@ -210,7 +210,7 @@ class JwtAuthenticationFilterTest {
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Assert
-        verify(jwtTokenProvider, never()).validateAccessToken(anyString());
+        verify(jwtTokenProvider, never()).parseAccessToken(anyString());
         verify(filterChain).doFilter(request, response);
     }
 
@@ -219,7 +219,7 @@ class JwtAuthenticationFilterTest {
     void doFilterInternal_shouldClearSecurityContext_whenExceptionOccurs() throws Exception {
         // Arrange
         when(request.getHeader("Authorization")).thenReturn(bearerToken);
-        when(jwtTokenProvider.validateAccessToken(validToken)).thenThrow(new RuntimeException("Token validation error"));
+        when(jwtTokenProvider.parseAccessToken(validToken)).thenThrow(new RuntimeException("Token validation error"));
         doNothing().when(filterChain).doFilter(request, response);
 
         // Act
@@ -242,9 +242,8 @@ class JwtAuthenticationFilterTest {
         testUser.getRoles().add(adminRole);
         
         when(request.getHeader("Authorization")).thenReturn(bearerToken);
-        when(jwtTokenProvider.validateAccessToken(validToken)).thenReturn(true);
-        when(jwtTokenProvider.getEmailFromAccess(validToken)).thenReturn(testUser.getEmail());
-        when(userRepository.findByEmail(testUser.getEmail())).thenReturn(Optional.of(testUser));
+        when(jwtTokenProvider.parseAccessToken(validToken)).thenReturn(claimsFor(testUser));
+        when(userAuthSnapshotCache.resolve(any(AccessTokenClaims.class))).thenReturn(UserAuthSnapshot.from(testUser));
         doNothing().when(filterChain).doFilter(request, response);
 
         // Act
@@ -265,7 +264,7 @@ class JwtAuthenticationFilterTest {
     void doFilterInternal_shouldContinueFilterChain_whenExceptionInTokenValidation() throws Exception {
         // Arrange
         when(request.getHeader("Authorization")).thenReturn(bearerToken);
-        when(jwtTokenProvider.validateAccessToken(validToken)).thenThrow(new RuntimeException("Validation error"));
+        when(jwtTokenProvider.parseAccessToken(validToken)).thenThrow(new RuntimeException("Validation error"));
         doNothing().when(filterChain).doFilter(request, response);
 
         // Act
@@ -280,9 +279,8 @@ class JwtAuthenticationFilterTest {
     void doFilterInternal_shouldContinueFilterChain_whenExceptionInUserLookup() throws Exception {
         // Arrange
         when(request.getHeader("Authorization")).thenReturn(bearerToken);
-        when(jwtTokenProvider.validateAccessToken(validToken)).thenReturn(true);
-        when(jwtTokenProvider.getEmailFromAccess(validToken)).thenReturn(testUser.getEmail());
-        when(userRepository.findByEmail(testUser.getEmail())).thenThrow(new RuntimeException("Database error"));
+        when(jwtTokenProvider.parseAccessToken(validToken)).thenReturn(claimsFor(testUser));
+        when(userAuthSnapshotCache.resolve(any(AccessTokenClaims.class))).thenThrow(new RuntimeException("Database error"));
         doNothing().when(filterChain).doFilter(request, response);
 
         // Act
@@ -295,5 +293,42 @@ class JwtAuthenticationFilterTest {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         assertNull(authentication, "Security context should be cleared on exception");
     }
-}
 
+    @Test
+    @DisplayName("Should share verified claims through request attribute")
+    void doFilterInternal_shouldExposeClaimsAsRequestAttribute_whenTokenValid() throws Exception {
+        // Arrange
+        AccessTokenClaims claims = claimsFor(testUser);
+        when(request.getHeader("Authorization")).thenReturn(bearerToken);
+        when(jwtTokenProvider.parseAccessToken(validToken)).thenReturn(claims);
+        when(userAuthSnapshotCache.resolve(any(AccessTokenClaims.class))).thenReturn(UserAuthSnapshot.from(testUser));
+        doNothing().when(filterChain).doFilter(request, response);
+
+        // Act
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(request).setAttribute(AccessTokenClaims.REQUEST_ATTRIBUTE, claims);
+        verify(jwtTokenProvider, times(1)).parseAccessToken(validToken);
+        verifyNoMoreInteractions(jwtTokenProvider);
+    }
+
+    @Test
+    @DisplayName("Should clear security context when cached user is blocked")
+    void doFilterInternal_shouldClearContext_whenUserBlocked() throws Exception {
+        // Arrange
+        testUser.setBlocked(true);
+        when(request.getHeader("Authorization")).thenReturn(bearerToken);
+        when(jwtTokenProvider.parseAccessToken(validToken)).thenReturn(claimsFor(testUser));
+        when(userAuthSnapshotCache.resolve(any(AccessTokenClaims.class))).thenReturn(UserAuthSnapshot.from(testUser));
+        doNothing().when(filterChain).doFilter(request, response);
+
+        // Act
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(filterChain).doFilter(request, response);
+        assertNull(SecurityContextHolder.getContext().getAuthentication(),
+                "Blocked user must not be authenticated");
+    }
+}
@@ -0,0 +1,238 @@
+package com.authenticationservice.security;
+
+import com.authenticationservice.config.JwtProperties;
+import com.authenticationservice.constants.SecurityConstants;
+import com.authenticationservice.constants.TestConstants;
+import com.authenticationservice.model.Role;
+import com.authenticationservice.model.User;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Encoders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyPair;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JwtKeyRingManager Tests")
+class JwtKeyRingManagerTest {
+
+    private static final String NEW_ACCESS_SECRET = Encoders.BASE64.encode(Jwts.SIG.HS512.key().build().getEncoded());
+
+    private JwtProperties jwtProperties;
+    private User testUser;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        jwtProperties = new JwtProperties();
+        jwtProperties.setAccessSecret(TestConstants.TestProperties.JWT_ACCESS_SECRET);
+        jwtProperties.setRefreshSecret(TestConstants.TestProperties.JWT_REFRESH_SECRET);
+        jwtProperties.setAccessExpiration(900000L);
+        jwtProperties.setRefreshExpiration(604800000L);
+
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setEmail(TestConstants.UserData.TEST_EMAIL);
+        Role role = new Role();
+        role.setName(SecurityConstants.ROLE_USER);
+        testUser.setRoles(Set.of(role));
+    }
+
+    private JwtTokenProvider providerFor(JwtProperties properties) {
+        return new JwtTokenProvider(properties, new JwtKeyRingManager(properties));
+    }
+
+    @Nested
+    @DisplayName("Properties Rotation Tests")
+    class PropertiesRotationTests {
+        @Test
+        @DisplayName("Should keep accepting tokens signed with a previous secret after rotation")
+        void rotation_shouldAcceptOldTokens_whenPreviousSecretConfigured() {
+            // Arrange
+            String oldAccess = providerFor(jwtProperties).generateAccessToken(testUser);
+            String oldRefresh = providerFor(jwtProperties).generateRefreshToken(testUser);
+
+            JwtProperties rotated = new JwtProperties();
+            rotated.setAccessSecret(NEW_ACCESS_SECRET);
+            rotated.setAccessPreviousSecrets(List.of(TestConstants.TestProperties.JWT_ACCESS_SECRET));
+            rotated.setRefreshSecret(TestConstants.TestProperties.JWT_REFRESH_SECRET);
+            rotated.setAccessExpiration(900000L);
+            rotated.setRefreshExpiration(604800000L);
+
+            // Act
+            JwtTokenProvider provider = providerFor(rotated);
+            String newAccess = provider.generateAccessToken(testUser);
+
+            // Assert
+            assertTrue(provider.validateAccessToken(oldAccess), "Token signed with previous secret should verify");
+            assertTrue(provider.validateRefreshToken(oldRefresh));
+            assertTrue(provider.validateAccessToken(newAccess));
+            assertFalse(providerFor(jwtProperties).validateAccessToken(newAccess),
+                    "Old ring must not know the new signing key");
+        }
+
+        @Test
+        @DisplayName("Should verify tokens without kid using the configured key")
+        void locate_shouldUseLegacyKey_whenTokenHasNoKid() {
+            // Arrange
+            String legacyToken = Jwts.builder()
+                    .subject(TestConstants.UserData.TEST_EMAIL)
+                    .expiration(Date.from(Instant.now().plusSeconds(60)))
+                    .signWith(new JwtKeyRingManager(jwtProperties).accessRing().legacyKey())
+                    .compact();
+
+            // Act & Assert
+            AccessTokenClaims claims = providerFor(jwtProperties).parseAccessToken(legacyToken);
+            assertNotNull(claims);
+            assertEquals(TestConstants.UserData.TEST_EMAIL, claims.subject());
+        }
+
+        @Test
+        @DisplayName("Should never publish HMAC secrets in the JWK set")
+        void publicJwkSet_shouldExcludeHmacKeys() {
+            jwtProperties.setAccessPreviousSecrets(List.of(NEW_ACCESS_SECRET));
+
+            JwtKeyRingManager manager = new JwtKeyRingManager(jwtProperties);
+
+            assertEquals(2, manager.accessRing().keyIds().size());
+            assertEquals(List.of(), manager.accessRing().publicJwkSet().get("keys"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Ephemeral Key Tests")
+    class EphemeralKeyTests {
+        @Test
+        @DisplayName("Should fail startup when no asymmetric key pair is configured")
+        void constructor_shouldThrow_whenKeyPairMissingAndEphemeralNotAllowed() {
+            // Arrange
+            jwtProperties.setAccessAlgorithm("ES256");
+
+            // Act & Assert
+            IllegalStateException ex = assertThrows(IllegalStateException.class,
+                    () -> new JwtKeyRingManager(jwtProperties));
+            assertTrue(ex.getMessage().contains("jwt.allow-ephemeral-key"));
+        }
+
+        @Test
+        @DisplayName("Should generate a throwaway key pair when explicitly allowed")
+        void constructor_shouldGenerateKey_whenEphemeralAllowed() {
+            // Arrange
+            jwtProperties.setAccessAlgorithm("EdDSA");
+            jwtProperties.setAllowEphemeralKey(true);
+
+            // Act
+            JwtTokenProvider provider = providerFor(jwtProperties);
+            String token = provider.generateAccessToken(testUser);
+
+            // Assert
+            assertTrue(provider.validateAccessToken(token));
+            assertEquals(1, ((List<?>) provider.getPublicJwkSet().get("keys")).size());
+        }
+
+        @Test
+        @DisplayName("Should fail startup when the HMAC secret is empty")
+        void constructor_shouldThrow_whenHmacSecretEmpty() {
+            // Arrange
+            jwtProperties.setAccessSecret("");
+
+            // Act & Assert
+            assertThrows(IllegalStateException.class, () -> new JwtKeyRingManager(jwtProperties));
+        }
+    }
+
+    @Nested
+    @DisplayName("Key Ring File Tests")
+    class KeyRingFileTests {
+        @Test
+        @DisplayName("Should sign with the active file key and reload rotated keys without restart")
+        void reloadIfChanged_shouldSwapKeys_whenFileChanges() throws Exception {
+            // Arrange
+            KeyPair first = JwtKeySupport.generateKeyPair(AccessTokenAlgorithm.ES256);
+            KeyPair second = JwtKeySupport.generateKeyPair(AccessTokenAlgorithm.ES256);
+            Path file = tempDir.resolve("key-ring.json");
+            Files.writeString(file, keyRing(entry("k1", first, true)));
+            jwtProperties.setKeyRingFile(file.toString());
+            JwtKeyRingManager manager = new JwtKeyRingManager(jwtProperties);
+            JwtTokenProvider provider = new JwtTokenProvider(jwtProperties, manager);
+            String tokenFromFirstKey = provider.generateAccessToken(testUser);
+
+            // Act
+            Files.writeString(file, keyRing(entry("k2", second, true), publicOnly("k1", first)));
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(5)));
+            manager.reloadIfChanged();
+            String tokenFromSecondKey = provider.generateAccessToken(testUser);
+
+            // Assert
+            assertEquals("k2", manager.accessRing().activeKeyId());
+            assertTrue(provider.validateAccessToken(tokenFromFirstKey), "Retired key should still verify");
+            assertTrue(provider.validateAccessToken(tokenFromSecondKey));
+            assertEquals(2, ((List<?>) provider.getPublicJwkSet().get("keys")).size());
+        }
+
+        @Test
+        @DisplayName("Should keep current keys when the reloaded file is invalid")
+        void reload_shouldKeepCurrentRing_whenFileInvalid() throws Exception {
+            // Arrange
+            KeyPair keyPair = JwtKeySupport.generateKeyPair(AccessTokenAlgorithm.ES256);
+            Path file = tempDir.resolve("key-ring.json");
+            Files.writeString(file, keyRing(entry("k1", keyPair, true)));
+            jwtProperties.setKeyRingFile(file.toString());
+            JwtKeyRingManager manager = new JwtKeyRingManager(jwtProperties);
+
+            // Act
+            Files.writeString(file, keyRing(publicOnly("k1", keyPair)));
+            boolean reloaded = manager.reload();
+
+            // Assert
+            assertFalse(reloaded, "A ring without an active signing key must be rejected");
+            assertEquals("k1", manager.accessRing().activeKeyId());
+        }
+
+        @Test
+        @DisplayName("Should reject tokens with an unknown kid")
+        void parse_shouldReject_whenKidUnknown() throws Exception {
+            Path file = tempDir.resolve("key-ring.json");
+            Files.writeString(file, keyRing(entry("other", JwtKeySupport.generateKeyPair(AccessTokenAlgorithm.ES256), true)));
+            JwtProperties other = new JwtProperties();
+            other.setRefreshSecret(TestConstants.TestProperties.JWT_REFRESH_SECRET);
+            other.setAccessSecret(NEW_ACCESS_SECRET);
+            other.setAccessExpiration(900000L);
+            other.setKeyRingFile(file.toString());
+            String foreignToken = providerFor(other).generateAccessToken(testUser);
+
+            assertNull(providerFor(jwtProperties).parseAccessToken(foreignToken));
+        }
+
+        private String keyRing(String... accessEntries) {
+            return "{\"access\":[" + String.join(",", accessEntries) + "]}";
+        }
+
+        private String entry(String kid, KeyPair keyPair, boolean active) {
+            return "{\"kid\":\"" + kid + "\",\"algorithm\":\"ES256\",\"privateKey\":\"" + encode(keyPair.getPrivate().getEncoded())
+                    + "\",\"publicKey\":\"" + encode(keyPair.getPublic().getEncoded()) + "\",\"active\":" + active + "}";
+        }
+
+        private String publicOnly(String kid, KeyPair keyPair) {
+            return "{\"kid\":\"" + kid + "\",\"algorithm\":\"ES256\",\"publicKey\":\"" + encode(keyPair.getPublic().getEncoded()) + "\"}";
+        }
+
+        private String encode(byte[] der) {
+            return Base64.getEncoder().encodeToString(der);
+        }
+    }
+}
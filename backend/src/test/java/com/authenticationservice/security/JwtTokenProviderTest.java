@@ -5,12 +5,29 @@ import com.authenticationservice.constants.SecurityConstants;
 import com.authenticationservice.constants.TestConstants;
 import com.authenticationservice.model.Role;
 import com.authenticationservice.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -34,7 +51,7 @@ class JwtTokenProviderTest {
         jwtProperties.setRefreshExpiration(604800000L); // 7 days
 
         // Create JwtTokenProvider with properties
-        jwtTokenProvider = new JwtTokenProvider(jwtProperties);
+        jwtTokenProvider = new JwtTokenProvider(jwtProperties, new JwtKeyRingManager(jwtProperties));
 
         // Create test user
         testUser = createTestUser();
@@ -360,6 +377,191 @@ class JwtTokenProviderTest {
         }
     }
 
+    @Nested
+    @DisplayName("Access Token Parsing Tests")
+    class AccessTokenParsingTests {
+        @Test
+        @DisplayName("Should return all claims from a single parse when token is valid")
+        void parseAccessToken_shouldReturnClaims_whenTokenValid() {
+            String token = jwtTokenProvider.generateAccessToken(testUser);
+
+            AccessTokenClaims claims = jwtTokenProvider.parseAccessToken(token);
+
+            assertNotNull(claims, "Claims should be returned for a valid token");
+            assertEquals(TestConstants.UserData.TEST_EMAIL, claims.subject());
+            assertEquals(testUser.getId(), claims.userId());
+            assertTrue(claims.hasRole(SecurityConstants.ROLE_USER), "Claims should contain ROLE_USER");
+            assertNotNull(claims.expiresAt(), "Expiration should be present");
+            assertTrue(claims.expiresAt().isAfter(Instant.now()), "Expiration should be in the future");
+        }
+
+        @Test
+        @DisplayName("Should carry the user's token epoch in the access token")
+        void parseAccessToken_shouldReturnTokenEpoch_whenUserEpochBumped() {
+            testUser.bumpTokenEpoch();
+            testUser.bumpTokenEpoch();
+            String token = jwtTokenProvider.generateAccessToken(testUser);
+
+            AccessTokenClaims claims = jwtTokenProvider.parseAccessToken(token);
+
+            assertNotNull(claims);
+            assertEquals(2L, claims.tokenEpoch());
+        }
+
+        @Test
+        @DisplayName("Should return null when token is invalid")
+        void parseAccessToken_shouldReturnNull_whenTokenInvalid() {
+            assertNull(jwtTokenProvider.parseAccessToken("invalid.token.here"));
+            assertNull(jwtTokenProvider.parseAccessToken(jwtTokenProvider.generateRefreshToken(testUser)),
+                    "Refresh token must not be accepted as access token");
+        }
+
+        @Test
+        @DisplayName("Should reuse claims stored in request attribute")
+        void resolveAccessToken_shouldReuseRequestAttribute_whenAlreadyParsed() {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            AccessTokenClaims cached = new AccessTokenClaims("cached@example.com", 42L,
+                    List.of(SecurityConstants.ROLE_ADMIN), Instant.now().plusSeconds(60));
+            request.setAttribute(AccessTokenClaims.REQUEST_ATTRIBUTE, cached);
+
+            AccessTokenClaims claims = jwtTokenProvider.resolveAccessToken(request, "not-parsed");
+
+            assertSame(cached, claims, "Cached claims should be returned without parsing");
+        }
+
+        @Test
+        @DisplayName("Should parse and store claims when request attribute is absent")
+        void resolveAccessToken_shouldParseAndStore_whenAttributeAbsent() {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            String token = jwtTokenProvider.generateAccessToken(testUser);
+
+            AccessTokenClaims claims = jwtTokenProvider.resolveAccessToken(request, token);
+
+            assertNotNull(claims);
+            assertSame(claims, request.getAttribute(AccessTokenClaims.REQUEST_ATTRIBUTE));
+        }
+    }
+
+    @Nested
+    @DisplayName("Asymmetric Signing Tests")
+    class AsymmetricSigningTests {
+
+        private final ObjectMapper objectMapper = new ObjectMapper();
+
+        private JwtTokenProvider providerFor(String algorithm) {
+            JwtProperties properties = new JwtProperties();
+            properties.setRefreshSecret(TestConstants.TestProperties.JWT_REFRESH_SECRET);
+            properties.setAccessExpiration(900000L);
+            properties.setRefreshExpiration(604800000L);
+            properties.setAccessAlgorithm(algorithm);
+            properties.setAllowEphemeralKey(true);
+            return new JwtTokenProvider(properties, new JwtKeyRingManager(properties));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"ES256", "EdDSA"})
+        @DisplayName("Should sign access token verifiable with the published JWK")
+        void generateAccessToken_shouldBeVerifiableWithJwks_whenAsymmetric(String algorithm) throws Exception {
+            // Arrange
+            JwtTokenProvider provider = providerFor(algorithm);
+            List<?> keys = (List<?>) provider.getPublicJwkSet().get("keys");
+
+            // Act
+            String token = provider.generateAccessToken(testUser);
+            Jwk<?> jwk = Jwks.parser().build().parse(objectMapper.writeValueAsString(keys.getFirst()));
+            Jws<Claims> verified = Jwts.parser()
+                    .verifyWith((PublicKey) jwk.toKey())
+                    .build()
+                    .parseSignedClaims(token);
+
+            // Assert
+            assertEquals(1, keys.size(), "JWKS should publish exactly one key");
+            assertInstanceOf(PublicJwk.class, jwk, "JWKS must not expose private key material");
+            assertEquals(jwk.getId(), verified.getHeader().getKeyId(), "Token kid should match the published key");
+            assertEquals(algorithm, verified.getHeader().getAlgorithm());
+            assertEquals(TestConstants.UserData.TEST_EMAIL, verified.getPayload().getSubject());
+            assertEquals(TestConstants.UserData.TEST_EMAIL, provider.parseAccessToken(token).subject());
+        }
+
+        @Test
+        @DisplayName("Should load configured key pair and reject HMAC access tokens")
+        void constructor_shouldUseConfiguredKeys_whenKeyPairProvided() {
+            // Arrange
+            KeyPair keyPair = JwtKeySupport.generateKeyPair(AccessTokenAlgorithm.ES256);
+            JwtProperties properties = new JwtProperties();
+            properties.setRefreshSecret(TestConstants.TestProperties.JWT_REFRESH_SECRET);
+            properties.setAccessExpiration(900000L);
+            properties.setAccessAlgorithm("ES256");
+            properties.setAccessPrivateKey(toPem("PRIVATE KEY", keyPair.getPrivate().getEncoded()));
+            properties.setAccessPublicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+
+            // Act
+            JwtTokenProvider provider = new JwtTokenProvider(properties, new JwtKeyRingManager(properties));
+            String token = provider.generateAccessToken(testUser);
+
+            // Assert
+            assertTrue(provider.validateAccessToken(token));
+            assertEquals(JwtKeySupport.toPublicJwk(AccessTokenAlgorithm.ES256, keyPair.getPublic()).getKeyID(),
+                    provider.getPublicJwkSet().get("keys") instanceof List<?> keys
+                            ? ((Map<?, ?>) keys.getFirst()).get("kid") : null);
+            assertFalse(provider.validateAccessToken(jwtTokenProvider.generateAccessToken(testUser)),
+                    "HS256 token must not be accepted when ES256 is configured");
+        }
+
+        @Test
+        @DisplayName("Should fail fast when configured keys do not form a pair")
+        void constructor_shouldThrow_whenKeysMismatch() {
+            JwtProperties properties = new JwtProperties();
+            properties.setRefreshSecret(TestConstants.TestProperties.JWT_REFRESH_SECRET);
+            properties.setAccessAlgorithm("ES256");
+            properties.setAccessPrivateKey(Base64.getEncoder().encodeToString(
+                    JwtKeySupport.generateKeyPair(AccessTokenAlgorithm.ES256).getPrivate().getEncoded()));
+            properties.setAccessPublicKey(Base64.getEncoder().encodeToString(
+                    JwtKeySupport.generateKeyPair(AccessTokenAlgorithm.ES256).getPublic().getEncoded()));
+
+            assertThrows(IllegalStateException.class, () -> new JwtKeyRingManager(properties));
+        }
+
+        @Test
+        @DisplayName("Should publish an empty key set for HS256")
+        void getPublicJwkSet_shouldBeEmpty_whenHmac() {
+            assertEquals(List.of(), jwtTokenProvider.getPublicJwkSet().get("keys"));
+        }
+
+        private String toPem(String type, byte[] der) {
+            return "-----BEGIN " + type + "-----\n"
+                    + Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(der)
+                    + "\n-----END " + type + "-----";
+        }
+    }
+
+    @Nested
+    @DisplayName("Refresh Token Parsing Tests")
+    class RefreshTokenParsingTests {
+        @Test
+        @DisplayName("Should return all refresh claims from a single parse")
+        void parseRefreshToken_shouldReturnClaims_whenTokenValid() {
+            IssuedRefreshToken issued = jwtTokenProvider.issueRefreshToken(testUser, 30, "family-1", "token-1");
+
+            RefreshTokenClaims claims = jwtTokenProvider.parseRefreshToken(issued.token());
+
+            assertNotNull(claims);
+            assertEquals(TestConstants.UserData.TEST_EMAIL, claims.subject());
+            assertEquals("token-1", claims.tokenId());
+            assertEquals("family-1", claims.familyId());
+            assertEquals(30, claims.rememberDays());
+            assertEquals(issued.expiresAt(), claims.expiresAt(), "Issued expiry should equal the exp claim");
+        }
+
+        @Test
+        @DisplayName("Should return null when refresh token is invalid")
+        void parseRefreshToken_shouldReturnNull_whenTokenInvalid() {
+            assertNull(jwtTokenProvider.parseRefreshToken("invalid.refresh.token"));
+            assertNull(jwtTokenProvider.parseRefreshToken(jwtTokenProvider.generateAccessToken(testUser)),
+                    "Access token must not be accepted as refresh token");
+        }
+    }
+
     @Nested
     @DisplayName("Refresh Token TTL Tests")
     class RefreshTokenTtlTests {
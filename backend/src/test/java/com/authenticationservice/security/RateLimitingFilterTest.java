@@ -1,6 +1,7 @@
 package com.authenticationservice.security;
 
 import com.authenticationservice.service.RateLimitingService;
+import com.authenticationservice.util.ClientIpKey;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.ConsumptionProbe;
 import jakarta.servlet.FilterChain;
@@ -49,7 +50,7 @@ class RateLimitingFilterTest {
         when(request.getRemoteAddr()).thenReturn("192.168.1.1");
         when(request.getHeader("X-Forwarded-For")).thenReturn(null);
         when(request.getHeader("X-Real-IP")).thenReturn(null);
-        when(rateLimitingService.resolveBucket("auth:192.168.1.1", false)).thenReturn(bucket);
+        when(rateLimitingService.resolveBucket(ClientIpKey.parse("192.168.1.1"), false)).thenReturn(bucket);
         ConsumptionProbe probe = mock(ConsumptionProbe.class);
         when(probe.isConsumed()).thenReturn(true);
         when(probe.getRemainingTokens()).thenReturn(5L);
@@ -72,7 +73,7 @@ class RateLimitingFilterTest {
         when(request.getRemoteAddr()).thenReturn("192.168.1.1");
         when(request.getHeader("X-Forwarded-For")).thenReturn(null);
         when(request.getHeader("X-Real-IP")).thenReturn(null);
-        when(rateLimitingService.resolveBucket("auth:192.168.1.1", false)).thenReturn(bucket);
+        when(rateLimitingService.resolveBucket(ClientIpKey.parse("192.168.1.1"), false)).thenReturn(bucket);
         ConsumptionProbe probe = mock(ConsumptionProbe.class);
         when(probe.isConsumed()).thenReturn(false);
         when(probe.getNanosToWaitForRefill()).thenReturn(30_000_000_000L); // 30 seconds
@@ -101,7 +102,7 @@ class RateLimitingFilterTest {
         when(request.getRemoteAddr()).thenReturn("192.168.1.1");
         when(request.getHeader("X-Forwarded-For")).thenReturn(null);
         when(request.getHeader("X-Real-IP")).thenReturn(null);
-        when(rateLimitingService.resolveBucket("auth:192.168.1.1", false)).thenReturn(bucket);
+        when(rateLimitingService.resolveBucket(ClientIpKey.parse("192.168.1.1"), false)).thenReturn(bucket);
         ConsumptionProbe probe = mock(ConsumptionProbe.class);
         when(probe.isConsumed()).thenReturn(false);
         when(probe.getNanosToWaitForRefill()).thenReturn(60_000_000_000L);
@@ -125,7 +126,7 @@ class RateLimitingFilterTest {
         when(request.getRemoteAddr()).thenReturn("192.168.1.1");
         when(request.getHeader("X-Forwarded-For")).thenReturn(null);
         when(request.getHeader("X-Real-IP")).thenReturn(null);
-        when(rateLimitingService.resolveBucket("auth:192.168.1.1", false)).thenReturn(bucket);
+        when(rateLimitingService.resolveBucket(ClientIpKey.parse("192.168.1.1"), false)).thenReturn(bucket);
         ConsumptionProbe probe = mock(ConsumptionProbe.class);
         when(probe.isConsumed()).thenReturn(true);
         when(probe.getRemainingTokens()).thenReturn(9L);
@@ -146,7 +147,7 @@ class RateLimitingFilterTest {
         when(request.getRemoteAddr()).thenReturn("192.168.1.1");
         when(request.getHeader("X-Forwarded-For")).thenReturn(null);
         when(request.getHeader("X-Real-IP")).thenReturn(null);
-        when(rateLimitingService.resolveBucket("auth:192.168.1.1", false)).thenReturn(bucket);
+        when(rateLimitingService.resolveBucket(ClientIpKey.parse("192.168.1.1"), false)).thenReturn(bucket);
         ConsumptionProbe probe = mock(ConsumptionProbe.class);
         when(probe.isConsumed()).thenReturn(false);
         when(probe.getNanosToWaitForRefill()).thenReturn(45_000_000_000L); // 45 seconds
@@ -174,9 +175,27 @@ class RateLimitingFilterTest {
 
         // Assert
         verify(filterChain, times(1)).doFilter(request, response);
-        verify(rateLimitingService, never()).resolveBucket(anyString());
+        verify(rateLimitingService, never()).resolveBucket(any(ClientIpKey.class), anyBoolean());
         verify(response, never()).addHeader(anyString(), anyString());
         verify(response, never()).setStatus(anyInt());
     }
-}
 
+    @Test
+    @DisplayName("Should key admin requests by the first forwarded address")
+    void doFilterInternal_shouldUseFirstForwardedAddress_forAdminPath() throws Exception {
+        // Arrange
+        when(request.getRequestURI()).thenReturn("/api/admin/users");
+        when(request.getHeader("X-Forwarded-For")).thenReturn("2001:db8::7, 10.0.0.1");
+        when(rateLimitingService.resolveBucket(ClientIpKey.parse("2001:db8::7"), true)).thenReturn(bucket);
+        ConsumptionProbe probe = mock(ConsumptionProbe.class);
+        when(probe.isConsumed()).thenReturn(true);
+        when(bucket.tryConsumeAndReturnRemaining(1)).thenReturn(probe);
+
+        // Act
+        rateLimitingFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(filterChain).doFilter(request, response);
+        verify(request, never()).getRemoteAddr();
+    }
+}
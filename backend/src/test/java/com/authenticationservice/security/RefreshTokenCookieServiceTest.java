@@ -1,6 +1,7 @@
 package com.authenticationservice.security;
 
 import com.authenticationservice.config.RefreshCookieProperties;
+import com.authenticationservice.constants.SecurityConstants;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,9 +11,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseCookie;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -64,6 +68,21 @@ class RefreshTokenCookieServiceTest {
         assertEquals(Duration.ZERO, cookie.getMaxAge());
     }
 
+    @Test
+    @DisplayName("Should derive max-age from issued expiry without parsing the token")
+    void createRefreshTokenCookie_shouldUseIssuedExpiry_whenTokenResponseProvided() {
+        Instant expiresAt = Instant.now().plusSeconds(7200);
+        Map<String, String> tokens = Map.of(
+                SecurityConstants.REFRESH_TOKEN_KEY, "token",
+                SecurityConstants.REFRESH_TOKEN_EXPIRES_AT_KEY, String.valueOf(expiresAt.getEpochSecond()));
+
+        ResponseCookie cookie = refreshTokenCookieService.createRefreshTokenCookie(tokens);
+
+        assertEquals("token", cookie.getValue());
+        assertTrue(cookie.getMaxAge().getSeconds() > 7190 && cookie.getMaxAge().getSeconds() <= 7200);
+        verifyNoInteractions(jwtTokenProvider);
+    }
+
     @Test
     @DisplayName("Should clear refresh cookie with zero max-age")
     void clearRefreshTokenCookie_shouldExpireCookie() {
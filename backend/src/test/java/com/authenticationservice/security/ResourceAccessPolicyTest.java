@@ -0,0 +1,158 @@
+package com.authenticationservice.security;
+
+import com.authenticationservice.config.AccessPolicyProperties;
+import com.authenticationservice.constants.SecurityConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ResourceAccessPolicy Tests")
+class ResourceAccessPolicyTest {
+
+    private AccessPolicyProperties properties;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AccessPolicyProperties();
+    }
+
+    private AccessTokenClaims claimsWithRoles(String... roles) {
+        return new AccessTokenClaims("user@example.com", 1L, List.of(roles), Instant.now().plusSeconds(600));
+    }
+
+    @Nested
+    @DisplayName("Default Policy Tests")
+    class DefaultPolicyTests {
+        @Test
+        @DisplayName("Should grant admin resources to ROLE_ADMIN only")
+        void isAllowed_shouldGrantAdminResourcesToAdminOnly() {
+            // Arrange
+            ResourceAccessPolicy policy = new ResourceAccessPolicy(properties);
+
+            // Act & Assert
+            assertTrue(policy.isAllowed(claimsWithRoles(SecurityConstants.ROLE_ADMIN), SecurityConstants.ADMIN_PANEL_RESOURCE));
+            assertTrue(policy.isAllowed(claimsWithRoles(SecurityConstants.ROLE_USER, SecurityConstants.ROLE_ADMIN),
+                    SecurityConstants.USER_MANAGEMENT_RESOURCE));
+            assertFalse(policy.isAllowed(claimsWithRoles(SecurityConstants.ROLE_USER), SecurityConstants.ADMIN_PANEL_RESOURCE));
+        }
+
+        @Test
+        @DisplayName("Should deny unknown resources and missing claims")
+        void isAllowed_shouldDenyUnknownResourceAndNullClaims() {
+            // Arrange
+            ResourceAccessPolicy policy = new ResourceAccessPolicy(properties);
+
+            // Act & Assert
+            assertFalse(policy.isAllowed(claimsWithRoles(SecurityConstants.ROLE_ADMIN), "unknown-resource"));
+            assertFalse(policy.isAllowed(null, SecurityConstants.ADMIN_PANEL_RESOURCE));
+            assertFalse(policy.isAllowed(claimsWithRoles(SecurityConstants.ROLE_ADMIN), null));
+        }
+    }
+
+    @Nested
+    @DisplayName("Compilation Tests")
+    class CompilationTests {
+        @Test
+        @DisplayName("Should grant a resource to any of its roles")
+        void compile_shouldGrantResourceToAnyListedRole() {
+            // Arrange
+            CompiledAccessPolicy policy = CompiledAccessPolicy.compile(Map.of(
+                    "reports", List.of("ROLE_ANALYST", SecurityConstants.ROLE_ADMIN),
+                    "closed", List.of()));
+
+            // Act & Assert
+            assertTrue(policy.isAllowed(policy.roleMask(List.of("ROLE_ANALYST")), "reports"));
+            assertTrue(policy.isAllowed(policy.roleMask(List.of(SecurityConstants.ROLE_ADMIN)), "reports"));
+            assertFalse(policy.isAllowed(policy.roleMask(List.of(SecurityConstants.ROLE_USER)), "reports"));
+            assertFalse(policy.isAllowed(policy.roleMask(List.of(SecurityConstants.ROLE_ADMIN)), "closed"));
+        }
+
+        @Test
+        @DisplayName("Should reject more distinct roles than fit in the mask")
+        void compile_shouldRejectTooManyRoles() {
+            // Arrange
+            Map<String, List<String>> resources = new LinkedHashMap<>();
+            resources.put("everything", IntStream.rangeClosed(0, CompiledAccessPolicy.MAX_ROLES)
+                    .mapToObj(i -> "ROLE_" + i)
+                    .toList());
+
+            // Act & Assert
+            assertThrows(IllegalArgumentException.class, () -> CompiledAccessPolicy.compile(resources));
+        }
+    }
+
+    @Nested
+    @DisplayName("Policy File Tests")
+    class PolicyFileTests {
+        @Test
+        @DisplayName("Should add file resources on top of configured ones")
+        void constructor_shouldMergePolicyFile() throws Exception {
+            // Arrange
+            Path file = tempDir.resolve("access-policy.json");
+            Files.writeString(file, "{\"resources\":{\"reports\":[\"ROLE_ANALYST\"]}}");
+            properties.setFile(file.toString());
+
+            // Act
+            ResourceAccessPolicy policy = new ResourceAccessPolicy(properties);
+
+            // Assert
+            assertTrue(policy.isAllowed(claimsWithRoles("ROLE_ANALYST"), "reports"));
+            assertTrue(policy.isAllowed(claimsWithRoles(SecurityConstants.ROLE_ADMIN), SecurityConstants.ADMIN_PANEL_RESOURCE));
+        }
+
+        @Test
+        @DisplayName("Should pick up file changes on reload")
+        void reloadIfChanged_shouldApplyUpdatedPolicy() throws Exception {
+            // Arrange
+            Path file = tempDir.resolve("access-policy.json");
+            Files.writeString(file, "{\"resources\":{\"reports\":[\"ROLE_ANALYST\"]}}");
+            properties.setFile(file.toString());
+            ResourceAccessPolicy policy = new ResourceAccessPolicy(properties);
+
+            Files.writeString(file, "{\"resources\":{\"reports\":[\"ROLE_AUDITOR\"]}}");
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(5)));
+
+            // Act
+            policy.reloadIfChanged();
+
+            // Assert
+            assertFalse(policy.isAllowed(claimsWithRoles("ROLE_ANALYST"), "reports"));
+            assertTrue(policy.isAllowed(claimsWithRoles("ROLE_AUDITOR"), "reports"));
+        }
+
+        @Test
+        @DisplayName("Should keep the current policy when the file is invalid")
+        void reload_shouldKeepCurrentPolicy_whenFileIsInvalid() throws Exception {
+            // Arrange
+            Path file = tempDir.resolve("access-policy.json");
+            Files.writeString(file, "{\"resources\":{\"reports\":[\"ROLE_ANALYST\"]}}");
+            properties.setFile(file.toString());
+            ResourceAccessPolicy policy = new ResourceAccessPolicy(properties);
+
+            Files.writeString(file, "{\"resources\":{\"reports\":[\"\"]}}");
+
+            // Act
+            boolean reloaded = policy.reload();
+
+            // Assert
+            assertFalse(reloaded);
+            assertTrue(policy.isAllowed(claimsWithRoles("ROLE_ANALYST"), "reports"));
+        }
+    }
+}
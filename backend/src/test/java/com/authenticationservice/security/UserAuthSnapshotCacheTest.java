@@ -0,0 +1,126 @@
+package com.authenticationservice.security;
+
+import com.authenticationservice.config.UserAuthCacheProperties;
+import com.authenticationservice.constants.SecurityConstants;
+import com.authenticationservice.model.Role;
+import com.authenticationservice.model.User;
+import com.authenticationservice.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserAuthSnapshotCache Tests")
+class UserAuthSnapshotCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserAuthSnapshotCache cache;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserAuthSnapshotCache(userRepository, new UserAuthCacheProperties());
+
+        testUser = new User();
+        testUser.setId(7L);
+        testUser.setEmail("cached@example.com");
+        Set<Role> roles = new HashSet<>();
+        roles.add(new Role(SecurityConstants.ROLE_USER));
+        testUser.setRoles(roles);
+    }
+
+    private AccessTokenClaims claims(Long userId, String email) {
+        return new AccessTokenClaims(email, userId, List.of(SecurityConstants.ROLE_USER), Instant.now().plusSeconds(60));
+    }
+
+    @Test
+    @DisplayName("Should load snapshot once and serve repeated requests from memory")
+    void resolve_shouldHitDatabaseOnce_whenCalledRepeatedly() {
+        when(userRepository.findById(7L)).thenReturn(Optional.of(testUser));
+
+        UserAuthSnapshot first = cache.resolve(claims(7L, testUser.getEmail()));
+        UserAuthSnapshot second = cache.resolve(claims(7L, testUser.getEmail()));
+
+        assertNotNull(first);
+        assertSame(first, second, "Second lookup should be served from cache");
+        assertTrue(first.isActive());
+        assertEquals(1, first.authorities().size());
+        verify(userRepository, times(1)).findById(7L);
+    }
+
+    @Test
+    @DisplayName("Should reject tokens issued under an older token epoch")
+    void resolve_shouldReturnNull_whenTokenEpochIsStale() {
+        when(userRepository.findById(7L)).thenReturn(Optional.of(testUser));
+        AccessTokenClaims issuedBefore = new AccessTokenClaims(testUser.getEmail(), 7L,
+                List.of(SecurityConstants.ROLE_USER), Instant.now().plusSeconds(60), 0L);
+
+        testUser.bumpTokenEpoch();
+        cache.invalidate(7L);
+        AccessTokenClaims issuedAfter = new AccessTokenClaims(testUser.getEmail(), 7L,
+                List.of(SecurityConstants.ROLE_USER), Instant.now().plusSeconds(60), 1L);
+
+        assertNull(cache.resolve(issuedBefore));
+        assertFalse(cache.isCurrent(issuedBefore));
+        assertNotNull(cache.resolve(issuedAfter));
+        assertTrue(cache.isCurrent(issuedAfter));
+        verify(userRepository, times(1)).findById(7L);
+    }
+
+    @Test
+    @DisplayName("Should reload snapshot after invalidation")
+    void invalidate_shouldForceReload_whenUserChanged() {
+        when(userRepository.findById(7L)).thenReturn(Optional.of(testUser));
+        cache.resolve(claims(7L, testUser.getEmail()));
+
+        testUser.setBlocked(true);
+        cache.invalidate(7L);
+        UserAuthSnapshot reloaded = cache.resolve(claims(7L, testUser.getEmail()));
+
+        assertNotNull(reloaded);
+        assertFalse(reloaded.isActive(), "Blocked state should be visible after invalidation");
+        verify(userRepository, times(2)).findById(7L);
+    }
+
+    @Test
+    @DisplayName("Should reject token whose subject no longer matches the user email")
+    void resolve_shouldReturnNull_whenSubjectDoesNotMatchEmail() {
+        when(userRepository.findById(7L)).thenReturn(Optional.of(testUser));
+
+        assertNull(cache.resolve(claims(7L, "old-address@example.com")));
+    }
+
+    @Test
+    @DisplayName("Should return null when user does not exist")
+    void resolve_shouldReturnNull_whenUserMissing() {
+        when(userRepository.findById(8L)).thenReturn(Optional.empty());
+
+        assertNull(cache.resolve(claims(8L, "missing@example.com")));
+    }
+
+    @Test
+    @DisplayName("Should fall back to email lookup for tokens without user id")
+    void resolve_shouldLookupByEmail_whenUserIdMissing() {
+        when(userRepository.findByEmail(testUser.getEmail())).thenReturn(Optional.of(testUser));
+
+        UserAuthSnapshot snapshot = cache.resolve(claims(null, testUser.getEmail()));
+
+        assertNotNull(snapshot);
+        assertEquals(7L, snapshot.userId());
+        verify(userRepository, never()).findById(any());
+    }
+}
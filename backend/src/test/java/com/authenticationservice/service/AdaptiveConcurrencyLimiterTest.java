@@ -0,0 +1,174 @@
+package com.authenticationservice.service;
+
+import com.authenticationservice.config.ConcurrencyLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AdaptiveConcurrencyLimiter Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+    private ConcurrencyLimitProperties properties;
+    private AtomicLong nanos;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(10);
+        properties.setMinLimit(1);
+        properties.setMaxQueue(0);
+        properties.setSampleWindow(Duration.ofMillis(100));
+        nanos = new AtomicLong();
+    }
+
+    private AdaptiveConcurrencyLimiter limiter() {
+        return new AdaptiveConcurrencyLimiter(properties, nanos::get);
+    }
+
+    /**
+     * Runs {@code concurrency} requests side by side, each taking {@code latency}, until a sample window closes.
+     */
+    private void runWindow(AdaptiveConcurrencyLimiter limiter, int concurrency, Duration latency) {
+        for (int samples = 0; samples < 10; samples += concurrency) {
+            List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                permits.add(limiter.tryAcquire());
+            }
+            nanos.addAndGet(latency.toNanos());
+            permits.forEach(AdaptiveConcurrencyLimiter.Permit::release);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject requests beyond the limit when the queue is full")
+    void tryAcquire_shouldReject_whenLimitAndQueueExhausted() {
+        // Arrange
+        properties.setInitialLimit(2);
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+
+        // Act
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+
+        // Assert
+        assertNull(permit);
+        assertEquals(2, limiter.stats().inFlight());
+        assertEquals(1, limiter.stats().rejected());
+    }
+
+    @Test
+    @DisplayName("Should hand a released permit to a queued request")
+    void tryAcquire_shouldAdmitQueuedRequest_whenPermitReleased() throws Exception {
+        // Arrange
+        properties.setInitialLimit(1);
+        properties.setMaxQueue(1);
+        properties.setMaxWait(Duration.ofSeconds(5));
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire();
+
+        // Act
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> queued = CompletableFuture.supplyAsync(limiter::tryAcquire);
+        while (limiter.stats().queued() == 0) {
+            Thread.sleep(5);
+        }
+        first.release();
+
+        // Assert
+        assertNotNull(queued.get(5, TimeUnit.SECONDS));
+        assertEquals(1, limiter.stats().inFlight());
+        assertEquals(0, limiter.stats().queued());
+    }
+
+    @Test
+    @DisplayName("Should reject a queued request once the wait times out")
+    void tryAcquire_shouldReject_whenQueuedTooLong() {
+        // Arrange
+        properties.setInitialLimit(1);
+        properties.setMaxQueue(1);
+        properties.setMaxWait(Duration.ofMillis(20));
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        limiter.tryAcquire();
+
+        // Act
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+
+        // Assert
+        assertNull(permit);
+        assertEquals(0, limiter.stats().queued());
+        assertEquals(1, limiter.stats().rejected());
+    }
+
+    @Test
+    @DisplayName("Should grow the limit while latency stays at the baseline")
+    void release_shouldGrowLimit_whenLatencySteady() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter();
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            runWindow(limiter, limiter.stats().limit(), Duration.ofMillis(100));
+        }
+
+        // Assert
+        assertTrue(limiter.stats().limit() > 10);
+        assertEquals(100, limiter.stats().baselineLatencyMs(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Should shrink the limit when latency climbs well above the baseline")
+    void release_shouldShrinkLimit_whenLatencyRises() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        runWindow(limiter, 10, Duration.ofMillis(100));
+        int before = limiter.stats().limit();
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            runWindow(limiter, limiter.stats().limit(), Duration.ofMillis(400));
+        }
+
+        // Assert
+        assertTrue(limiter.stats().limit() < before);
+    }
+
+    @Test
+    @DisplayName("Should keep the limit when most permits go unused")
+    void release_shouldKeepLimit_whenUnderused() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter();
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            runWindow(limiter, 2, Duration.ofMillis(100));
+        }
+
+        // Assert
+        assertEquals(10, limiter.stats().limit());
+    }
+
+    @Test
+    @DisplayName("Should free a permit only once")
+    void release_shouldBeIdempotent() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+        limiter.tryAcquire();
+
+        // Act
+        permit.releaseWithoutSample();
+        permit.release();
+
+        // Assert
+        assertEquals(1, limiter.stats().inFlight());
+    }
+}
@@ -89,6 +89,9 @@ class AdminServiceTest {
     @Mock
     private RefreshTokenRotationService refreshTokenRotationService;
 
+    @Mock
+    private com.authenticationservice.security.UserAuthSnapshotCache userAuthSnapshotCache;
+
     @InjectMocks
     private AdminService adminService;
 
@@ -215,9 +218,11 @@ class AdminServiceTest {
             assertNotNull(updatedUser, "Updated user should not be null");
             assertTrue(updatedUser.isBlocked(), "User should be blocked");
             assertEquals("Test block reason", updatedUser.getBlockReason(), "Block reason should match");
+            assertEquals(1L, testUser.getTokenEpoch(), "Blocking should revoke issued access tokens");
             verify(userRepository).findById(1L);
             verify(userRepository).save(any(User.class));
             verify(refreshTokenRotationService).revokeForAccountBlocked(testUser.getId());
+            verify(userAuthSnapshotCache).invalidate(testUser.getId());
         }
 
         @Test
@@ -262,6 +267,27 @@ class AdminServiceTest {
                 "Should throw RuntimeException when admin tries to block self");
             verify(userRepository).findById(1L);
         }
+
+        @Test
+        @DisplayName("Should revoke issued access tokens when roles change")
+        void updateUserRoles_shouldBumpTokenEpoch_whenRolesChange() {
+            // Arrange
+            Role adminRole = createRole(TestConstants.Roles.ROLE_ADMIN);
+            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+            when(roleRepository.findByName(TestConstants.Roles.ROLE_ADMIN)).thenReturn(Optional.of(adminRole));
+            when(roleRepository.findByName(TestConstants.Roles.ROLE_USER)).thenReturn(Optional.of(userRole));
+            when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // Act
+            adminService.updateUserRoles(1L, List.of(TestConstants.Roles.ROLE_USER));
+            long epochAfterSameRoles = testUser.getTokenEpoch();
+            adminService.updateUserRoles(1L, List.of(TestConstants.Roles.ROLE_USER, TestConstants.Roles.ROLE_ADMIN));
+
+            // Assert
+            assertEquals(0L, epochAfterSameRoles, "Unchanged roles should keep issued tokens valid");
+            assertEquals(1L, testUser.getTokenEpoch(), "Changed roles should revoke issued tokens");
+            verify(userAuthSnapshotCache, times(2)).invalidate(testUser.getId());
+        }
     }
 
     @Nested
@@ -508,6 +534,7 @@ class AdminServiceTest {
             // Act & Assert
             assertDoesNotThrow(() -> adminService.deleteUser(1L));
             verify(userRepository).deleteById(1L);
+            verify(userAuthSnapshotCache).invalidate(1L);
         }
 
         @Test
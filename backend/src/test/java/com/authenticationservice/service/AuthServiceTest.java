@@ -1,5 +1,6 @@
 package com.authenticationservice.service;
 
+import com.authenticationservice.config.LoginThrottleProperties;
 import com.authenticationservice.constants.EmailConstants;
 import com.authenticationservice.constants.MessageConstants;
 import com.authenticationservice.constants.SecurityConstants;
@@ -7,6 +8,7 @@ import com.authenticationservice.constants.TestConstants;
 import com.authenticationservice.dto.LoginRequest;
 import com.authenticationservice.dto.RegistrationRequest;
 import com.authenticationservice.dto.VerificationRequest;
+import com.authenticationservice.exception.AccountLockedException;
 import com.authenticationservice.exception.InvalidCredentialsException;
 import com.authenticationservice.exception.TooManyRequestsException;
 import com.authenticationservice.model.AuthProvider;
@@ -15,7 +17,9 @@ import com.authenticationservice.model.User;
 import com.authenticationservice.repository.AllowedEmailRepository;
 import com.authenticationservice.repository.RoleRepository;
 import com.authenticationservice.repository.UserRepository;
+import com.authenticationservice.security.IssuedRefreshToken;
 import com.authenticationservice.security.JwtTokenProvider;
+import com.authenticationservice.security.RefreshTokenClaims;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.ConsumptionProbe;
 import com.authenticationservice.service.AccessControlService;
@@ -29,12 +33,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.ArgumentCaptor;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.context.MessageSource;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Map;
@@ -50,6 +56,9 @@ import static org.mockito.Mockito.*;
 @DisplayName("AuthService Tests")
 class AuthServiceTest {
 
+        private static final IssuedRefreshToken ISSUED_REFRESH_TOKEN = new IssuedRefreshToken(
+                        TestConstants.Tokens.REFRESH_TOKEN, Instant.ofEpochSecond(2_000_000_000L));
+
         @Mock
         private UserRepository userRepository;
 
@@ -86,6 +95,22 @@ class AuthServiceTest {
         @Mock
         private RefreshTokenRotationService refreshTokenRotationService;
 
+        @Spy
+        private RefreshTokenSingleFlight refreshTokenSingleFlight =
+                        new RefreshTokenSingleFlight(new com.authenticationservice.config.RefreshTokenRotationProperties());
+
+        @Mock
+        private com.authenticationservice.security.UserAuthSnapshotCache userAuthSnapshotCache;
+
+        @Mock
+        private SessionTimestampWriteBehind sessionTimestampWriteBehind;
+
+        @Mock
+        private RevokedFamilyCache revokedFamilyCache;
+
+        @Mock
+        private LoginThrottle loginThrottle;
+
         @InjectMocks
         private AuthService authService;
 
@@ -438,9 +463,7 @@ class AuthServiceTest {
                         when(jwtTokenProvider.generateAccessToken(any(User.class)))
                                         .thenReturn(TestConstants.Tokens.ACCESS_TOKEN);
                         when(refreshTokenRotationService.issueRefreshToken(any(User.class), any(), any(), any()))
-                                        .thenReturn(TestConstants.Tokens.REFRESH_TOKEN);
-                        when(userRepository.save(any(User.class)))
-                                        .thenReturn(testUser);
+                                        .thenReturn(ISSUED_REFRESH_TOKEN);
                         doNothing().when(accessControlService).checkLoginAccess(TestConstants.UserData.TEST_EMAIL);
 
                         // Act
@@ -457,6 +480,7 @@ class AuthServiceTest {
                 @DisplayName("Should return tokens when credentials are valid")
                 void login_shouldReturnTokens_whenCredentialsValid() {
                         // Arrange
+                        testUser.setFailedLoginAttempts(2);
                         when(userRepository.findByEmail(loginRequest.getEmail()))
                                         .thenReturn(Optional.of(testUser));
                         when(passwordEncoder.matches(loginRequest.getPassword(), testUser.getPassword()))
@@ -464,7 +488,7 @@ class AuthServiceTest {
                         when(jwtTokenProvider.generateAccessToken(any(User.class)))
                                         .thenReturn(TestConstants.Tokens.ACCESS_TOKEN);
                         when(refreshTokenRotationService.issueRefreshToken(any(User.class), any(), any(), any()))
-                                        .thenReturn(TestConstants.Tokens.REFRESH_TOKEN);
+                                        .thenReturn(ISSUED_REFRESH_TOKEN);
                         when(userRepository.save(any(User.class)))
                                         .thenReturn(testUser);
 
@@ -485,6 +509,107 @@ class AuthServiceTest {
                         verify(userRepository).save(userCaptor.capture());
                         assertEquals(0, userCaptor.getValue().getFailedLoginAttempts(),
                                         "Failed login attempts should be reset to 0 on successful login");
+                        verifyNoInteractions(sessionTimestampWriteBehind);
+                }
+
+                @Test
+                @DisplayName("Should write last login time behind when there is no lockout state to clear")
+                void login_shouldRecordLoginWithoutSave_whenNoFailedAttempts() {
+                        // Arrange
+                        when(userRepository.findByEmail(loginRequest.getEmail()))
+                                        .thenReturn(Optional.of(testUser));
+                        when(passwordEncoder.matches(loginRequest.getPassword(), testUser.getPassword()))
+                                        .thenReturn(true);
+                        when(jwtTokenProvider.generateAccessToken(any(User.class)))
+                                        .thenReturn(TestConstants.Tokens.ACCESS_TOKEN);
+                        when(refreshTokenRotationService.issueRefreshToken(any(User.class), any(), any(), any()))
+                                        .thenReturn(ISSUED_REFRESH_TOKEN);
+
+                        // Act
+                        Map<String, String> tokens = authService.login(loginRequest);
+
+                        // Assert
+                        assertNotNull(tokens);
+                        verify(sessionTimestampWriteBehind).recordLogin(eq(testUser.getId()), any(LocalDateTime.class));
+                        verify(userRepository, never()).save(any(User.class));
+                        assertNull(testUser.getLastLoginAt(), "Managed entity should stay clean");
+                }
+
+                @Test
+                @DisplayName("Should reject a throttled login before the user lookup and BCrypt")
+                void login_shouldRejectBeforeLookup_whenThrottled() {
+                        // Arrange
+                        doThrow(new TooManyRequestsException(MessageConstants.LOGIN_RATE_LIMIT_EXCEEDED, 60))
+                                        .when(loginThrottle).checkAllowed(loginRequest.getEmail(), "203.0.113.7");
+
+                        // Act & Assert
+                        assertThrows(TooManyRequestsException.class,
+                                        () -> authService.login(loginRequest, "203.0.113.7", null));
+                        verifyNoInteractions(userRepository, passwordEncoder, loginAttemptService);
+                }
+
+                @Test
+                @DisplayName("Should answer a password burst against an existing account with 429 before the lookup")
+                void login_shouldThrottleBurstBeforeLookup_withDefaultLimits() {
+                        // Arrange
+                        ReflectionTestUtils.setField(authService, "loginThrottle",
+                                        new LoginThrottle(new LoginThrottleProperties()));
+                        when(userRepository.findByEmail(loginRequest.getEmail()))
+                                        .thenReturn(Optional.of(testUser));
+                        when(passwordEncoder.matches(loginRequest.getPassword(), testUser.getPassword()))
+                                        .thenReturn(false);
+
+                        // Act
+                        for (int i = 0; i < 3; i++) {
+                                assertThrows(InvalidCredentialsException.class,
+                                                () -> authService.login(loginRequest, "203.0.113.7", null));
+                        }
+
+                        // Assert - below the database lockout at 5 failures
+                        assertThrows(TooManyRequestsException.class,
+                                        () -> authService.login(loginRequest, "203.0.113.7", null));
+                        verify(userRepository, times(3)).findByEmail(loginRequest.getEmail());
+                        verify(loginAttemptService, times(3)).handleFailedLogin(any(User.class), any());
+                }
+
+                @Test
+                @DisplayName("Should count attempts on a locked account so a distributed burst is cut off")
+                void login_shouldThrottleLockedAccount_whenBurstSpreadOverAddresses() {
+                        // Arrange
+                        ReflectionTestUtils.setField(authService, "loginThrottle",
+                                        new LoginThrottle(new LoginThrottleProperties()));
+                        testUser.setLockTime(LocalDateTime.now().plusMinutes(5));
+                        when(userRepository.findByEmail(loginRequest.getEmail()))
+                                        .thenReturn(Optional.of(testUser));
+
+                        // Act
+                        for (int i = 0; i < 8; i++) {
+                                String ip = "198.51.100." + i;
+                                assertThrows(AccountLockedException.class,
+                                                () -> authService.login(loginRequest, ip, null));
+                        }
+
+                        // Assert
+                        assertThrows(TooManyRequestsException.class,
+                                        () -> authService.login(loginRequest, "198.51.100.99", null));
+                        verify(userRepository, times(8)).findByEmail(loginRequest.getEmail());
+                        verifyNoInteractions(passwordEncoder);
+                }
+
+                @Test
+                @DisplayName("Should count a failed password against the login throttle")
+                void login_shouldRecordThrottleFailure_whenPasswordInvalid() {
+                        // Arrange
+                        when(userRepository.findByEmail(loginRequest.getEmail()))
+                                        .thenReturn(Optional.of(testUser));
+                        when(passwordEncoder.matches(loginRequest.getPassword(), testUser.getPassword()))
+                                        .thenReturn(false);
+
+                        // Act & Assert
+                        assertThrows(InvalidCredentialsException.class,
+                                        () -> authService.login(loginRequest, "203.0.113.7", null));
+                        verify(loginThrottle).recordFailure(loginRequest.getEmail(), "203.0.113.7");
+                        verify(loginThrottle, never()).recordSuccess(anyString(), anyString());
                 }
 
                 @Test
@@ -598,16 +723,16 @@ class AuthServiceTest {
                 void refresh_shouldReturnNewTokens_whenRefreshTokenValid() {
                         // Arrange
                         String refreshToken = TestConstants.Tokens.REFRESH_TOKEN;
-                        when(jwtTokenProvider.validateRefreshToken(refreshToken))
-                                        .thenReturn(true);
-                        when(jwtTokenProvider.getEmailFromRefresh(refreshToken))
-                                        .thenReturn(testUser.getEmail());
+                        RefreshTokenClaims claims = new RefreshTokenClaims(testUser.getEmail(), "jti", "family",
+                                        null, ISSUED_REFRESH_TOKEN.expiresAt());
+                        when(jwtTokenProvider.parseRefreshToken(refreshToken))
+                                        .thenReturn(claims);
                         when(userRepository.findByEmail(testUser.getEmail()))
                                         .thenReturn(Optional.of(testUser));
                         when(jwtTokenProvider.generateAccessToken(any(User.class)))
                                         .thenReturn(TestConstants.Tokens.ACCESS_TOKEN);
-                        when(refreshTokenRotationService.rotateRefreshToken(eq(refreshToken), any(User.class), any(), any()))
-                                        .thenReturn(TestConstants.Tokens.REFRESH_TOKEN);
+                        when(refreshTokenRotationService.rotateRefreshToken(eq(claims), any(User.class), any(), any()))
+                                        .thenReturn(ISSUED_REFRESH_TOKEN);
 
                         // Act
                         Map<String, String> tokens = authService.refresh(refreshToken);
@@ -616,6 +741,9 @@ class AuthServiceTest {
                         assertNotNull(tokens);
                         assertEquals(TestConstants.Tokens.ACCESS_TOKEN, tokens.get("accessToken"));
                         assertEquals(TestConstants.Tokens.REFRESH_TOKEN, tokens.get("refreshToken"));
+                        assertEquals(String.valueOf(ISSUED_REFRESH_TOKEN.expiresAt().getEpochSecond()),
+                                        tokens.get(SecurityConstants.REFRESH_TOKEN_EXPIRES_AT_KEY));
+                        verify(jwtTokenProvider, never()).validateRefreshToken(anyString());
                 }
 
                 @Test
@@ -623,14 +751,31 @@ class AuthServiceTest {
                 void refresh_shouldThrowException_whenRefreshTokenInvalid() {
                         // Arrange
                         String refreshToken = "invalidToken";
-                        when(jwtTokenProvider.validateRefreshToken(refreshToken))
-                                        .thenReturn(false);
+                        when(jwtTokenProvider.parseRefreshToken(refreshToken))
+                                        .thenReturn(null);
 
                         // Act & Assert
                         RuntimeException ex = assertThrows(RuntimeException.class,
                                         () -> authService.refresh(refreshToken));
                         assertEquals("Invalid/expired refresh token", ex.getMessage());
                 }
+
+                @Test
+                @DisplayName("Should reject a token of a cached revoked family without touching the database")
+                void refresh_shouldReject_whenFamilyRevokedInCache() {
+                        // Arrange
+                        String refreshToken = TestConstants.Tokens.REFRESH_TOKEN;
+                        RefreshTokenClaims claims = new RefreshTokenClaims(testUser.getEmail(), "jti", "family",
+                                        null, ISSUED_REFRESH_TOKEN.expiresAt());
+                        when(jwtTokenProvider.parseRefreshToken(refreshToken))
+                                        .thenReturn(claims);
+                        when(revokedFamilyCache.isRevoked("family")).thenReturn(true);
+
+                        // Act & Assert
+                        assertThrows(com.authenticationservice.exception.InvalidRefreshTokenException.class,
+                                        () -> authService.refresh(refreshToken));
+                        verifyNoInteractions(userRepository, accessControlService, refreshTokenRotationService);
+                }
         }
 
         @Nested
@@ -806,7 +951,9 @@ class AuthServiceTest {
                         assertEquals(TestConstants.UserData.ENCODED_PASSWORD, testUser.getPassword());
                         assertNull(testUser.getResetPasswordToken());
                         assertNull(testUser.getResetPasswordTokenExpiry());
+                        assertEquals(1L, testUser.getTokenEpoch());
                         verify(userRepository).save(testUser);
+                        verify(userAuthSnapshotCache).invalidate(testUser.getId());
                         verify(refreshTokenRotationService).revokeForPasswordChange(testUser.getId());
                 }
 
@@ -903,7 +1050,7 @@ class AuthServiceTest {
                         when(jwtTokenProvider.generateAccessToken(any(User.class)))
                                         .thenReturn(TestConstants.Tokens.ACCESS_TOKEN);
                         when(refreshTokenRotationService.issueRefreshToken(any(User.class), any(), any(), any()))
-                                        .thenReturn(TestConstants.Tokens.REFRESH_TOKEN);
+                                        .thenReturn(ISSUED_REFRESH_TOKEN);
 
                         // Act
                         Map<String, String> tokens = authService.handleOAuth2Login(testUser.getEmail(),
@@ -939,7 +1086,7 @@ class AuthServiceTest {
                         when(jwtTokenProvider.generateAccessToken(any(User.class)))
                                         .thenReturn(TestConstants.Tokens.ACCESS_TOKEN);
                         when(refreshTokenRotationService.issueRefreshToken(any(User.class), any(), any(), any()))
-                                        .thenReturn(TestConstants.Tokens.REFRESH_TOKEN);
+                                        .thenReturn(ISSUED_REFRESH_TOKEN);
 
                         // Act
                         Map<String, String> tokens = authService.handleOAuth2Login(newEmail, newName);
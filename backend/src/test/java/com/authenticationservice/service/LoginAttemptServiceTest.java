@@ -32,6 +32,9 @@ class LoginAttemptServiceTest {
     @Mock
     private com.authenticationservice.util.EmailTemplateFactory emailTemplateFactory;
 
+    @Mock
+    private com.authenticationservice.security.UserAuthSnapshotCache userAuthSnapshotCache;
+
     @InjectMocks
     private LoginAttemptService loginAttemptService;
 
@@ -130,6 +133,7 @@ class LoginAttemptServiceTest {
             assertEquals(10, testUser.getFailedLoginAttempts());
             assertTrue(testUser.isBlocked());
             verify(userRepository).save(testUser);
+            verify(userAuthSnapshotCache).invalidate(testUser.getId());
         }
 
         @Test
@@ -0,0 +1,121 @@
+package com.authenticationservice.service;
+
+import com.authenticationservice.config.LoginThrottleProperties;
+import com.authenticationservice.exception.TooManyRequestsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LoginThrottle Tests")
+class LoginThrottleTest {
+
+    private static final String EMAIL = "user@example.com";
+    private static final String IP = "203.0.113.7";
+
+    private LoginThrottleProperties properties;
+    private AtomicLong nanos;
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LoginThrottleProperties();
+        properties.setWindow(Duration.ofMinutes(10));
+        properties.setMaxFailuresPerAccount(6);
+        properties.setMaxFailuresPerAccountAndIp(3);
+        nanos = new AtomicLong();
+        throttle = new LoginThrottle(properties, nanos::get);
+    }
+
+    private void fail(String ip, int times) {
+        for (int i = 0; i < times; i++) {
+            throttle.recordFailure(EMAIL, ip);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a client once it reaches the per account and address limit")
+    void checkAllowed_shouldReject_whenPairLimitReached() {
+        // Arrange
+        fail(IP, 3);
+
+        // Act & Assert
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> throttle.checkAllowed(EMAIL, IP));
+        assertEquals(600, ex.getRetryAfterSeconds());
+        assertDoesNotThrow(() -> throttle.checkAllowed(EMAIL, "198.51.100.1"));
+    }
+
+    @Test
+    @DisplayName("Should reject every client once failures spread over addresses reach the account limit")
+    void checkAllowed_shouldReject_whenAccountLimitReached() {
+        // Arrange
+        fail("198.51.100.1", 2);
+        fail("198.51.100.2", 2);
+        fail("198.51.100.3", 2);
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, () -> throttle.checkAllowed(EMAIL, "198.51.100.4"));
+        assertThrows(TooManyRequestsException.class, () -> throttle.checkAllowed(EMAIL, null));
+    }
+
+    @Test
+    @DisplayName("Should weight the previous window by its remaining overlap")
+    void checkAllowed_shouldSlideWindow() {
+        // Arrange
+        fail(IP, 3);
+
+        // Act & Assert: halfway into the next window the old failures count as 1.5
+        nanos.addAndGet(Duration.ofMinutes(15).toNanos());
+        assertDoesNotThrow(() -> throttle.checkAllowed(EMAIL, IP));
+        fail(IP, 2);
+        assertThrows(TooManyRequestsException.class, () -> throttle.checkAllowed(EMAIL, IP));
+
+        // Two windows later nothing is left
+        nanos.addAndGet(Duration.ofMinutes(20).toNanos());
+        assertDoesNotThrow(() -> throttle.checkAllowed(EMAIL, IP));
+    }
+
+    @Test
+    @DisplayName("Should clear the client's failures on successful login")
+    void recordSuccess_shouldClearPairCounter() {
+        // Arrange
+        fail(IP, 3);
+
+        // Act
+        throttle.recordSuccess(EMAIL, IP);
+
+        // Assert
+        assertDoesNotThrow(() -> throttle.checkAllowed(EMAIL, IP));
+    }
+
+    @Test
+    @DisplayName("Should exempt an address with a recent successful login from the account limit only")
+    void checkAllowed_shouldExemptKnownAddressFromAccountLimit() {
+        // Arrange
+        throttle.recordSuccess(EMAIL, IP);
+        fail("198.51.100.1", 3);
+        fail("198.51.100.2", 3);
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, () -> throttle.checkAllowed(EMAIL, "198.51.100.3"));
+        assertDoesNotThrow(() -> throttle.checkAllowed(EMAIL, IP));
+        fail(IP, 3);
+        assertThrows(TooManyRequestsException.class, () -> throttle.checkAllowed(EMAIL, IP));
+    }
+
+    @Test
+    @DisplayName("Should do nothing when disabled")
+    void checkAllowed_shouldAllow_whenDisabled() {
+        // Arrange
+        properties.setEnabled(false);
+        fail(IP, 10);
+
+        // Act & Assert
+        assertDoesNotThrow(() -> throttle.checkAllowed(EMAIL, IP));
+    }
+}
@@ -37,6 +37,9 @@ class ProfileServiceTest {
     @Mock
     private RefreshTokenRotationService refreshTokenRotationService;
 
+    @Mock
+    private com.authenticationservice.security.UserAuthSnapshotCache userAuthSnapshotCache;
+
     @InjectMocks
     private ProfileService profileService;
 
@@ -125,6 +128,8 @@ class ProfileServiceTest {
             assertEquals(expectedNewEncodedPassword, savedUser.getPassword(), 
                          "Password should be updated to newly encoded value");
             assertTrue(savedUser.isEnabled(), "User should remain enabled");
+            assertEquals(1L, savedUser.getTokenEpoch(), "Password change should revoke issued access tokens");
+            verify(userAuthSnapshotCache).invalidate(testUser.getId());
             verify(refreshTokenRotationService).revokeForPasswordChange(testUser.getId());
         }
 
@@ -1,13 +1,25 @@
 package com.authenticationservice.service;
 
 import com.authenticationservice.config.RateLimitConfig;
+import com.authenticationservice.util.ClientIpKey;
+import com.github.benmanes.caffeine.cache.Ticker;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.distributed.BucketProxy;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.distributed.proxy.RemoteBucketBuilder;
+import io.github.bucket4j.distributed.proxy.optimization.Optimization;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
 @DisplayName("RateLimitingService Tests")
 class RateLimitingServiceTest {
@@ -87,5 +99,107 @@ class RateLimitingServiceTest {
         assertTrue(probe1.isConsumed());
         assertTrue(probe2.isConsumed());
     }
-}
 
+    @Test
+    @DisplayName("Should keep separate auth and admin buckets per parsed address")
+    void resolveBucket_shouldSeparateLimitTypes_forIpKeys() {
+        // Act
+        Bucket auth = rateLimitingService.resolveBucket(ClientIpKey.parse("192.168.1.1"), false);
+        Bucket admin = rateLimitingService.resolveBucket(ClientIpKey.parse("192.168.1.1"), true);
+
+        // Assert
+        assertSame(auth, rateLimitingService.resolveBucket(ClientIpKey.parse("::ffff:192.168.1.1"), false));
+        assertNotSame(auth, admin);
+        assertEquals(300, admin.getAvailableTokens());
+        assertEquals(10, auth.getAvailableTokens());
+    }
+
+    @Test
+    @DisplayName("Should cap the number of buckets and count size evictions")
+    void resolveBucket_shouldEvict_whenMaxBucketsReached() {
+        // Arrange
+        RateLimitConfig config = new RateLimitConfig();
+        config.setAuthPerMinute(10);
+        config.setMaxBuckets(100);
+        RateLimitingService service = new RateLimitingService(config);
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            service.resolveBucket("10.0." + (i >> 8) + "." + (i & 0xff));
+        }
+        service.cleanUp();
+
+        // Assert
+        assertTrue(service.size() <= 100, "size was " + service.size());
+        assertTrue(service.sizeEvictionCount() >= 9_900);
+        assertEquals(0, service.idleExpirationCount());
+    }
+
+    @Test
+    @DisplayName("Should drop a bucket once it has been idle for a full refill period")
+    void resolveBucket_shouldExpireIdleBucket_afterRefillPeriod() {
+        // Arrange
+        RateLimitConfig config = new RateLimitConfig();
+        config.setAuthPerMinute(10);
+        AtomicLong nanos = new AtomicLong();
+        RateLimitingService service = new RateLimitingService(config, null, nanos::get);
+        Bucket drained = service.resolveBucket("192.168.1.1");
+        drained.tryConsume(10);
+
+        // Act
+        nanos.addAndGet(RateLimitingService.REFILL_PERIOD.toNanos() + 1);
+        service.cleanUp();
+        Bucket fresh = service.resolveBucket("192.168.1.1");
+
+        // Assert
+        assertNotSame(drained, fresh);
+        assertEquals(1, service.idleExpirationCount());
+        assertEquals(0, service.sizeEvictionCount());
+        assertTrue(fresh.tryConsume(10));
+    }
+
+    @Test
+    @DisplayName("Should build shared buckets with local synchronization for auth keys")
+    @SuppressWarnings("unchecked")
+    void resolveBucket_shouldUseDelayedSharedBucket_whenPostgresStore() {
+        // Arrange
+        RateLimitConfig config = new RateLimitConfig();
+        config.setAuthPerMinute(10);
+        ProxyManager<String> proxyManager = mock(ProxyManager.class);
+        RemoteBucketBuilder<String> builder = mock(RemoteBucketBuilder.class);
+        BucketProxy proxy = mock(BucketProxy.class);
+        when(proxyManager.builder()).thenReturn(builder);
+        when(builder.withOptimization(any(Optimization.class))).thenReturn(builder);
+        when(builder.build(eq("auth:192.168.1.1"), any(Supplier.class))).thenReturn(proxy);
+        RateLimitingService service = new RateLimitingService(config, proxyManager, Ticker.systemTicker());
+
+        // Act
+        Bucket bucket = service.resolveBucket("auth:192.168.1.1");
+
+        // Assert
+        assertSame(proxy, bucket);
+        assertSame(proxy, service.resolveBucket("auth:192.168.1.1"));
+        verify(builder).withOptimization(any(Optimization.class));
+        verify(proxyManager).builder();
+    }
+
+    @Test
+    @DisplayName("Should synchronize resend buckets on every call so the per-email limit holds cluster-wide")
+    @SuppressWarnings("unchecked")
+    void resolveResendBucket_shouldNotDelaySynchronization_whenPostgresStore() {
+        // Arrange
+        RateLimitConfig config = new RateLimitConfig();
+        config.setResendPerMinute(1);
+        ProxyManager<String> proxyManager = mock(ProxyManager.class);
+        RemoteBucketBuilder<String> builder = mock(RemoteBucketBuilder.class);
+        when(proxyManager.builder()).thenReturn(builder);
+        when(builder.build(eq("resend:user@example.com"), any(Supplier.class))).thenReturn(mock(BucketProxy.class));
+        RateLimitingService service = new RateLimitingService(config, proxyManager, Ticker.systemTicker());
+
+        // Act
+        service.resolveResendBucket("user@example.com");
+
+        // Assert
+        verify(builder, never()).withOptimization(any());
+    }
+}
@@ -0,0 +1,45 @@
+package com.authenticationservice.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RefreshTokenPartitionService Tests")
+class RefreshTokenPartitionServiceTest {
+
+    @Test
+    @DisplayName("Should cover every month from the retention start through the premade months")
+    void monthsToCreate_shouldSpanRetentionAndPremake() {
+        // Act
+        List<YearMonth> months = RefreshTokenPartitionService.monthsToCreate(LocalDate.of(2026, 1, 15), 30, 4);
+
+        // Assert
+        assertEquals(YearMonth.of(2025, 12), months.getFirst());
+        assertEquals(YearMonth.of(2026, 5), months.getLast());
+        assertEquals(6, months.size());
+    }
+
+    @Test
+    @DisplayName("Should name partitions by year and month")
+    void partitionName_shouldUseYearMonthSuffix() {
+        assertEquals("refresh_tokens_p202603", RefreshTokenPartitionService.partitionName(YearMonth.of(2026, 3)));
+    }
+
+    @Test
+    @DisplayName("Should expire a partition only once its whole range is older than the cutoff")
+    void isExpired_shouldCompareUpperBound() {
+        // Arrange
+        LocalDateTime cutoff = LocalDateTime.of(2026, 3, 1, 0, 0);
+
+        // Act & Assert
+        assertTrue(RefreshTokenPartitionService.isExpired("refresh_tokens_p202602", cutoff));
+        assertFalse(RefreshTokenPartitionService.isExpired("refresh_tokens_p202603", cutoff));
+        assertFalse(RefreshTokenPartitionService.isExpired(RefreshTokenPartitionService.DEFAULT_PARTITION, cutoff));
+    }
+}
@@ -0,0 +1,162 @@
+package com.authenticationservice.service;
+
+import com.authenticationservice.config.RefreshTokenRotationProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefreshTokenPurgeService Tests")
+class RefreshTokenPurgeServiceTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement lockStatement;
+
+    @Mock
+    private PreparedStatement unlockStatement;
+
+    @Mock
+    private PreparedStatement expiredStatement;
+
+    @Mock
+    private PreparedStatement revokedStatement;
+
+    @Mock
+    private PreparedStatement familiesStatement;
+
+    @Mock
+    private PreparedStatement countStatement;
+
+    private RefreshTokenRotationProperties properties;
+    private RefreshTokenPurgeService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new RefreshTokenRotationProperties();
+        properties.setCleanupBatchSize(100);
+        properties.setCleanupBatchPause(Duration.ZERO);
+        properties.setPartitioningEnabled(false);
+        service = new RefreshTokenPurgeService(dataSource, properties);
+
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(contains("pg_try_advisory_lock"))).thenReturn(lockStatement);
+        lenient().when(connection.prepareStatement(contains("pg_advisory_unlock"))).thenReturn(unlockStatement);
+        lenient().when(connection.prepareStatement(contains("WHERE expires_at < ? LIMIT"))).thenReturn(expiredStatement);
+        lenient().when(connection.prepareStatement(contains("JOIN refresh_token_families"))).thenReturn(revokedStatement);
+        lenient().when(connection.prepareStatement(contains("DELETE FROM refresh_token_families"))).thenReturn(familiesStatement);
+        lenient().when(connection.prepareStatement(startsWith("SELECT COUNT"))).thenReturn(countStatement);
+        lenient().when(unlockStatement.executeQuery()).thenReturn(mock(ResultSet.class));
+    }
+
+    private void lockResult(boolean acquired) throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getBoolean(1)).thenReturn(acquired);
+        when(lockStatement.executeQuery()).thenReturn(resultSet);
+    }
+
+    private void backlog(long remaining) throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong(1)).thenReturn(remaining);
+        when(countStatement.executeQuery()).thenReturn(resultSet);
+    }
+
+    @Test
+    @DisplayName("Should delete in batches until a batch comes back short, then release the lock")
+    void purge_shouldDeleteInBatches_whenLockAcquired() throws Exception {
+        // Arrange
+        lockResult(true);
+        backlog(0);
+        when(expiredStatement.executeUpdate()).thenReturn(100, 100, 40);
+        when(revokedStatement.executeUpdate()).thenReturn(7);
+        when(familiesStatement.executeUpdate()).thenReturn(3);
+
+        // Act
+        RefreshTokenPurgeService.PurgeResult result = service.purge();
+
+        // Assert
+        assertTrue(result.lockAcquired());
+        assertEquals(247, result.tokensDeleted());
+        assertEquals(3, result.familiesDeleted());
+        assertEquals(0, result.backlog());
+        verify(expiredStatement, times(3)).executeUpdate();
+        verify(expiredStatement, times(3)).setInt(2, 100);
+        verify(unlockStatement).setLong(1, RefreshTokenPurgeService.PURGE_LOCK_KEY);
+        verify(connection).close();
+    }
+
+    @Test
+    @DisplayName("Should stop at the per-run batch limit and report the remaining backlog")
+    void purge_shouldReportBacklog_whenBatchLimitReached() throws Exception {
+        // Arrange
+        properties.setCleanupMaxBatchesPerRun(2);
+        lockResult(true);
+        backlog(5_000);
+        when(expiredStatement.executeUpdate()).thenReturn(100);
+
+        // Act
+        RefreshTokenPurgeService.PurgeResult result = service.purge();
+
+        // Assert
+        assertEquals(200, result.tokensDeleted());
+        assertEquals(5_000, result.backlog());
+        verify(expiredStatement, times(2)).executeUpdate();
+        verify(revokedStatement, never()).executeUpdate();
+        verify(familiesStatement, never()).executeUpdate();
+    }
+
+    @Test
+    @DisplayName("Should leave expired tokens to partition drops when the table is partitioned")
+    void purge_shouldOnlyPurgeRevokedFamilies_whenPartitioned() throws Exception {
+        // Arrange
+        properties.setPartitioningEnabled(true);
+        lockResult(true);
+        when(revokedStatement.executeUpdate()).thenReturn(4);
+        when(familiesStatement.executeUpdate()).thenReturn(2);
+
+        // Act
+        RefreshTokenPurgeService.PurgeResult result = service.purge();
+
+        // Assert
+        assertEquals(4, result.tokensDeleted());
+        assertEquals(2, result.familiesDeleted());
+        verify(expiredStatement, never()).executeUpdate();
+        verify(countStatement, never()).executeQuery();
+    }
+
+    @Test
+    @DisplayName("Should skip the run when another node holds the purge lock")
+    void purge_shouldSkip_whenLockHeldElsewhere() throws Exception {
+        // Arrange
+        lockResult(false);
+
+        // Act
+        RefreshTokenPurgeService.PurgeResult result = service.purge();
+
+        // Assert
+        assertFalse(result.lockAcquired());
+        verify(connection, never()).prepareStatement(contains("DELETE"));
+        verify(connection, never()).prepareStatement(contains("pg_advisory_unlock"));
+        verify(connection).close();
+    }
+}
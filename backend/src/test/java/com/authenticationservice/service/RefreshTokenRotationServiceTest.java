@@ -0,0 +1,342 @@
+package com.authenticationservice.service;
+
+import com.authenticationservice.config.RefreshTokenRotationProperties;
+import com.authenticationservice.constants.TestConstants;
+import com.authenticationservice.exception.InvalidRefreshTokenException;
+import com.authenticationservice.model.RefreshToken;
+import com.authenticationservice.model.RefreshTokenFamily;
+import com.authenticationservice.model.RefreshTokenStatus;
+import com.authenticationservice.model.User;
+import com.authenticationservice.repository.RefreshTokenFamilyRepository;
+import com.authenticationservice.repository.RefreshTokenRepository;
+import com.authenticationservice.security.IssuedRefreshToken;
+import com.authenticationservice.security.JwtTokenProvider;
+import com.authenticationservice.security.RefreshTokenClaims;
+import com.authenticationservice.util.TokenHashing;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefreshTokenRotationService Tests")
+class RefreshTokenRotationServiceTest {
+
+    private static final String FAMILY_ID = "family-1";
+    private static final String TOKEN_ID = "token-1";
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private RefreshTokenFamilyRepository refreshTokenFamilyRepository;
+
+    @Mock
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private SessionTimestampWriteBehind sessionTimestampWriteBehind;
+
+    @Mock
+    private RevokedFamilyCache revokedFamilyCache;
+
+    private RefreshTokenRotationProperties properties;
+    private RefreshTokenRotationService service;
+    private User testUser;
+    private RefreshTokenClaims claims;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RefreshTokenRotationProperties();
+        properties.setCleanupEnabled(false);
+        properties.setCompactStorage(false);
+        service = new RefreshTokenRotationService(refreshTokenRepository, refreshTokenFamilyRepository,
+                jwtTokenProvider, properties, entityManager, sessionTimestampWriteBehind, revokedFamilyCache);
+
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setEmail(TestConstants.UserData.TEST_EMAIL);
+        claims = new RefreshTokenClaims(TestConstants.UserData.TEST_EMAIL, TOKEN_ID, FAMILY_ID, null,
+                Instant.now().plusSeconds(3600));
+        lenient().when(entityManager.contains(testUser)).thenReturn(true);
+    }
+
+    @Nested
+    @DisplayName("Rotation Tests")
+    class RotationTests {
+
+        @Test
+        @DisplayName("Should rotate with one conditional update followed by one insert")
+        void rotateRefreshToken_shouldUpdateThenInsert_whenTokenActive() {
+            // Arrange
+            RefreshTokenFamily family = new RefreshTokenFamily();
+            family.setId(FAMILY_ID);
+            when(refreshTokenRepository.rotateActive(eq(TokenHashing.sha256Hex(TOKEN_ID)),
+                    eq(LocalDateTime.ofInstant(claims.expiresAt(), ZoneOffset.UTC)), eq(FAMILY_ID), eq(1L),
+                    anyString())).thenReturn(Optional.of(mock(RefreshTokenRepository.RotatedToken.class)));
+            when(entityManager.getReference(RefreshTokenFamily.class, FAMILY_ID)).thenReturn(family);
+            IssuedRefreshToken issued = new IssuedRefreshToken("new.refresh.token", Instant.now().plusSeconds(3600));
+            when(jwtTokenProvider.issueRefreshToken(eq(testUser), isNull(), eq(FAMILY_ID), anyString()))
+                    .thenReturn(issued);
+
+            // Act
+            IssuedRefreshToken result = service.rotateRefreshToken(claims, testUser, null, null);
+
+            // Assert
+            assertSame(issued, result);
+            ArgumentCaptor<String> replacedBy = ArgumentCaptor.forClass(String.class);
+            ArgumentCaptor<String> newTokenId = ArgumentCaptor.forClass(String.class);
+            verify(refreshTokenRepository).rotateActive(anyString(), any(), anyString(), anyLong(), replacedBy.capture());
+            verify(jwtTokenProvider).issueRefreshToken(eq(testUser), isNull(), eq(FAMILY_ID), newTokenId.capture());
+            assertEquals(TokenHashing.sha256Hex(newTokenId.getValue()), replacedBy.getValue(),
+                    "Rotated token should point at the hash of the new token");
+
+            ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+            verify(refreshTokenRepository).save(saved.capture());
+            assertEquals(replacedBy.getValue(), saved.getValue().getJtiHash());
+            assertEquals(RefreshTokenStatus.ACTIVE, saved.getValue().getStatus());
+            assertSame(family, saved.getValue().getFamily());
+            verifyNoInteractions(refreshTokenFamilyRepository);
+            verify(sessionTimestampWriteBehind).recordFamilyUse(eq(FAMILY_ID), any());
+        }
+
+        @Test
+        @DisplayName("Should treat a token that is no longer ACTIVE as reuse and revoke its family")
+        void rotateRefreshToken_shouldRevokeFamily_whenNoActiveRowUpdated() {
+            // Arrange
+            when(refreshTokenRepository.rotateActive(anyString(), any(), anyString(), anyLong(), anyString()))
+                    .thenReturn(Optional.empty());
+
+            // Act & Assert
+            assertThrows(InvalidRefreshTokenException.class,
+                    () -> service.rotateRefreshToken(claims, testUser, null, null));
+            verify(refreshTokenFamilyRepository).revokeFamily(eq(FAMILY_ID), any(), eq("refresh_token_reuse_detected"));
+            verify(refreshTokenRepository).updateStatusByFamily(eq(FAMILY_ID), eq(RefreshTokenStatus.REVOKED), any());
+            verify(revokedFamilyCache).markRevoked(List.of(FAMILY_ID));
+            verify(refreshTokenRepository, never()).save(any());
+            verify(jwtTokenProvider, never()).issueRefreshToken(any(), any(), anyString(), anyString());
+        }
+
+        @Test
+        @DisplayName("Should reject without revoking when the token was just rotated by a concurrent refresh")
+        void rotateRefreshToken_shouldKeepFamily_whenRotatedWithinGracePeriod() {
+            // Arrange
+            when(refreshTokenRepository.rotateActive(anyString(), any(), anyString(), anyLong(), anyString()))
+                    .thenReturn(Optional.empty());
+            when(refreshTokenRepository.isRotatedSince(eq(TokenHashing.sha256Hex(TOKEN_ID)), any(), any()))
+                    .thenReturn(true);
+
+            // Act & Assert
+            assertThrows(RuntimeException.class, () -> service.rotateRefreshToken(claims, testUser, null, null));
+            verifyNoInteractions(refreshTokenFamilyRepository);
+            verify(refreshTokenRepository, never()).updateStatusByFamily(anyString(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Issue Tests")
+    class IssueTests {
+
+        @Test
+        @DisplayName("Should cap active families with one set-based revoke instead of loading them")
+        void issueRefreshToken_shouldRevokeOverflowInOneStatement() {
+            // Arrange
+            IssuedRefreshToken issued = new IssuedRefreshToken("refresh.token", Instant.now().plusSeconds(3600));
+            when(jwtTokenProvider.issueRefreshToken(eq(testUser), isNull(), anyString(), anyString()))
+                    .thenReturn(issued);
+
+            // Act
+            IssuedRefreshToken result = service.issueRefreshToken(testUser, null, null, null);
+
+            // Assert
+            assertSame(issued, result);
+            verify(refreshTokenFamilyRepository).save(any(RefreshTokenFamily.class));
+            verify(refreshTokenFamilyRepository).revokeAllButNewest(eq(1L), eq(5), any(),
+                    eq("max_families_exceeded"), any());
+            verifyNoMoreInteractions(refreshTokenFamilyRepository);
+        }
+
+        @Test
+        @DisplayName("Should add families revoked for exceeding the limit to the revoked family cache")
+        void issueRefreshToken_shouldCacheOverflowFamilies() {
+            // Arrange
+            when(jwtTokenProvider.issueRefreshToken(eq(testUser), isNull(), anyString(), anyString()))
+                    .thenReturn(new IssuedRefreshToken("refresh.token", Instant.now().plusSeconds(3600)));
+            when(refreshTokenFamilyRepository.revokeAllButNewest(eq(1L), eq(5), any(), anyString(), any()))
+                    .thenReturn(List.of("old-family"));
+
+            // Act
+            service.issueRefreshToken(testUser, null, null, null);
+
+            // Assert
+            verify(revokedFamilyCache).markRevoked(List.of("old-family"));
+        }
+
+        @Test
+        @DisplayName("Should add every family revoked for a user to the revoked family cache")
+        void revokeAllForUser_shouldCacheRevokedFamilies() {
+            // Arrange
+            when(refreshTokenFamilyRepository.revokeAllForUser(eq(1L), any(), eq("password_changed")))
+                    .thenReturn(List.of("family-a", "family-b"));
+
+            // Act
+            service.revokeForPasswordChange(1L);
+
+            // Assert
+            verify(revokedFamilyCache).markRevoked(List.of("family-a", "family-b"));
+            verify(refreshTokenRepository).updateStatusByUser(eq(1L), eq(RefreshTokenStatus.REVOKED), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Compact Storage Tests")
+    class CompactStorageTests {
+
+        private final IssuedRefreshToken issued = new IssuedRefreshToken("new.refresh.token",
+                Instant.now().plusSeconds(3600));
+
+        @BeforeEach
+        void enableCompactStorage() {
+            properties.setCompactStorage(true);
+            lenient().when(jwtTokenProvider.issueRefreshToken(eq(testUser), isNull(), anyString(), anyString()))
+                    .thenReturn(issued);
+        }
+
+        @Test
+        @DisplayName("Should keep the current token on the family row without inserting a token row")
+        void issueRefreshToken_shouldStoreHashOnFamily() {
+            // Act
+            service.issueRefreshToken(testUser, null, null, null);
+
+            // Assert
+            ArgumentCaptor<RefreshTokenFamily> family = ArgumentCaptor.forClass(RefreshTokenFamily.class);
+            verify(refreshTokenFamilyRepository).save(family.capture());
+            assertNotNull(family.getValue().getCurrentJtiHash());
+            assertEquals(LocalDateTime.ofInstant(issued.expiresAt(), ZoneOffset.UTC),
+                    family.getValue().getCurrentExpiresAt());
+            verifyNoInteractions(refreshTokenRepository);
+        }
+
+        @Test
+        @DisplayName("Should rotate with a single in-place family update")
+        void rotateRefreshToken_shouldUpdateFamilyInPlace() {
+            // Arrange
+            when(refreshTokenFamilyRepository.rotateCurrent(eq(FAMILY_ID), eq(1L), eq(TokenHashing.sha256Hex(TOKEN_ID)),
+                    any(), anyString(), any(), any())).thenReturn(Optional.of(7L));
+
+            // Act
+            IssuedRefreshToken result = service.rotateRefreshToken(claims, testUser, null, null);
+
+            // Assert
+            assertSame(issued, result);
+            ArgumentCaptor<String> newTokenId = ArgumentCaptor.forClass(String.class);
+            ArgumentCaptor<String> newHash = ArgumentCaptor.forClass(String.class);
+            verify(jwtTokenProvider).issueRefreshToken(eq(testUser), isNull(), eq(FAMILY_ID), newTokenId.capture());
+            verify(refreshTokenFamilyRepository).rotateCurrent(anyString(), anyLong(), anyString(), any(),
+                    newHash.capture(), any(), any());
+            assertEquals(TokenHashing.sha256Hex(newTokenId.getValue()), newHash.getValue());
+            verifyNoInteractions(refreshTokenRepository);
+        }
+
+        @Test
+        @DisplayName("Should append a history row on sampled rotations")
+        void rotateRefreshToken_shouldRecordHistory_whenRotationSampled() {
+            // Arrange
+            properties.setCompactHistorySampleEvery(5);
+            when(refreshTokenFamilyRepository.rotateCurrent(anyString(), anyLong(), anyString(), any(), anyString(),
+                    any(), any())).thenReturn(Optional.of(10L));
+            when(entityManager.getReference(RefreshTokenFamily.class, FAMILY_ID)).thenReturn(new RefreshTokenFamily());
+
+            // Act
+            service.rotateRefreshToken(claims, testUser, null, null);
+
+            // Assert
+            verify(refreshTokenRepository).save(any(RefreshToken.class));
+        }
+
+        @Test
+        @DisplayName("Should revoke the family when the presented token is not the current one")
+        void rotateRefreshToken_shouldRevokeFamily_whenTokenNotCurrent() {
+            // Arrange
+            when(refreshTokenFamilyRepository.rotateCurrent(anyString(), anyLong(), anyString(), any(), anyString(),
+                    any(), any())).thenReturn(Optional.empty());
+
+            // Act & Assert
+            assertThrows(RuntimeException.class, () -> service.rotateRefreshToken(claims, testUser, null, null));
+            verify(refreshTokenFamilyRepository).isPreviousTokenRotatedSince(eq(FAMILY_ID),
+                    eq(TokenHashing.sha256Hex(TOKEN_ID)), any());
+            verify(refreshTokenFamilyRepository).revokeFamily(eq(FAMILY_ID), any(), eq("refresh_token_reuse_detected"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Session Tests")
+    class SessionTests {
+
+        @Test
+        @DisplayName("Should store the client address and user agent on the new family")
+        void issueRefreshToken_shouldStoreClientOnFamily() {
+            // Arrange
+            when(jwtTokenProvider.issueRefreshToken(eq(testUser), isNull(), anyString(), anyString()))
+                    .thenReturn(new IssuedRefreshToken("refresh.token", Instant.now().plusSeconds(3600)));
+
+            // Act
+            service.issueRefreshToken(testUser, null, "203.0.113.7", "Firefox");
+
+            // Assert
+            ArgumentCaptor<RefreshTokenFamily> family = ArgumentCaptor.forClass(RefreshTokenFamily.class);
+            verify(refreshTokenFamilyRepository).save(family.capture());
+            assertEquals("203.0.113.7", family.getValue().getIpAddress());
+            assertEquals("Firefox", family.getValue().getUserAgent());
+        }
+
+        @Test
+        @DisplayName("Should revoke an active session owned by the user")
+        void revokeSession_shouldRevokeFamily_whenOwnedAndActive() {
+            // Arrange
+            when(refreshTokenFamilyRepository.existsByIdAndUserIdAndRevokedAtIsNull(FAMILY_ID, 1L)).thenReturn(true);
+
+            // Act
+            boolean revoked = service.revokeSession(1L, FAMILY_ID);
+
+            // Assert
+            assertTrue(revoked);
+            verify(refreshTokenFamilyRepository).revokeFamily(eq(FAMILY_ID), any(), eq("user_revoked"));
+            verify(refreshTokenRepository).updateStatusByFamily(eq(FAMILY_ID), eq(RefreshTokenStatus.REVOKED), any());
+            verify(revokedFamilyCache).markRevoked(List.of(FAMILY_ID));
+        }
+
+        @Test
+        @DisplayName("Should not revoke a session of another user or one already revoked")
+        void revokeSession_shouldDoNothing_whenNotOwnedOrRevoked() {
+            // Arrange
+            when(refreshTokenFamilyRepository.existsByIdAndUserIdAndRevokedAtIsNull(FAMILY_ID, 1L)).thenReturn(false);
+
+            // Act
+            boolean revoked = service.revokeSession(1L, FAMILY_ID);
+
+            // Assert
+            assertFalse(revoked);
+            verify(refreshTokenFamilyRepository, never()).revokeFamily(anyString(), any(), anyString());
+            verifyNoInteractions(refreshTokenRepository, revokedFamilyCache);
+        }
+    }
+}
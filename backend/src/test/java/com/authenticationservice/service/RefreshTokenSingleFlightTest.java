@@ -0,0 +1,121 @@
+package com.authenticationservice.service;
+
+import com.authenticationservice.config.RefreshTokenRotationProperties;
+import com.authenticationservice.security.IssuedRefreshToken;
+import com.authenticationservice.security.RefreshTokenClaims;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RefreshTokenSingleFlight Tests")
+class RefreshTokenSingleFlightTest {
+
+    private static final RefreshTokenClaims CLAIMS = new RefreshTokenClaims("user@example.com", "token-1", "family-1",
+            null, Instant.now().plusSeconds(3600));
+
+    private static RefreshTokenSingleFlight singleFlight(Duration gracePeriod) {
+        RefreshTokenRotationProperties properties = new RefreshTokenRotationProperties();
+        properties.setReuseGracePeriod(gracePeriod);
+        return new RefreshTokenSingleFlight(properties);
+    }
+
+    private static IssuedRefreshToken successor(int n) {
+        return new IssuedRefreshToken("refresh.token." + n, Instant.now().plusSeconds(3600));
+    }
+
+    @Test
+    @DisplayName("Should rotate once for concurrent refreshes of the same token")
+    void rotate_shouldRunOnce_whenCalledConcurrently() throws Exception {
+        // Arrange
+        RefreshTokenSingleFlight singleFlight = singleFlight(Duration.ofSeconds(10));
+        AtomicInteger rotations = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            // Act
+            List<Future<IssuedRefreshToken>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> singleFlight.rotate(CLAIMS, () -> {
+                    int n = rotations.incrementAndGet();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return successor(n);
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            // Assert
+            IssuedRefreshToken first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<IssuedRefreshToken> result : results) {
+                assertSame(first, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, rotations.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should return the same successor to a later refresh within the grace period")
+    void rotate_shouldReuseSuccessor_whenWithinGracePeriod() {
+        // Arrange
+        RefreshTokenSingleFlight singleFlight = singleFlight(Duration.ofSeconds(10));
+        AtomicInteger rotations = new AtomicInteger();
+
+        // Act
+        IssuedRefreshToken first = singleFlight.rotate(CLAIMS, () -> successor(rotations.incrementAndGet()));
+        IssuedRefreshToken second = singleFlight.rotate(CLAIMS, () -> successor(rotations.incrementAndGet()));
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, rotations.get());
+    }
+
+    @Test
+    @DisplayName("Should not remember a failed rotation")
+    void rotate_shouldRetry_whenRotationFailed() {
+        // Arrange
+        RefreshTokenSingleFlight singleFlight = singleFlight(Duration.ofSeconds(10));
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> singleFlight.rotate(CLAIMS, () -> {
+            throw new IllegalStateException("db down");
+        }));
+        IssuedRefreshToken result = singleFlight.rotate(CLAIMS, () -> successor(2));
+
+        // Assert
+        assertEquals("refresh.token.2", result.token());
+    }
+
+    @Test
+    @DisplayName("Should rotate every time when the grace period is zero")
+    void rotate_shouldNotDeduplicate_whenGracePeriodDisabled() {
+        // Arrange
+        RefreshTokenSingleFlight singleFlight = singleFlight(Duration.ZERO);
+        AtomicInteger rotations = new AtomicInteger();
+
+        // Act
+        singleFlight.rotate(CLAIMS, () -> successor(rotations.incrementAndGet()));
+        singleFlight.rotate(CLAIMS, () -> successor(rotations.incrementAndGet()));
+
+        // Assert
+        assertEquals(2, rotations.get());
+    }
+}
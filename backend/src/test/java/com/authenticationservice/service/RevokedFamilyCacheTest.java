@@ -0,0 +1,156 @@
+package com.authenticationservice.service;
+
+import com.authenticationservice.config.RefreshTokenRotationProperties;
+import com.authenticationservice.repository.RefreshTokenFamilyRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RevokedFamilyCache Tests")
+class RevokedFamilyCacheTest {
+
+    @Mock
+    private RefreshTokenFamilyRepository refreshTokenFamilyRepository;
+
+    private RefreshTokenRotationProperties properties;
+    private RevokedFamilyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RefreshTokenRotationProperties();
+        cache = new RevokedFamilyCache(refreshTokenFamilyRepository, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should report families revoked outside a transaction right away")
+    void markRevoked_shouldCacheImmediately_whenNoTransaction() {
+        // Act
+        cache.markRevoked(List.of("family-1"));
+
+        // Assert
+        assertTrue(cache.isRevoked("family-1"));
+        assertFalse(cache.isRevoked("family-2"));
+        assertFalse(cache.isRevoked(null));
+    }
+
+    @Test
+    @DisplayName("Should only cache a revocation once its transaction commits")
+    void markRevoked_shouldWaitForCommit_whenInTransaction() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        cache.markRevoked(List.of("family-1"));
+
+        // Assert
+        assertFalse(cache.isRevoked("family-1"), "Uncommitted revocation must not be visible");
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertTrue(cache.isRevoked("family-1"));
+    }
+
+    @Test
+    @DisplayName("Should not cache a revocation whose transaction rolls back")
+    void markRevoked_shouldIgnore_whenRolledBack() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        cache.markRevoked(List.of("family-1"));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assert
+        assertFalse(cache.isRevoked("family-1"));
+    }
+
+    @Test
+    @DisplayName("Should warm up from revocations within the TTL, bounded by the cache size")
+    void warmUp_shouldLoadRecentRevocations() {
+        // Arrange
+        properties.setRevokedCacheMaxSize(1_000);
+        when(refreshTokenFamilyRepository.findIdsRevokedSince(any(), any())).thenReturn(List.of("family-1", "family-2"));
+
+        // Act
+        LocalDateTime before = LocalDateTime.now();
+        cache.warmUp();
+
+        // Assert
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(refreshTokenFamilyRepository).findIdsRevokedSince(since.capture(), eq(Limit.of(1_000)));
+        assertFalse(since.getValue().isAfter(before.minus(properties.getRevokedCacheTtl()).plusSeconds(1)));
+        assertTrue(cache.isRevoked("family-1"));
+        assertTrue(cache.isRevoked("family-2"));
+    }
+
+    @Test
+    @DisplayName("Should pick up revocations from other nodes, re-reading an overlap window")
+    void poll_shouldLoadSincePreviousPoll() {
+        // Arrange
+        when(refreshTokenFamilyRepository.findIdsRevokedSince(any(), any()))
+                .thenReturn(List.of())
+                .thenReturn(List.of("remote-family"));
+        cache.warmUp();
+        LocalDateTime warmedAt = LocalDateTime.now();
+
+        // Act
+        cache.poll();
+
+        // Assert
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(refreshTokenFamilyRepository, times(2)).findIdsRevokedSince(since.capture(), any());
+        LocalDateTime pollSince = since.getAllValues().get(1);
+        assertFalse(pollSince.isAfter(warmedAt.minus(RevokedFamilyCache.POLL_OVERLAP)));
+        assertTrue(pollSince.isAfter(warmedAt.minus(RevokedFamilyCache.POLL_OVERLAP).minusSeconds(5)));
+        assertTrue(cache.isRevoked("remote-family"));
+    }
+
+    @Test
+    @DisplayName("Should survive a failed poll and keep serving cached entries")
+    void poll_shouldKeepEntries_whenQueryFails() {
+        // Arrange
+        cache.markRevoked(List.of("family-1"));
+        when(refreshTokenFamilyRepository.findIdsRevokedSince(any(), any())).thenThrow(new IllegalStateException("db down"));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> cache.poll());
+        assertTrue(cache.isRevoked("family-1"));
+    }
+
+    @Test
+    @DisplayName("Should never report a family as revoked when disabled")
+    void isRevoked_shouldReturnFalse_whenDisabled() {
+        // Arrange
+        properties.setRevokedCacheEnabled(false);
+
+        // Act
+        cache.markRevoked(List.of("family-1"));
+        cache.poll();
+
+        // Assert
+        assertFalse(cache.isRevoked("family-1"));
+        verifyNoInteractions(refreshTokenFamilyRepository);
+    }
+}
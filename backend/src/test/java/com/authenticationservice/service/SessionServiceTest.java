@@ -0,0 +1,100 @@
+package com.authenticationservice.service;
+
+import com.authenticationservice.constants.TestConstants;
+import com.authenticationservice.dto.SessionDTO;
+import com.authenticationservice.model.User;
+import com.authenticationservice.repository.RefreshTokenFamilyRepository;
+import com.authenticationservice.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SessionService Tests")
+class SessionServiceTest {
+
+    private static final String EMAIL = TestConstants.UserData.TEST_EMAIL;
+
+    @Mock
+    private RefreshTokenFamilyRepository refreshTokenFamilyRepository;
+
+    @Mock
+    private RefreshTokenRotationService refreshTokenRotationService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private SessionService sessionService;
+
+    private static RefreshTokenFamilyRepository.SessionView session(String id, LocalDateTime createdAt) {
+        RefreshTokenFamilyRepository.SessionView view = mock(RefreshTokenFamilyRepository.SessionView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getCreatedAt()).thenReturn(createdAt);
+        when(view.getIpAddress()).thenReturn("203.0.113.7");
+        when(view.getUserAgent()).thenReturn("Firefox");
+        return view;
+    }
+
+    @Test
+    @DisplayName("Should list sessions for the user id carried by the access token")
+    void listSessions_shouldUseTokenUserId() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 2, 3, 4);
+        RefreshTokenFamilyRepository.SessionView view = session("family-1", createdAt);
+        when(refreshTokenFamilyRepository.findActiveSessions(eq(1L), any(), eq(SessionService.MAX_SESSIONS)))
+                .thenReturn(List.of(view));
+
+        // Act
+        List<SessionDTO> sessions = sessionService.listSessions(EMAIL, 1L);
+
+        // Assert
+        assertEquals(1, sessions.size());
+        assertEquals("family-1", sessions.getFirst().getId());
+        assertEquals(createdAt, sessions.getFirst().getCreatedAt());
+        assertNull(sessions.getFirst().getLastUsedAt());
+        assertEquals("203.0.113.7", sessions.getFirst().getIpAddress());
+        assertEquals("Firefox", sessions.getFirst().getUserAgent());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Should look the user up by email when the access token has no user id")
+    void listSessions_shouldResolveUserByEmail_whenTokenHasNoUserId() {
+        // Arrange
+        User user = new User();
+        user.setId(7L);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+
+        // Act
+        List<SessionDTO> sessions = sessionService.listSessions(EMAIL, null);
+
+        // Assert
+        assertTrue(sessions.isEmpty());
+        verify(refreshTokenFamilyRepository).findActiveSessions(eq(7L), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should delegate revocation to the rotation service")
+    void revokeSession_shouldDelegateToRotationService() {
+        // Arrange
+        when(refreshTokenRotationService.revokeSession(1L, "family-1")).thenReturn(true);
+
+        // Act
+        boolean revoked = sessionService.revokeSession(EMAIL, 1L, "family-1");
+
+        // Assert
+        assertTrue(revoked);
+    }
+}
@@ -0,0 +1,197 @@
+package com.authenticationservice.service;
+
+import com.authenticationservice.config.SessionWriteBehindProperties;
+import com.authenticationservice.repository.RefreshTokenFamilyRepository;
+import com.authenticationservice.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SessionTimestampWriteBehind Tests")
+class SessionTimestampWriteBehindTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement loginStatement;
+
+    @Mock
+    private PreparedStatement familyStatement;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RefreshTokenFamilyRepository refreshTokenFamilyRepository;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private SessionWriteBehindProperties properties;
+    private SessionTimestampWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new SessionWriteBehindProperties();
+        writeBehind = new SessionTimestampWriteBehind(dataSource, userRepository, refreshTokenFamilyRepository,
+                taskScheduler, properties);
+
+        lenient().when(dataSource.getConnection()).thenReturn(connection);
+        lenient().when(connection.getAutoCommit()).thenReturn(true);
+        lenient().when(connection.prepareStatement(SessionTimestampWriteBehind.UPDATE_LAST_LOGIN_SQL))
+                .thenReturn(loginStatement);
+        lenient().when(connection.prepareStatement(SessionTimestampWriteBehind.UPDATE_FAMILY_LAST_USED_SQL))
+                .thenReturn(familyStatement);
+    }
+
+    @Test
+    @DisplayName("Should buffer updates until flushed and keep only the latest timestamp per row")
+    void flush_shouldCoalescePerKey() throws Exception {
+        // Arrange
+        writeBehind.recordLogin(1L, T0);
+        writeBehind.recordLogin(1L, T0.plusSeconds(5));
+        writeBehind.recordLogin(1L, T0.plusSeconds(2));
+        writeBehind.recordFamilyUse("family-1", T0);
+
+        // Act
+        verifyNoInteractions(dataSource);
+        int flushed = writeBehind.flush();
+
+        // Assert
+        assertEquals(2, flushed);
+        assertEquals(0, writeBehind.pendingCount());
+        verify(loginStatement).setLong(2, 1L);
+        verify(loginStatement, times(2)).setTimestamp(anyInt(), eq(Timestamp.valueOf(T0.plusSeconds(5))));
+        verify(loginStatement, times(1)).addBatch();
+        verify(familyStatement).setString(2, "family-1");
+        verify(connection, times(2)).commit();
+    }
+
+    @Test
+    @DisplayName("Should write rows in key order, one transaction per batch")
+    void flush_shouldSplitIntoBatches() throws Exception {
+        // Arrange
+        properties.setBatchSize(2);
+        writeBehind.recordLogin(3L, T0);
+        writeBehind.recordLogin(1L, T0);
+        writeBehind.recordLogin(2L, T0);
+
+        // Act
+        int flushed = writeBehind.flush();
+
+        // Assert
+        assertEquals(3, flushed);
+        InOrder inOrder = inOrder(loginStatement, connection);
+        inOrder.verify(loginStatement).setLong(2, 1L);
+        inOrder.verify(loginStatement).setLong(2, 2L);
+        inOrder.verify(loginStatement).executeBatch();
+        inOrder.verify(connection).commit();
+        inOrder.verify(loginStatement).setLong(2, 3L);
+        inOrder.verify(loginStatement).executeBatch();
+        inOrder.verify(connection).commit();
+        verify(familyStatement, never()).executeBatch();
+    }
+
+    @Test
+    @DisplayName("Should keep entries for the next run when a flush fails")
+    void flush_shouldRequeue_whenWriteFails() throws Exception {
+        // Arrange
+        writeBehind.recordLogin(1L, T0);
+        when(loginStatement.executeBatch()).thenThrow(new SQLException("db down"));
+
+        // Act
+        int flushed = writeBehind.flush();
+
+        // Assert
+        assertEquals(0, flushed);
+        assertEquals(1, writeBehind.pendingCount());
+        verify(connection).rollback();
+
+        reset(loginStatement);
+        assertEquals(1, writeBehind.flush());
+        assertEquals(0, writeBehind.pendingCount());
+    }
+
+    @Test
+    @DisplayName("Should update in the caller's transaction when write-behind is disabled")
+    void record_shouldUseRepositories_whenDisabled() {
+        // Arrange
+        properties.setEnabled(false);
+
+        // Act
+        writeBehind.recordLogin(1L, T0);
+        writeBehind.recordFamilyUse("family-1", T0);
+
+        // Assert
+        assertEquals(0, writeBehind.pendingCount());
+        verify(userRepository).advanceLastLoginAt(1L, T0);
+        verify(refreshTokenFamilyRepository).advanceLastUsedAt("family-1", T0);
+        verifyNoInteractions(dataSource, taskScheduler);
+    }
+
+    @Test
+    @DisplayName("Should hand an early flush to the scheduler, not the caller, once the buffer is full")
+    void recordFamilyUse_shouldScheduleFlush_whenMaxPendingReached() throws Exception {
+        // Arrange
+        properties.setMaxPending(2);
+        writeBehind.recordFamilyUse("family-1", T0);
+        verifyNoInteractions(taskScheduler);
+
+        // Act
+        writeBehind.recordFamilyUse("family-2", T0);
+        writeBehind.recordFamilyUse("family-3", T0);
+
+        // Assert
+        verifyNoInteractions(dataSource);
+        assertEquals(3, writeBehind.pendingCount());
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler, times(1)).schedule(task.capture(), any(Instant.class));
+
+        task.getValue().run();
+        assertEquals(0, writeBehind.pendingCount());
+        verify(familyStatement, times(3)).addBatch();
+
+        writeBehind.recordFamilyUse("family-4", T0);
+        writeBehind.recordFamilyUse("family-5", T0);
+        verify(taskScheduler, times(2)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Should flush buffered updates on shutdown")
+    void shutdown_shouldFlushPending() throws Exception {
+        // Arrange
+        writeBehind.recordFamilyUse("family-1", T0);
+
+        // Act
+        writeBehind.shutdown();
+
+        // Assert
+        assertEquals(0, writeBehind.pendingCount());
+        verify(familyStatement).executeBatch();
+    }
+}
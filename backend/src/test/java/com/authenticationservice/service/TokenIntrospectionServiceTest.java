@@ -0,0 +1,200 @@
+package com.authenticationservice.service;
+
+import com.authenticationservice.config.AccessPolicyProperties;
+import com.authenticationservice.config.TokenIntrospectionProperties;
+import com.authenticationservice.constants.SecurityConstants;
+import com.authenticationservice.dto.TokenIntrospectionResult;
+import com.authenticationservice.security.AccessTokenClaims;
+import com.authenticationservice.security.JwtTokenProvider;
+import com.authenticationservice.security.ResourceAccessPolicy;
+import com.authenticationservice.security.UserAuthSnapshotCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenIntrospectionService Tests")
+class TokenIntrospectionServiceTest {
+
+    private static final String ADMIN_TOKEN = "admin.token.value";
+    private static final String USER_TOKEN = "user.token.value";
+    private static final String INVALID_TOKEN = "invalid.token.value";
+
+    @Mock
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Mock
+    private UserAuthSnapshotCache userAuthSnapshotCache;
+
+    private TokenIntrospectionProperties properties;
+    private TokenIntrospectionService service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TokenIntrospectionProperties();
+        properties.setMaxTokens(3);
+        properties.setMaxResources(2);
+        service = new TokenIntrospectionService(jwtTokenProvider, new ResourceAccessPolicy(new AccessPolicyProperties()),
+                userAuthSnapshotCache, properties);
+        lenient().when(userAuthSnapshotCache.isCurrent(any())).thenReturn(true);
+    }
+
+    private AccessTokenClaims claims(String subject, Long userId, String role, Instant expiresAt) {
+        return new AccessTokenClaims(subject, userId, List.of(role), expiresAt);
+    }
+
+    @Nested
+    @DisplayName("Introspection Results Tests")
+    class ResultTests {
+
+        @Test
+        @DisplayName("Should return claims and per-resource decisions in request order")
+        void introspect_shouldReturnResultsInRequestOrder() {
+            // Arrange
+            Instant exp = Instant.now().plusSeconds(600);
+            when(jwtTokenProvider.parseAccessToken(USER_TOKEN))
+                    .thenReturn(claims("user@example.com", 2L, SecurityConstants.ROLE_USER, exp));
+            when(jwtTokenProvider.parseAccessToken(ADMIN_TOKEN))
+                    .thenReturn(claims("admin@example.com", 1L, SecurityConstants.ROLE_ADMIN, exp));
+
+            // Act
+            List<TokenIntrospectionResult> results = service.introspect(
+                    List.of(USER_TOKEN, ADMIN_TOKEN),
+                    List.of(SecurityConstants.ADMIN_PANEL_RESOURCE, "unknown-resource"));
+
+            // Assert
+            assertEquals(2, results.size());
+            TokenIntrospectionResult user = results.get(0);
+            assertTrue(user.isActive());
+            assertEquals("user@example.com", user.getSub());
+            assertEquals(2L, user.getUserId());
+            assertEquals(exp.getEpochSecond(), user.getExp());
+            assertFalse(user.getResources().get(SecurityConstants.ADMIN_PANEL_RESOURCE));
+            assertFalse(user.getResources().get("unknown-resource"));
+
+            TokenIntrospectionResult admin = results.get(1);
+            assertTrue(admin.isActive());
+            assertEquals(List.of(SecurityConstants.ROLE_ADMIN), admin.getRoles());
+            assertTrue(admin.getResources().get(SecurityConstants.ADMIN_PANEL_RESOURCE));
+        }
+
+        @Test
+        @DisplayName("Should report invalid tokens as inactive without claims")
+        void introspect_shouldReportInvalidTokenAsInactive() {
+            // Arrange
+            when(jwtTokenProvider.parseAccessToken(INVALID_TOKEN)).thenReturn(null);
+
+            // Act
+            TokenIntrospectionResult result = service.introspect(List.of(INVALID_TOKEN), null).get(0);
+
+            // Assert
+            assertFalse(result.isActive());
+            assertNull(result.getSub());
+            assertNull(result.getResources());
+        }
+    }
+
+    @Nested
+    @DisplayName("Claims Cache Tests")
+    class CacheTests {
+
+        @Test
+        @DisplayName("Should verify a repeated token only once")
+        void introspect_shouldReuseCachedClaims() {
+            // Arrange
+            when(jwtTokenProvider.parseAccessToken(ADMIN_TOKEN))
+                    .thenReturn(claims("admin@example.com", 1L, SecurityConstants.ROLE_ADMIN,
+                            Instant.now().plusSeconds(600)));
+
+            // Act
+            service.introspect(List.of(ADMIN_TOKEN, ADMIN_TOKEN), null);
+            List<TokenIntrospectionResult> results = service.introspect(List.of(ADMIN_TOKEN), null);
+
+            // Assert
+            assertTrue(results.get(0).isActive());
+            verify(jwtTokenProvider, times(1)).parseAccessToken(ADMIN_TOKEN);
+        }
+
+        @Test
+        @DisplayName("Should not cache invalid tokens")
+        void introspect_shouldNotCacheInvalidTokens() {
+            // Arrange
+            when(jwtTokenProvider.parseAccessToken(INVALID_TOKEN)).thenReturn(null);
+
+            // Act
+            service.introspect(List.of(INVALID_TOKEN), null);
+            service.introspect(List.of(INVALID_TOKEN), null);
+
+            // Assert
+            verify(jwtTokenProvider, times(2)).parseAccessToken(INVALID_TOKEN);
+        }
+
+        @Test
+        @DisplayName("Should report cached tokens as inactive once the user's token epoch moves on")
+        void introspect_shouldReportRevokedToken_evenWhenClaimsAreCached() {
+            // Arrange
+            AccessTokenClaims adminClaims = claims("admin@example.com", 1L, SecurityConstants.ROLE_ADMIN,
+                    Instant.now().plusSeconds(600));
+            when(jwtTokenProvider.parseAccessToken(ADMIN_TOKEN)).thenReturn(adminClaims);
+            when(userAuthSnapshotCache.isCurrent(adminClaims)).thenReturn(true, false);
+
+            // Act
+            TokenIntrospectionResult before = service.introspect(List.of(ADMIN_TOKEN), null).get(0);
+            TokenIntrospectionResult after = service.introspect(List.of(ADMIN_TOKEN), null).get(0);
+
+            // Assert
+            assertTrue(before.isActive());
+            assertFalse(after.isActive());
+            verify(jwtTokenProvider, times(1)).parseAccessToken(ADMIN_TOKEN);
+        }
+
+        @Test
+        @DisplayName("Should not serve cached claims past token expiry")
+        void introspect_shouldNotServeExpiredClaims() {
+            // Arrange
+            when(jwtTokenProvider.parseAccessToken(USER_TOKEN))
+                    .thenReturn(claims("user@example.com", 2L, SecurityConstants.ROLE_USER,
+                            Instant.now().minusSeconds(1)));
+
+            // Act
+            TokenIntrospectionResult result = service.introspect(List.of(USER_TOKEN), null).get(0);
+
+            // Assert
+            assertFalse(result.isActive());
+        }
+    }
+
+    @Nested
+    @DisplayName("Batch Limit Tests")
+    class LimitTests {
+
+        @Test
+        @DisplayName("Should reject batches with too many tokens")
+        void introspect_shouldRejectTooManyTokens() {
+            // Act & Assert
+            assertThrows(IllegalArgumentException.class,
+                    () -> service.introspect(List.of("a", "b", "c", "d"), null));
+            verifyNoInteractions(jwtTokenProvider);
+        }
+
+        @Test
+        @DisplayName("Should reject batches with too many resources")
+        void introspect_shouldRejectTooManyResources() {
+            // Act & Assert
+            assertThrows(IllegalArgumentException.class,
+                    () -> service.introspect(List.of(ADMIN_TOKEN), List.of("a", "b", "c")));
+            verifyNoInteractions(jwtTokenProvider);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.authenticationservice.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.net.InetAddress;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ClientIpKey Tests")
+class ClientIpKeyTest {
+
+    @Test
+    @DisplayName("Should parse IPv4 into its IPv4-mapped form")
+    void parse_shouldParseIpv4() {
+        // Act
+        ClientIpKey key = ClientIpKey.parse("192.168.1.10");
+
+        // Assert
+        assertNotNull(key);
+        assertTrue(key.isIpv4());
+        assertEquals("192.168.1.10", key.toString());
+        assertEquals(key, ClientIpKey.parse("::ffff:192.168.1.10"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2001:db8::1", "::1", "::", "fe80::1:2:3:4", "1:2:3:4:5:6:7:8", "2001:db8:0:0:1::",
+            "::ffff:10.0.0.1", "64:ff9b::192.0.2.33"})
+    @DisplayName("Should parse IPv6 to the same 128 bits as the JDK")
+    void parse_shouldMatchJdk_forIpv6(String address) throws Exception {
+        // Arrange
+        byte[] expected = InetAddress.getByName(address).getAddress();
+
+        // Act
+        ClientIpKey key = ClientIpKey.parse(address);
+
+        // Assert
+        assertNotNull(key);
+        if (expected.length == 4) {
+            assertEquals(ClientIpKey.parse(InetAddress.getByAddress(expected).getHostAddress()), key);
+        } else {
+            long high = 0;
+            long low = 0;
+            for (int i = 0; i < 8; i++) {
+                high = high << 8 | (expected[i] & 0xFF);
+                low = low << 8 | (expected[i + 8] & 0xFF);
+            }
+            assertEquals(ClientIpKey.ofIpv6(high, low), key);
+        }
+    }
+
+    @Test
+    @DisplayName("Should ignore whitespace, brackets and zone ids")
+    void parse_shouldIgnoreDecoration() {
+        // Arrange
+        ClientIpKey expected = ClientIpKey.parse("fe80::1");
+
+        // Act & Assert
+        assertEquals(expected, ClientIpKey.parse("  fe80::1 "));
+        assertEquals(expected, ClientIpKey.parse("[fe80::1]"));
+        assertEquals(expected, ClientIpKey.parse("fe80::1%eth0"));
+    }
+
+    @Test
+    @DisplayName("Should parse a range without copying it")
+    void parse_shouldParseRange() {
+        // Arrange
+        String header = "203.0.113.9, 10.0.0.1";
+
+        // Act
+        ClientIpKey key = ClientIpKey.parse(header, 0, header.indexOf(','));
+
+        // Assert
+        assertEquals(ClientIpKey.parse("203.0.113.9"), key);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "unknown", "1.2.3", "1.2.3.4.5", "256.1.1.1", "1..2.3", "1.2.3.4:8080",
+            "1:2:3:4:5:6:7", "1:2:3:4:5:6:7:8:9", "1::2::3", ":1::", "1:", "12345::", "::g", "[::1"})
+    @DisplayName("Should reject values that are not IP addresses")
+    void parse_shouldReturnNull_whenNotAnAddress(String value) {
+        assertNull(ClientIpKey.parse(value));
+    }
+
+    @Test
+    @DisplayName("Should keep unparsed values distinct from real addresses")
+    void unparsed_shouldNotEqualParsedAddress() {
+        // Act
+        ClientIpKey unparsed = ClientIpKey.unparsed("::");
+
+        // Assert
+        assertNotEquals(ClientIpKey.parse("::"), unparsed);
+        assertEquals(ClientIpKey.unparsed("::"), unparsed);
+        assertEquals("::", unparsed.toString());
+    }
+}